@@ -0,0 +1,93 @@
+package com.serliunx.stc4j.collection;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Random;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 多线程下带权重随机对象池的抽取基准测试
+ * <p>
+ * 每组 7 个线程持续抽取, 1 个线程持续调整权重, 对比:
+ * <ul>
+ *     <li> locked: 以外部锁保护的 {@link DefaultWeightedRandomObjectPool}
+ *     <li> concurrent: {@link ConcurrentWeightedRandomObjectPool}, 抽取不加锁
+ * </ul>
+ *
+ * @author <a href="mailto:serliunx@yeah.net">SerLiunx</a>
+ * @since 2026/10/17
+ */
+@State(Scope.Group)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ConcurrentWeightedRandomObjectPoolBenchmark {
+
+    @Param({"16", "1024"})
+    public int size;
+
+    @Param({"locked", "concurrent"})
+    public String type;
+
+    private DefaultWeightedRandomObjectPool<Integer> locked;
+    private ConcurrentWeightedRandomObjectPool<Integer> concurrent;
+    private boolean lockFree;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        final Random random = new Random(42L);
+        lockFree = "concurrent".equals(type);
+        locked = new DefaultWeightedRandomObjectPool<>();
+        concurrent = new ConcurrentWeightedRandomObjectPool<>();
+        for (int i = 0; i < size; i++) {
+            final int weight = 1 + random.nextInt(16);
+            locked.add(i, weight);
+            concurrent.add(i, weight);
+        }
+    }
+
+    @Benchmark
+    @Group("mixed")
+    @GroupThreads(7)
+    public Integer get() {
+        if (lockFree) {
+            return concurrent.get();
+        }
+        synchronized (locked) {
+            return locked.get();
+        }
+    }
+
+    @Benchmark
+    @Group("mixed")
+    @GroupThreads(1)
+    public void updateWeight() {
+        final ThreadLocalRandom random = ThreadLocalRandom.current();
+        final int object = random.nextInt(size);
+        final int weight = 1 + random.nextInt(16);
+        if (lockFree) {
+            concurrent.updateWeight(object, weight);
+            return;
+        }
+        synchronized (locked) {
+            locked.remove(object);
+            locked.add(object, weight);
+        }
+    }
+}
@@ -0,0 +1,101 @@
+package com.serliunx.stc4j.collection;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 带权重的随机对象池在不同池大小下的抽取基准测试
+ * <ul>
+ *     <li> linear: {@link DefaultWeightedRandomObjectPool}, 线性查找
+ *     <li> alias: {@link AliasWeightedRandomObjectPool}, 别名法
+ *     <li> fenwick: {@link FenwickWeightedRandomObjectPool}, 树状数组
+ * </ul>
+ *
+ * @author <a href="mailto:serliunx@yeah.net">SerLiunx</a>
+ * @since 2026/10/17
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class WeightedRandomObjectPoolBenchmark {
+
+    private static final int SAMPLE_SIZE = 16;
+
+    @Param({"10", "1000", "100000", "1000000"})
+    public int size;
+
+    @Param({"linear", "alias", "fenwick"})
+    public String type;
+
+    private WeightedRandomObjectPool<Integer> pool;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        final Random random = new Random(42L);
+        pool = create(type);
+        for (int i = 0; i < size; i++) {
+            pool.add(i, 1 + random.nextInt(16));
+        }
+    }
+
+    @Benchmark
+    public Integer get(Source source) {
+        return pool.get(source.random);
+    }
+
+    /**
+     * 无参抽取, 使用 {@link java.util.concurrent.ThreadLocalRandom} 提供的随机数
+     */
+    @Benchmark
+    public Integer getDefault() {
+        return pool.get();
+    }
+
+    /**
+     * 不放回地抽取 16 个, 结果写入线程独立的数组
+     */
+    @Benchmark
+    public Integer[] sample(Source source) {
+        pool.sample(SAMPLE_SIZE, false, source.random, source.out);
+        return source.out;
+    }
+
+    static WeightedRandomObjectPool<Integer> create(String type) {
+        switch (type) {
+            case "linear":
+                return new DefaultWeightedRandomObjectPool<>();
+            case "alias":
+                return new AliasWeightedRandomObjectPool<>();
+            case "fenwick":
+                return new FenwickWeightedRandomObjectPool<>();
+            default:
+                throw new IllegalArgumentException(type);
+        }
+    }
+
+    /**
+     * 每个线程独立的随机源, 避免共享 {@link Random} 的种子竞争影响结果
+     */
+    @State(Scope.Thread)
+    public static class Source {
+
+        private final Random random = new Random(7L);
+        private final Integer[] out = new Integer[SAMPLE_SIZE];
+    }
+}
@@ -0,0 +1,83 @@
+package com.serliunx.stc4j.properties;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link SortableProperties} 大文件读写基准测试
+ *
+ * @author <a href="mailto:serliunx@yeah.net">SerLiunx</a>
+ * @since 2026/10/17
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SortablePropertiesBenchmark {
+
+    @Param({"1000", "100000"})
+    public int entries;
+
+    private Path source;
+    private Path target;
+    private SortableProperties loaded;
+
+    @Setup(Level.Trial)
+    public void setup() throws IOException {
+        source = Files.createTempFile("sortable-properties-source", ".properties");
+        target = Files.createTempFile("sortable-properties-target", ".properties");
+        try (Writer writer = Files.newBufferedWriter(source, StandardCharsets.UTF_8)) {
+            writer.write("# benchmark header\n");
+            for (int i = 0; i < entries; i++) {
+                if (i % 10 == 0) {
+                    writer.write("\n# section " + i + "\n");
+                }
+                writer.write("key." + i + "=value-" + i + "=" + (i * 31) + "\n");
+            }
+        }
+        loaded = load();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(source);
+        Files.deleteIfExists(target);
+    }
+
+    @Benchmark
+    public SortableProperties load() throws IOException {
+        SortableProperties properties = new SortableProperties();
+        try (Reader reader = Files.newBufferedReader(source, StandardCharsets.UTF_8)) {
+            properties.load(reader);
+        }
+        return properties;
+    }
+
+    @Benchmark
+    public void store() throws IOException {
+        try (Writer writer = Files.newBufferedWriter(target, StandardCharsets.UTF_8)) {
+            loaded.store(writer, "# benchmark header");
+        }
+    }
+}
@@ -0,0 +1,94 @@
+package com.serliunx.stc4j.state.machine;
+
+import com.serliunx.stc4j.state.handler.StateHandler;
+import com.serliunx.stc4j.state.handler.StateHandlerWrapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 状态处理器分发基准测试
+ * <p>
+ * 分别测量直接经由 {@link HandlerInvocationDelegate} 的分发开销, 以及状态机一次完整切换
+ * (离开、进入、交换处理器均已注册)的开销. 所有处理器均为同步执行, 配合 {@code -prof gc} 观察分配速率:
+ * {@code switchNext} 的 {@code gc.alloc.rate.norm} 应接近 0 B/op.
+ *
+ * @author <a href="mailto:serliunx@yeah.net">SerLiunx</a>
+ * @since 2026/10/17
+ */
+@State(Scope.Thread)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class HandlerDispatchBenchmark {
+
+    @Param({"1", "4", "16"})
+    public int handlers;
+
+    @Param({"STANDARD", "CONCURRENT"})
+    public StateMachineType type;
+
+    private StateMachineContext<Integer> context;
+    private List<StateHandlerWrapper<Integer>> wrappers;
+    private StateMachine<Integer> machine;
+    private long invocations;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        final StateHandler<Integer> handler = params -> invocations++;
+
+        wrappers = new ArrayList<>(handlers);
+        for (int i = 0; i < handlers; i++) {
+            wrappers.add(new StateHandlerWrapper<>(handler, null, false));
+        }
+        context = new StateMachineContext<>(new HashMap<>(), new HashMap<>(), new HashMap<>(), new HashMap<>(),
+                Runnable::run, false);
+
+        StateMachineBuilder<Integer> builder = StateMachineBuilder.from(new Integer[]{0, 1})
+                .async(false)
+                .type(type);
+        for (int i = 0; i < handlers; i++) {
+            builder.whenLeave(0, handler)
+                    .whenLeave(1, handler)
+                    .whenEntry(0, handler)
+                    .whenEntry(1, handler)
+                    .exchange(0, 1, handler)
+                    .exchange(1, 0, handler);
+        }
+        machine = builder.build();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws Exception {
+        machine.close();
+    }
+
+    @Benchmark
+    public long delegate() {
+        HandlerInvocationDelegate.doInvokeHandlers(context, wrappers, 0, 1);
+        return invocations;
+    }
+
+    @Benchmark
+    public long switchNext() {
+        machine.switchNext();
+        return invocations;
+    }
+}
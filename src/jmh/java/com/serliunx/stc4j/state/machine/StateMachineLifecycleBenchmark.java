@@ -0,0 +1,51 @@
+package com.serliunx.stc4j.state.machine;
+
+import com.serliunx.stc4j.state.support.ExecutorUtils;
+import com.serliunx.stc4j.thread.support.DefaultCountableRejectedExecutionHandler;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 状态机创建与销毁基准测试
+ * <p>
+ * 每次调用构建一个异步状态机, 执行一次切换(触发一个异步处理器, 迫使线程池创建线程)后关闭.
+ * {@code SHARED} 使用默认的共享执行器; {@code DEDICATED} 为每个状态机创建独立的线程池, 即此前的默认行为.
+ *
+ * @author <a href="mailto:serliunx@yeah.net">SerLiunx</a>
+ * @since 2026/10/17
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class StateMachineLifecycleBenchmark {
+
+    @Param({"SHARED", "DEDICATED"})
+    public String executor;
+
+    @Benchmark
+    public String createSwitchAndClose() throws Exception {
+        StateMachineBuilder<String> builder = StateMachineBuilder.from(new String[]{"A", "B"})
+                .async()
+                .whenEntry("B", params -> {});
+        if ("DEDICATED".equals(executor))
+            builder.executor(ExecutorUtils.adaptiveThreadPool(new DefaultCountableRejectedExecutionHandler()));
+
+        try (StateMachine<String> machine = builder.build()) {
+            machine.switchNext();
+            return machine.current();
+        }
+    }
+}
@@ -0,0 +1,120 @@
+package com.serliunx.stc4j.state.machine;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 状态机切换基准测试
+ * <p>
+ * 对比 {@link StandardStateMachine} 与 {@link DefaultConcurrentStateMachine} 的
+ * {@code switchNext}、{@code switchTo} 及 {@code compareAndSet} 吞吐量与延迟分布;
+ * 标准型状态机没有 {@code compareAndSet}, 使用等价的 {@code switchToIfMatch} 代替.
+ * <p>
+ * 线程数无法通过 {@link Param} 扫描, 因此由嵌套的子类 {@link Threads1}、{@link Threads4}、{@link Threads16}、
+ * {@link Threads64} 分别以 {@link Threads} 声明, 任何方式运行 JMH 都会依次以 1/4/16/64 个线程执行;
+ * 命令行中的 {@code -t} 会覆盖这些声明.
+ *
+ * @author <a href="mailto:serliunx@yeah.net">SerLiunx</a>
+ * @since 2026/10/17
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public abstract class StateMachineSwitchBenchmark {
+
+    @Param({"STANDARD", "CONCURRENT"})
+    public StateMachineType type;
+
+    @Param({"8", "256"})
+    public int states;
+
+    private StateMachine<Integer> machine;
+    private ConcurrentStateMachine<Integer> concurrentMachine;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        List<Integer> stateList = new ArrayList<>(states);
+        for (int i = 0; i < states; i++) {
+            stateList.add(i);
+        }
+        machine = StateMachineBuilder.from(stateList)
+                .async(false)
+                .type(type)
+                .build();
+        if (machine instanceof ConcurrentStateMachine) {
+            concurrentMachine = (ConcurrentStateMachine<Integer>) machine;
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws Exception {
+        machine.close();
+    }
+
+    @Benchmark
+    public void switchNext() {
+        machine.switchNext();
+    }
+
+    @Benchmark
+    public boolean switchTo(Cursor cursor) {
+        return machine.switchTo(cursor.next(states));
+    }
+
+    @Benchmark
+    public boolean compareAndSet() {
+        final Integer current = machine.current();
+        final Integer target = current + 1 == states ? 0 : current + 1;
+        if (concurrentMachine != null) {
+            return concurrentMachine.compareAndSet(current, target);
+        }
+        return machine.switchToIfMatch(current, target);
+    }
+
+    /**
+     * 每个线程独立的目标状态游标
+     */
+    @State(Scope.Thread)
+    public static class Cursor {
+
+        private int value;
+
+        Integer next(int bound) {
+            if (++value >= bound) {
+                value = 0;
+            }
+            return value;
+        }
+    }
+
+    @Threads(1)
+    public static class Threads1 extends StateMachineSwitchBenchmark {}
+
+    @Threads(4)
+    public static class Threads4 extends StateMachineSwitchBenchmark {}
+
+    @Threads(16)
+    public static class Threads16 extends StateMachineSwitchBenchmark {}
+
+    @Threads(64)
+    public static class Threads64 extends StateMachineSwitchBenchmark {}
+}
@@ -0,0 +1,82 @@
+package com.serliunx.stc4j.thread.executor;
+
+import com.serliunx.stc4j.thread.support.DefaultIndexCountingThreadFactory;
+import com.serliunx.stc4j.thread.support.MpscArrayBlockingQueue;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link DefaultReusableThreadExecutor#execute(Runnable)} 吞吐量基准测试
+ * <p>
+ * 每次调用提交 {@link #BATCH} 个空任务, 并等待最后一个任务执行完毕, 因此结果为端到端的任务吞吐量.
+ *
+ * @author <a href="mailto:serliunx@yeah.net">SerLiunx</a>
+ * @since 2026/10/17
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ReusableThreadExecutorBenchmark {
+
+    private static final int BATCH = 1024;
+    private static final Runnable NOOP = () -> {};
+
+    @Param({"linked", "array", "mpsc"})
+    public String queue;
+
+    @Param({"1", "64"})
+    public int batch;
+
+    private ReusableThreadExecutor executor;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        final BlockingQueue<Runnable> taskQueue;
+        if ("array".equals(queue))
+            taskQueue = new ArrayBlockingQueue<>(BATCH * 4);
+        else if ("mpsc".equals(queue))
+            taskQueue = new MpscArrayBlockingQueue<>(BATCH * 4);
+        else
+            taskQueue = new LinkedBlockingQueue<>();
+        executor = new DefaultReusableThreadExecutor(taskQueue,
+                new DefaultIndexCountingThreadFactory("benchmark-executor-%s", 0),
+                CallerRunsRejectionHandler.instance(), batch);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH)
+    public void execute() throws InterruptedException {
+        final CountDownLatch latch = new CountDownLatch(1);
+        for (int i = 0; i < BATCH - 1; i++) {
+            executor.execute(NOOP);
+        }
+        executor.execute(latch::countDown);
+        latch.await();
+    }
+}
@@ -0,0 +1,366 @@
+package com.serliunx.stc4j.collection;
+
+import com.serliunx.stc4j.util.Assert;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Random;
+
+/**
+ * 基于别名法(Vose's alias method)的带权重随机对象池。
+ * <p>
+ * 抽取时先等概率选中一列, 再按该列的阈值决定返回该列对象或其别名, 时间复杂度为 O(1);
+ * 别名表在池内容变更后的首次抽取时以 O(n) 重建. 适用于内容较少变化而抽取频繁的场景,
+ * 内容频繁变化时重建的开销可能超过 {@link DefaultWeightedRandomObjectPool} 的线性查找.
+ * <p>
+ * 别名表按整数权重构建, 抽取概率与权重严格成比例. 与 {@link DefaultWeightedRandomObjectPool} 一致,
+ * 同一对象可多次加入, 其权重为各次加入的权重之和.
+ * <p>
+ * 该实现不是线程安全的. 由于别名表延迟重建, 抽取({@code get} 及放回的 {@code sample})同样会修改内部状态,
+ * 即使没有线程修改池的内容, 多个线程并发抽取也是不安全的; 需要并发抽取时应在外部同步,
+ * 或使用 {@link ConcurrentWeightedRandomObjectPool}.
+ *
+ * @author <a href="mailto:serliunx@yeah.net">SerLiunx</a>
+ * @version 1.0.5
+ * @since 2026/10/17
+ */
+public class AliasWeightedRandomObjectPool<E> implements WeightedRandomObjectPool<E> {
+
+    private Object[] objects = new Object[16];
+    private int[] weights = new int[16];
+    private int size = 0;
+    private int totalWeight = 0;
+    /**
+     * 变更次数, 用于迭代器检测并发修改
+     */
+    private int modCount = 0;
+
+    /**
+     * 各列的阈值, 落在 [0, 阈值) 时返回该列对象, 否则返回别名
+     */
+    private int[] thresholds;
+    /**
+     * 各列的别名(对象下标)
+     */
+    private int[] aliases;
+    /**
+     * 别名表是否需要重建
+     */
+    private boolean dirty = true;
+
+    @Override
+    public E get(Random random) {
+        Assert.notNull(random);
+        Assert.isFalse(size == 0, "object pool must not be empty!");
+        return select(random.nextInt(size), random.nextInt(totalWeight));
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * 随机数的高 32 位用于选择列, 低 32 位用于与阈值比较.
+     */
+    @Override
+    public E get(long random) {
+        Assert.isFalse(size == 0, "object pool must not be empty!");
+        return select(RandomSupport.nextInt(random, size), RandomSupport.nextIntLow(random, totalWeight));
+    }
+
+    @Override
+    public int sample(int k, boolean replacement, Random random, E[] out) {
+        RandomSupport.checkSample(k, random, out);
+        if (replacement) {
+            for (int i = 0; i < k; i++) {
+                out[i] = get(random);
+            }
+            return k;
+        }
+        if (k == 0) {
+            return 0;
+        }
+        final WeightedReservoir reservoir = new WeightedReservoir(out, k, random, true);
+        for (int i = 0; i < size; i++) {
+            reservoir.offer(objects[i], weights[i]);
+        }
+        return reservoir.size();
+    }
+
+    @Override
+    public boolean add(E object, int weight) {
+        Assert.isTrue(weight > 0, "weight must be greater than 0!");
+        Assert.isTrue(weight <= Integer.MAX_VALUE - totalWeight, "total weight overflow!");
+        if (size == objects.length) {
+            objects = Arrays.copyOf(objects, size << 1);
+            weights = Arrays.copyOf(weights, size << 1);
+        }
+        objects[size] = object;
+        weights[size++] = weight;
+        totalWeight += weight;
+        changed();
+        return true;
+    }
+
+    @Override
+    public int getWeight(E object) {
+        int weight = 0;
+        for (int i = 0; i < size; i++) {
+            if (Objects.equals(objects[i], object)) {
+                weight += weights[i];
+            }
+        }
+        return weight;
+    }
+
+    @Override
+    public int totalWeight() {
+        return totalWeight;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    @Override
+    public boolean contains(Object o) {
+        return indexOf(o) != -1;
+    }
+
+    @Override
+    public Iterator<E> iterator() {
+        return new Iterator<E>() {
+            private int cursor;
+            private int last = -1;
+            private int expectedModCount = modCount;
+
+            @Override
+            public boolean hasNext() {
+                return cursor < size;
+            }
+
+            @Override
+            @SuppressWarnings("unchecked")
+            public E next() {
+                if (expectedModCount != modCount) {
+                    throw new ConcurrentModificationException();
+                }
+                if (cursor >= size) {
+                    throw new NoSuchElementException();
+                }
+                last = cursor++;
+                return (E) objects[last];
+            }
+
+            @Override
+            public void remove() {
+                if (last == -1) {
+                    throw new IllegalStateException();
+                }
+                if (expectedModCount != modCount) {
+                    throw new ConcurrentModificationException();
+                }
+                removeAt(last);
+                cursor = last;
+                last = -1;
+                expectedModCount = modCount;
+            }
+        };
+    }
+
+    @Override
+    public Object[] toArray() {
+        return Arrays.copyOf(objects, size);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T[] toArray(T[] a) {
+        if (a.length < size) {
+            return (T[]) Arrays.copyOf(objects, size, a.getClass());
+        }
+        System.arraycopy(objects, 0, a, 0, size);
+        if (a.length > size) {
+            a[size] = null;
+        }
+        return a;
+    }
+
+    @Override
+    public boolean add(E e) {
+        return add(e, 1);
+    }
+
+    @Override
+    public boolean remove(Object o) {
+        final int index = indexOf(o);
+        if (index == -1) {
+            return false;
+        }
+        removeAt(index);
+        return true;
+    }
+
+    @Override
+    public boolean containsAll(Collection<?> c) {
+        for (Object object : c) {
+            if (!contains(object)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public boolean addAll(Collection<? extends E> c) {
+        boolean changed = false;
+        for (E object : c) {
+            changed |= add(object);
+        }
+        return changed;
+    }
+
+    @Override
+    public boolean removeAll(Collection<?> c) {
+        return retain(c, false);
+    }
+
+    @Override
+    public boolean retainAll(Collection<?> c) {
+        return retain(c, true);
+    }
+
+    @Override
+    public void clear() {
+        Arrays.fill(objects, 0, size, null);
+        size = 0;
+        totalWeight = 0;
+        changed();
+    }
+
+    @SuppressWarnings("unchecked")
+    private E select(int column, int hit) {
+        if (dirty) {
+            rebuild();
+        }
+        return (E) objects[hit < thresholds[column] ? column : aliases[column]];
+    }
+
+    /**
+     * 重建别名表
+     */
+    private void rebuild() {
+        if (thresholds == null || thresholds.length < size) {
+            thresholds = new int[objects.length];
+            aliases = new int[objects.length];
+        }
+        buildAliasTable(weights, size, totalWeight, thresholds, aliases);
+        dirty = false;
+    }
+
+    /**
+     * 以 Vose 算法构建别名表
+     * <p>
+     * 每列的容量为总权重, 各对象的权重按列数放大后参与分配: 不足一列的对象由超出一列的对象补足,
+     * 补足的部分即为该列的别名. 全程使用整数运算, 不产生浮点误差.
+     *
+     * @param weights     权重
+     * @param n           对象个数
+     * @param totalWeight 前 n 个权重之和
+     * @param thresholds  输出: 各列的阈值
+     * @param aliases     输出: 各列的别名
+     */
+    static void buildAliasTable(int[] weights, int n, int totalWeight, int[] thresholds, int[] aliases) {
+        final long[] scaled = new long[n];
+        // 工作栈: 不足一列的下标自前向后存放, 超出(含等于)一列的自后向前存放
+        final int[] work = new int[n];
+        int small = 0;
+        int large = n;
+        for (int i = 0; i < n; i++) {
+            scaled[i] = (long) weights[i] * n;
+            if (scaled[i] < totalWeight) {
+                work[small++] = i;
+            } else {
+                work[--large] = i;
+            }
+        }
+        while (small > 0 && large < n) {
+            final int s = work[--small];
+            final int l = work[large++];
+            thresholds[s] = (int) scaled[s];
+            aliases[s] = l;
+            scaled[l] -= totalWeight - scaled[s];
+            if (scaled[l] < totalWeight) {
+                work[small++] = l;
+            } else {
+                work[--large] = l;
+            }
+        }
+        // 剩余的列恰好为一整列
+        while (large < n) {
+            final int l = work[large++];
+            thresholds[l] = totalWeight;
+            aliases[l] = l;
+        }
+        while (small > 0) {
+            final int s = work[--small];
+            thresholds[s] = totalWeight;
+            aliases[s] = s;
+        }
+    }
+
+    private int indexOf(Object o) {
+        for (int i = 0; i < size; i++) {
+            if (Objects.equals(objects[i], o)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private void removeAt(int index) {
+        totalWeight -= weights[index];
+        final int moved = size - index - 1;
+        if (moved > 0) {
+            System.arraycopy(objects, index + 1, objects, index, moved);
+            System.arraycopy(weights, index + 1, weights, index, moved);
+        }
+        objects[--size] = null;
+        changed();
+    }
+
+    /**
+     * 保留(或移除)包含于指定集合中的对象, 一次遍历完成压缩
+     */
+    private boolean retain(Collection<?> c, boolean contained) {
+        int w = 0;
+        for (int r = 0; r < size; r++) {
+            if (c.contains(objects[r]) == contained) {
+                objects[w] = objects[r];
+                weights[w++] = weights[r];
+            } else {
+                totalWeight -= weights[r];
+            }
+        }
+        if (w == size) {
+            return false;
+        }
+        Arrays.fill(objects, w, size, null);
+        size = w;
+        changed();
+        return true;
+    }
+
+    private void changed() {
+        modCount++;
+        dirty = true;
+    }
+}
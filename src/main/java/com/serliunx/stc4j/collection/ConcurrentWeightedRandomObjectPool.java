@@ -0,0 +1,357 @@
+package com.serliunx.stc4j.collection;
+
+import com.serliunx.stc4j.util.Assert;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Random;
+
+/**
+ * 线程安全的带权重随机对象池。
+ * <p>
+ * 采用写时复制: 每次修改都基于当前快照生成新的不可变快照(含别名表)并以 volatile 发布,
+ * 抽取只读取一次快照, 不加锁、不等待, 时间复杂度为 O(1); 修改之间互斥, 时间复杂度为 O(n).
+ * 适用于抽取远多于修改的场景, 如负载均衡中按权重选择后端.
+ * <p>
+ * 与 {@link DefaultWeightedRandomObjectPool} 一致, 同一对象可多次加入, 其权重为各次加入的权重之和;
+ * {@link #updateWeight(Object, int)} 会将同一对象的多个条目合并为一个.
+ * 迭代器遍历创建时的快照, 不反映之后的修改, 且不支持 {@link Iterator#remove()}.
+ *
+ * @author <a href="mailto:serliunx@yeah.net">SerLiunx</a>
+ * @version 1.0.5
+ * @since 2026/10/17
+ */
+public class ConcurrentWeightedRandomObjectPool<E> implements WeightedRandomObjectPool<E> {
+
+    private static final Snapshot EMPTY = new Snapshot(new Object[0], new int[0]);
+
+    /**
+     * 修改时使用的锁
+     */
+    private final Object lock = new Object();
+    /**
+     * 当前快照
+     */
+    private volatile Snapshot snapshot = EMPTY;
+
+    @Override
+    public E get(Random random) {
+        Assert.notNull(random);
+        final Snapshot s = snapshot;
+        Assert.isFalse(s.objects.length == 0, "object pool must not be empty!");
+        return s.select(random.nextInt(s.objects.length), random.nextInt(s.totalWeight));
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * 随机数的高 32 位用于选择列, 低 32 位用于与阈值比较.
+     */
+    @Override
+    public E get(long random) {
+        final Snapshot s = snapshot;
+        Assert.isFalse(s.objects.length == 0, "object pool must not be empty!");
+        return s.select(RandomSupport.nextInt(random, s.objects.length),
+                RandomSupport.nextIntLow(random, s.totalWeight));
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * 全部结果来自同一个快照.
+     */
+    @Override
+    public int sample(int k, boolean replacement, Random random, E[] out) {
+        RandomSupport.checkSample(k, random, out);
+        final Snapshot s = snapshot;
+        final int n = s.objects.length;
+        if (replacement) {
+            Assert.isFalse(n == 0 && k > 0, "object pool must not be empty!");
+            for (int i = 0; i < k; i++) {
+                out[i] = s.select(random.nextInt(n), random.nextInt(s.totalWeight));
+            }
+            return k;
+        }
+        if (k == 0) {
+            return 0;
+        }
+        final WeightedReservoir reservoir = new WeightedReservoir(out, k, random, true);
+        for (int i = 0; i < n; i++) {
+            reservoir.offer(s.objects[i], s.weights[i]);
+        }
+        return reservoir.size();
+    }
+
+    @Override
+    public boolean add(E object, int weight) {
+        Assert.isTrue(weight > 0, "weight must be greater than 0!");
+        synchronized (lock) {
+            final Snapshot s = snapshot;
+            Assert.isTrue(weight <= Integer.MAX_VALUE - s.totalWeight, "total weight overflow!");
+            final int n = s.objects.length;
+            final Object[] objects = Arrays.copyOf(s.objects, n + 1);
+            final int[] weights = Arrays.copyOf(s.weights, n + 1);
+            objects[n] = object;
+            weights[n] = weight;
+            snapshot = new Snapshot(objects, weights);
+        }
+        return true;
+    }
+
+    /**
+     * 调整对象的权重, 对象不存在时以该权重加入。
+     * <p>
+     * 对象存在多个条目时合并为第一个条目.
+     *
+     * @param object 对象
+     * @param weight 新的权重，必须大于 0
+     * @return 原先的总权重, 对象不存在时返回 0
+     */
+    public int updateWeight(E object, int weight) {
+        Assert.isTrue(weight > 0, "weight must be greater than 0!");
+        synchronized (lock) {
+            final Snapshot s = snapshot;
+            final int n = s.objects.length;
+            final Object[] objects = new Object[n];
+            final int[] weights = new int[n];
+            int previous = 0;
+            int first = -1;
+            int w = 0;
+            for (int r = 0; r < n; r++) {
+                if (!Objects.equals(s.objects[r], object)) {
+                    objects[w] = s.objects[r];
+                    weights[w++] = s.weights[r];
+                    continue;
+                }
+                previous += s.weights[r];
+                if (first == -1) {
+                    first = w;
+                    objects[w++] = object;
+                }
+            }
+            if (first == -1) {
+                add(object, weight);
+                return 0;
+            }
+            Assert.isTrue((long) s.totalWeight - previous + weight <= Integer.MAX_VALUE, "total weight overflow!");
+            weights[first] = weight;
+            snapshot = new Snapshot(Arrays.copyOf(objects, w), Arrays.copyOf(weights, w));
+            return previous;
+        }
+    }
+
+    @Override
+    public int getWeight(E object) {
+        final Snapshot s = snapshot;
+        int weight = 0;
+        for (int i = 0; i < s.objects.length; i++) {
+            if (Objects.equals(s.objects[i], object)) {
+                weight += s.weights[i];
+            }
+        }
+        return weight;
+    }
+
+    @Override
+    public int totalWeight() {
+        return snapshot.totalWeight;
+    }
+
+    @Override
+    public int size() {
+        return snapshot.objects.length;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return snapshot.objects.length == 0;
+    }
+
+    @Override
+    public boolean contains(Object o) {
+        return snapshot.indexOf(o) != -1;
+    }
+
+    @Override
+    public Iterator<E> iterator() {
+        final Object[] objects = snapshot.objects;
+        return new Iterator<E>() {
+            private int cursor;
+
+            @Override
+            public boolean hasNext() {
+                return cursor < objects.length;
+            }
+
+            @Override
+            @SuppressWarnings("unchecked")
+            public E next() {
+                if (cursor >= objects.length) {
+                    throw new NoSuchElementException();
+                }
+                return (E) objects[cursor++];
+            }
+        };
+    }
+
+    @Override
+    public Object[] toArray() {
+        return snapshot.objects.clone();
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T[] toArray(T[] a) {
+        final Object[] objects = snapshot.objects;
+        final int size = objects.length;
+        if (a.length < size) {
+            return (T[]) Arrays.copyOf(objects, size, a.getClass());
+        }
+        System.arraycopy(objects, 0, a, 0, size);
+        if (a.length > size) {
+            a[size] = null;
+        }
+        return a;
+    }
+
+    @Override
+    public boolean add(E e) {
+        return add(e, 1);
+    }
+
+    @Override
+    public boolean remove(Object o) {
+        synchronized (lock) {
+            final Snapshot s = snapshot;
+            final int index = s.indexOf(o);
+            if (index == -1) {
+                return false;
+            }
+            final int n = s.objects.length;
+            final Object[] objects = new Object[n - 1];
+            final int[] weights = new int[n - 1];
+            System.arraycopy(s.objects, 0, objects, 0, index);
+            System.arraycopy(s.weights, 0, weights, 0, index);
+            System.arraycopy(s.objects, index + 1, objects, index, n - index - 1);
+            System.arraycopy(s.weights, index + 1, weights, index, n - index - 1);
+            snapshot = new Snapshot(objects, weights);
+            return true;
+        }
+    }
+
+    @Override
+    public boolean containsAll(Collection<?> c) {
+        final Snapshot s = snapshot;
+        for (Object object : c) {
+            if (s.indexOf(object) == -1) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * 以权重 1 加入全部对象, 只发布一次快照
+     */
+    @Override
+    public boolean addAll(Collection<? extends E> c) {
+        if (c.isEmpty()) {
+            return false;
+        }
+        final Object[] added = c.toArray();
+        synchronized (lock) {
+            final Snapshot s = snapshot;
+            Assert.isTrue(added.length <= Integer.MAX_VALUE - s.totalWeight, "total weight overflow!");
+            final int n = s.objects.length;
+            final Object[] objects = Arrays.copyOf(s.objects, n + added.length);
+            final int[] weights = Arrays.copyOf(s.weights, n + added.length);
+            System.arraycopy(added, 0, objects, n, added.length);
+            Arrays.fill(weights, n, weights.length, 1);
+            snapshot = new Snapshot(objects, weights);
+        }
+        return true;
+    }
+
+    @Override
+    public boolean removeAll(Collection<?> c) {
+        return retain(c, false);
+    }
+
+    @Override
+    public boolean retainAll(Collection<?> c) {
+        return retain(c, true);
+    }
+
+    @Override
+    public void clear() {
+        synchronized (lock) {
+            snapshot = EMPTY;
+        }
+    }
+
+    /**
+     * 保留(或移除)包含于指定集合中的对象, 只发布一次快照
+     */
+    private boolean retain(Collection<?> c, boolean contained) {
+        synchronized (lock) {
+            final Snapshot s = snapshot;
+            final int n = s.objects.length;
+            final Object[] objects = new Object[n];
+            final int[] weights = new int[n];
+            int w = 0;
+            for (int r = 0; r < n; r++) {
+                if (c.contains(s.objects[r]) == contained) {
+                    objects[w] = s.objects[r];
+                    weights[w++] = s.weights[r];
+                }
+            }
+            if (w == n) {
+                return false;
+            }
+            snapshot = new Snapshot(Arrays.copyOf(objects, w), Arrays.copyOf(weights, w));
+            return true;
+        }
+    }
+
+    /**
+     * 不可变快照, 创建时构建别名表
+     */
+    private static final class Snapshot {
+
+        private final Object[] objects;
+        private final int[] weights;
+        private final int totalWeight;
+        private final int[] thresholds;
+        private final int[] aliases;
+
+        private Snapshot(Object[] objects, int[] weights) {
+            int total = 0;
+            for (int weight : weights) {
+                total += weight;
+            }
+            this.objects = objects;
+            this.weights = weights;
+            this.totalWeight = total;
+            this.thresholds = new int[objects.length];
+            this.aliases = new int[objects.length];
+            AliasWeightedRandomObjectPool.buildAliasTable(weights, objects.length, total, thresholds, aliases);
+        }
+
+        @SuppressWarnings("unchecked")
+        private <E> E select(int column, int hit) {
+            return (E) objects[hit < thresholds[column] ? column : aliases[column]];
+        }
+
+        private int indexOf(Object o) {
+            for (int i = 0; i < objects.length; i++) {
+                if (Objects.equals(objects[i], o)) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+    }
+}
@@ -15,17 +15,18 @@ public class DefaultRandomObjectPool<E> implements RandomObjectPool<E> {
 
     private final List<E> objects = new ArrayList<>();
 
-    @Override
-    public E get() {
-        return get(new Random(System.currentTimeMillis()));
-    }
-
     @Override
     public E get(Random random) {
         Assert.notNull(random);
         return objects.get(random.nextInt(objects.size()));
     }
 
+    @Override
+    public E get(long random) {
+        Assert.isFalse(objects.isEmpty(), "object pool must not be empty!");
+        return objects.get(RandomSupport.nextInt(random, objects.size()));
+    }
+
     @Override
     public int size() {
         return objects.size();
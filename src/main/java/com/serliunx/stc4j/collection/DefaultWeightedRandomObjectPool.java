@@ -22,16 +22,38 @@ public class DefaultWeightedRandomObjectPool<E> implements WeightedRandomObjectP
     private int totalWeight = 0;
 
     @Override
-    public E get() {
-        return get(new Random(System.currentTimeMillis()));
+    public E get(Random random) {
+        Assert.notNull(random);
+        Assert.isFalse(entries.isEmpty(), "object pool must not be empty!");
+        return locate(random.nextInt(totalWeight));
     }
 
     @Override
-    public E get(Random random) {
-        Assert.notNull(random);
+    public E get(long random) {
         Assert.isFalse(entries.isEmpty(), "object pool must not be empty!");
+        return locate(RandomSupport.nextInt(random, totalWeight));
+    }
+
+    @Override
+    public int sample(int k, boolean replacement, Random random, E[] out) {
+        RandomSupport.checkSample(k, random, out);
+        if (replacement) {
+            for (int i = 0; i < k; i++) {
+                out[i] = get(random);
+            }
+            return k;
+        }
+        if (k == 0) {
+            return 0;
+        }
+        final WeightedReservoir reservoir = new WeightedReservoir(out, k, random, true);
+        for (Entry<E> entry : entries) {
+            reservoir.offer(entry.object, entry.weight);
+        }
+        return reservoir.size();
+    }
 
-        final int hit = random.nextInt(totalWeight);
+    private E locate(int hit) {
         int current = 0;
         for (Entry<E> entry : entries) {
             current += entry.weight;
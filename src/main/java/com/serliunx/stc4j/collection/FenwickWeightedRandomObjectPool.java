@@ -0,0 +1,385 @@
+package com.serliunx.stc4j.collection;
+
+import com.serliunx.stc4j.util.Assert;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.ConcurrentModificationException;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Random;
+
+/**
+ * 基于树状数组(Fenwick tree)的带权重随机对象池。
+ * <p>
+ * 树状数组维护各位置权重的前缀和, 抽取时沿树下降定位, 加入、移除、调整权重及抽取的时间复杂度均为 O(log n);
+ * 另维护对象到位置的索引, {@link #getWeight(Object)} 与 {@link #contains(Object)} 为 O(1).
+ * 适用于权重频繁变化的场景(如按健康度调整后端权重).
+ * <p>
+ * 与 {@link DefaultWeightedRandomObjectPool} 不同, 每个对象在池中只占一个位置: 重复加入同一对象时累加其权重,
+ * {@link #size()} 为不同对象的个数. 权重以 {@code long} 存储, 总权重超出 {@code int} 范围时
+ * {@link #totalWeight()} 与 {@link #getWeight(Object)} 抛出 {@link ArithmeticException},
+ * 此时应使用 {@link #totalWeightAsLong()} 与 {@link #getWeightAsLong(Object)}.
+ *
+ * @author <a href="mailto:serliunx@yeah.net">SerLiunx</a>
+ * @version 1.0.5
+ * @since 2026/10/17
+ */
+public class FenwickWeightedRandomObjectPool<E> implements WeightedRandomObjectPool<E> {
+
+    private static final int DEFAULT_CAPACITY = 16;
+
+    /**
+     * 对象到位置的索引
+     */
+    private final Map<Object, Integer> index = new HashMap<>();
+    private Object[] objects = new Object[DEFAULT_CAPACITY];
+    private long[] weights = new long[DEFAULT_CAPACITY];
+    /**
+     * 树状数组, 下标从 1 开始, tree[i] 为位置 (i - lowbit(i), i] 的权重和
+     */
+    private long[] tree = new long[DEFAULT_CAPACITY + 1];
+    private int size = 0;
+    private long totalWeight = 0;
+    /**
+     * 变更次数, 用于迭代器检测并发修改
+     */
+    private int modCount = 0;
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public E get(Random random) {
+        Assert.notNull(random);
+        Assert.isFalse(size == 0, "object pool must not be empty!");
+        return (E) objects[find(nextLong(random, totalWeight))];
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public E get(long random) {
+        Assert.isFalse(size == 0, "object pool must not be empty!");
+        return (E) objects[find(RandomSupport.nextLong(random, totalWeight))];
+    }
+
+    @Override
+    public int sample(int k, boolean replacement, Random random, E[] out) {
+        RandomSupport.checkSample(k, random, out);
+        if (replacement) {
+            for (int i = 0; i < k; i++) {
+                out[i] = get(random);
+            }
+            return k;
+        }
+        if (k == 0) {
+            return 0;
+        }
+        final WeightedReservoir reservoir = new WeightedReservoir(out, k, random, false);
+        for (int i = 0; i < size; i++) {
+            reservoir.offer(objects[i], weights[i]);
+        }
+        return reservoir.size();
+    }
+
+    @Override
+    public boolean add(E object, int weight) {
+        return add(object, (long) weight);
+    }
+
+    /**
+     * 以指定权重加入一个对象, 对象已存在时累加其权重。
+     *
+     * @param object 对象
+     * @param weight 权重，必须大于 0
+     * @return 加入成功时返回真, 否则返回假
+     */
+    public boolean add(E object, long weight) {
+        Assert.isTrue(weight > 0, "weight must be greater than 0!");
+        Math.addExact(totalWeight, weight);
+        final Integer slot = index.get(object);
+        if (slot != null) {
+            setWeight(slot, weights[slot] + weight);
+            return true;
+        }
+        if (size == objects.length) {
+            grow();
+        }
+        objects[size] = object;
+        index.put(object, size);
+        setWeight(size++, weight);
+        modCount++;
+        return true;
+    }
+
+    /**
+     * 调整对象的权重, 对象不存在时以该权重加入。
+     *
+     * @param object 对象
+     * @param weight 新的权重，必须大于 0
+     * @return 原先的权重, 对象不存在时返回 0
+     */
+    public long updateWeight(E object, long weight) {
+        Assert.isTrue(weight > 0, "weight must be greater than 0!");
+        final Integer slot = index.get(object);
+        if (slot == null) {
+            add(object, weight);
+            return 0;
+        }
+        final long previous = weights[slot];
+        Math.addExact(totalWeight - previous, weight);
+        setWeight(slot, weight);
+        return previous;
+    }
+
+    @Override
+    public int getWeight(E object) {
+        return Math.toIntExact(getWeightAsLong(object));
+    }
+
+    /**
+     * 获取指定对象在池中的权重。
+     *
+     * @param object 对象
+     * @return 权重，不存在时返回 0
+     */
+    public long getWeightAsLong(Object object) {
+        final Integer slot = index.get(object);
+        return slot == null ? 0 : weights[slot];
+    }
+
+    @Override
+    public int totalWeight() {
+        return Math.toIntExact(totalWeight);
+    }
+
+    /**
+     * 获取当前池中的总权重。
+     *
+     * @return 总权重
+     */
+    public long totalWeightAsLong() {
+        return totalWeight;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    @Override
+    public boolean contains(Object o) {
+        return index.containsKey(o);
+    }
+
+    @Override
+    public Iterator<E> iterator() {
+        return new Iterator<E>() {
+            private int cursor;
+            private int last = -1;
+            private int expectedModCount = modCount;
+
+            @Override
+            public boolean hasNext() {
+                return cursor < size;
+            }
+
+            @Override
+            @SuppressWarnings("unchecked")
+            public E next() {
+                if (expectedModCount != modCount) {
+                    throw new ConcurrentModificationException();
+                }
+                if (cursor >= size) {
+                    throw new NoSuchElementException();
+                }
+                last = cursor++;
+                return (E) objects[last];
+            }
+
+            @Override
+            public void remove() {
+                if (last == -1) {
+                    throw new IllegalStateException();
+                }
+                if (expectedModCount != modCount) {
+                    throw new ConcurrentModificationException();
+                }
+                // 末尾的对象移入当前位置, 需再次访问该位置
+                removeAt(last);
+                cursor = last;
+                last = -1;
+                expectedModCount = modCount;
+            }
+        };
+    }
+
+    @Override
+    public Object[] toArray() {
+        return Arrays.copyOf(objects, size);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T[] toArray(T[] a) {
+        if (a.length < size) {
+            return (T[]) Arrays.copyOf(objects, size, a.getClass());
+        }
+        System.arraycopy(objects, 0, a, 0, size);
+        if (a.length > size) {
+            a[size] = null;
+        }
+        return a;
+    }
+
+    @Override
+    public boolean add(E e) {
+        return add(e, 1L);
+    }
+
+    @Override
+    public boolean remove(Object o) {
+        final Integer slot = index.get(o);
+        if (slot == null) {
+            return false;
+        }
+        removeAt(slot);
+        return true;
+    }
+
+    @Override
+    public boolean containsAll(Collection<?> c) {
+        for (Object object : c) {
+            if (!contains(object)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public boolean addAll(Collection<? extends E> c) {
+        boolean changed = false;
+        for (E object : c) {
+            changed |= add(object);
+        }
+        return changed;
+    }
+
+    @Override
+    public boolean removeAll(Collection<?> c) {
+        boolean changed = false;
+        for (int i = size - 1; i >= 0; i--) {
+            if (c.contains(objects[i])) {
+                removeAt(i);
+                changed = true;
+            }
+        }
+        return changed;
+    }
+
+    @Override
+    public boolean retainAll(Collection<?> c) {
+        boolean changed = false;
+        for (int i = size - 1; i >= 0; i--) {
+            if (!c.contains(objects[i])) {
+                removeAt(i);
+                changed = true;
+            }
+        }
+        return changed;
+    }
+
+    @Override
+    public void clear() {
+        index.clear();
+        Arrays.fill(objects, 0, size, null);
+        Arrays.fill(weights, 0, size, 0);
+        Arrays.fill(tree, 0);
+        size = 0;
+        totalWeight = 0;
+        modCount++;
+    }
+
+    /**
+     * 移除指定位置的对象, 末尾的对象移入该位置以保持位置连续
+     */
+    private void removeAt(int slot) {
+        index.remove(objects[slot]);
+        final int last = size - 1;
+        if (slot != last) {
+            objects[slot] = objects[last];
+            index.put(objects[slot], slot);
+            setWeight(slot, weights[last]);
+        }
+        setWeight(last, 0);
+        objects[last] = null;
+        size = last;
+        modCount++;
+    }
+
+    /**
+     * 设置指定位置的权重并更新树状数组
+     */
+    private void setWeight(int slot, long weight) {
+        final long delta = weight - weights[slot];
+        weights[slot] = weight;
+        totalWeight += delta;
+        for (int i = slot + 1; i < tree.length; i += i & -i) {
+            tree[i] += delta;
+        }
+    }
+
+    /**
+     * 沿树状数组下降, 定位前缀和首次超过 hit 的位置
+     */
+    private int find(long hit) {
+        int position = 0;
+        for (int step = Integer.highestOneBit(tree.length - 1); step > 0; step >>= 1) {
+            final int next = position + step;
+            if (next < tree.length && tree[next] <= hit) {
+                position = next;
+                hit -= tree[next];
+            }
+        }
+        return position;
+    }
+
+    /**
+     * 容量翻倍, 以 O(n) 重建树状数组
+     */
+    private void grow() {
+        final int capacity = objects.length << 1;
+        objects = Arrays.copyOf(objects, capacity);
+        weights = Arrays.copyOf(weights, capacity);
+        tree = new long[capacity + 1];
+        for (int i = 1; i <= capacity; i++) {
+            tree[i] += weights[i - 1];
+            final int parent = i + (i & -i);
+            if (parent <= capacity) {
+                tree[parent] += tree[i];
+            }
+        }
+    }
+
+    /**
+     * 在 [0, bound) 内均匀取值; bound 在 {@code int} 范围内时使用 {@link Random#nextInt(int)}
+     */
+    private static long nextLong(Random random, long bound) {
+        if (bound <= Integer.MAX_VALUE) {
+            return random.nextInt((int) bound);
+        }
+        long bits;
+        long value;
+        do {
+            bits = random.nextLong() >>> 1;
+            value = bits % bound;
+        } while (bits - value + (bound - 1) < 0);
+        return value;
+    }
+}
@@ -1,7 +1,10 @@
 package com.serliunx.stc4j.collection;
 
 import java.util.Collection;
+import java.util.Iterator;
 import java.util.Random;
+import java.util.SplittableRandom;
+import java.util.concurrent.ThreadLocalRandom;
 
 /**
  * 随机对象池
@@ -17,11 +20,13 @@ public interface RandomObjectPool<E> extends Collection<E> {
     /**
      * 随机获取一个对象
      * <p>
-     * 采用默认随机策略{@link Random}
+     * 采用当前线程的 {@link ThreadLocalRandom}, 不分配对象、不在线程间竞争
      *
      * @return 对象
      */
-    E get();
+    default E get() {
+        return get(ThreadLocalRandom.current());
+    }
 
     /**
      * 根据指定的随机器来随机抽取对象
@@ -30,4 +35,52 @@ public interface RandomObjectPool<E> extends Collection<E> {
      * @return 对象
      */
     E get(Random random);
+
+    /**
+     * 根据调用方提供的随机数抽取对象
+     * <p>
+     * 随机数应在 {@code long} 范围内均匀分布, 可来自 {@link ThreadLocalRandom#nextLong()}、
+     * {@link SplittableRandom#nextLong()} 等. 默认实现以该随机数为种子创建 {@link Random} 后委托给
+     * {@link #get(Random)}, 每次调用分配一个对象; 内置的实现均已覆盖为不分配对象的实现.
+     *
+     * @param random 随机数
+     * @return 对象
+     */
+    default E get(long random) {
+        return get(new Random(random));
+    }
+
+    /**
+     * 批量抽取对象, 结果写入调用方提供的数组
+     * <p>
+     * 放回抽取时等价于连续调用 k 次 {@link #get(Random)}; 不放回抽取时每个条目最多被抽中一次,
+     * 同一对象多次加入时为多个条目, 可能在结果中出现多次.
+     * 默认实现使用顺序选择抽样(Knuth Algorithm S), 遍历一次池即可完成, 结果保持池中的顺序且不分配额外的数组.
+     *
+     * @param k           抽取数量
+     * @param replacement 是否放回
+     * @param random      随机器
+     * @param out         输出数组, 长度不小于 k
+     * @return 实际写入的数量; 放回抽取时为 k, 不放回抽取时不超过池的大小
+     */
+    default int sample(int k, boolean replacement, Random random, E[] out) {
+        RandomSupport.checkSample(k, random, out);
+        if (replacement) {
+            for (int i = 0; i < k; i++) {
+                out[i] = get(random);
+            }
+            return k;
+        }
+        final int size = size();
+        int needed = Math.min(k, size);
+        final int count = needed;
+        int remaining = size;
+        for (Iterator<E> iterator = iterator(); needed > 0; remaining--) {
+            final E object = iterator.next();
+            if (random.nextInt(remaining) < needed) {
+                out[count - needed--] = object;
+            }
+        }
+        return count;
+    }
 }
@@ -0,0 +1,66 @@
+package com.serliunx.stc4j.collection;
+
+import com.serliunx.stc4j.util.Assert;
+
+import java.util.Random;
+
+/**
+ * 随机对象池内部使用的随机数映射工具
+ * <p>
+ * 将调用方提供的均匀分布的 {@code long} 映射至指定范围, 不分配对象、不加锁.
+ *
+ * @author <a href="mailto:serliunx@yeah.net">SerLiunx</a>
+ * @version 1.0.5
+ * @since 2026/10/17
+ */
+final class RandomSupport {
+
+    private RandomSupport() {throw new UnsupportedOperationException();}
+
+    /**
+     * 校验批量抽取的参数
+     *
+     * @param k      抽取数量
+     * @param random 随机器
+     * @param out    输出数组
+     */
+    static void checkSample(int k, Random random, Object[] out) {
+        Assert.notNull(random);
+        Assert.notNull(out);
+        Assert.isTrue(k >= 0, "k must not be negative!");
+        Assert.isTrue(out.length >= k, "output array is too small!");
+    }
+
+    /**
+     * 以高 32 位映射至 [0, bound), 偏差不超过 bound / 2^32
+     *
+     * @param random 随机数
+     * @param bound  上界(不含), 必须大于 0
+     * @return [0, bound) 内的值
+     */
+    static int nextInt(long random, int bound) {
+        return (int) (((random >>> 32) * bound) >>> 32);
+    }
+
+    /**
+     * 以低 32 位映射至 [0, bound), 与 {@link #nextInt(long, int)} 互不相关, 可用于同一随机数的第二次取值
+     *
+     * @param random 随机数
+     * @param bound  上界(不含), 必须大于 0
+     * @return [0, bound) 内的值
+     */
+    static int nextIntLow(long random, int bound) {
+        return (int) (((random & 0xFFFFFFFFL) * bound) >>> 32);
+    }
+
+    /**
+     * 映射至 [0, bound), bound 超出 {@code int} 范围时取模, 偏差不超过 bound / 2^63
+     *
+     * @param random 随机数
+     * @param bound  上界(不含), 必须大于 0
+     * @return [0, bound) 内的值
+     */
+    static long nextLong(long random, long bound) {
+        return bound <= Integer.MAX_VALUE ? nextInt(random, (int) bound) : (random >>> 1) % bound;
+    }
+}
@@ -1,5 +1,9 @@
 package com.serliunx.stc4j.collection;
 
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+
 /**
  * 带权重的随机对象池。
  * <p>
@@ -34,4 +38,42 @@ public interface WeightedRandomObjectPool<E> extends RandomObjectPool<E> {
      * @return 总权重
      */
     int totalWeight();
+
+    /**
+     * 按权重批量抽取对象, 结果写入调用方提供的数组
+     * <p>
+     * 放回抽取时每次均按权重独立抽取. 不放回抽取时同一对象最多被抽中一次: 同一对象分多次加入时合并为一个,
+     * 以其总权重({@link #getWeight(Object)})参与抽取; 使用带权重的蓄水池抽样(A-ExpJ), 遍历一次池即可完成,
+     * 结果的顺序不确定.
+     * <p>
+     * 默认实现遍历 {@link #iterator()} 并以 {@link #getWeight(Object)} 作为各对象的权重, 需额外的集合记录已访问的对象;
+     * 内置的实现均已覆盖为直接读取内部权重的实现.
+     *
+     * @param k           抽取数量
+     * @param replacement 是否放回
+     * @param random      随机器
+     * @param out         输出数组, 长度不小于 k
+     * @return 实际写入的数量; 放回抽取时为 k, 不放回抽取时不超过池中不同对象的个数
+     */
+    @Override
+    default int sample(int k, boolean replacement, Random random, E[] out) {
+        RandomSupport.checkSample(k, random, out);
+        if (replacement) {
+            for (int i = 0; i < k; i++) {
+                out[i] = get(random);
+            }
+            return k;
+        }
+        if (k == 0) {
+            return 0;
+        }
+        final WeightedReservoir reservoir = new WeightedReservoir(out, k, random, false);
+        final Set<E> visited = new HashSet<>();
+        for (E object : this) {
+            if (visited.add(object)) {
+                reservoir.offer(object, getWeight(object));
+            }
+        }
+        return reservoir.size();
+    }
 }
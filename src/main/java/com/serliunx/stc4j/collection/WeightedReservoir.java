@@ -0,0 +1,164 @@
+package com.serliunx.stc4j.collection;
+
+import java.util.Objects;
+import java.util.Random;
+
+/**
+ * 带权重的蓄水池抽样(Efraimidis-Spirakis A-ExpJ), 用于不放回地按权重抽取 k 个条目
+ * <p>
+ * 依次提交全部条目, 每个条目的键为 {@code u^(1/w)}, 保留键最大的 k 个; 蓄水池满后按指数跳跃直接定位下一个
+ * 进入蓄水池的条目, 仅需 O(k log(n/k)) 次随机数. 键以对数形式保存在最小堆中, 抽中的条目直接写入调用方
+ * 提供的数组, 额外仅分配 k 个 {@code double}.
+ * <p>
+ * 开启合并时, 同一对象(按 {@link Objects#equals(Object, Object)})的多个条目合并为一个, 保留其中最大的键;
+ * 各条目键的最大值与以权重之和生成的键同分布, 因此等价于以该对象的总权重参与抽取. 合并需在蓄水池中查找对象,
+ * 每个进入蓄水池的条目增加 O(k) 的比较.
+ *
+ * @author <a href="mailto:serliunx@yeah.net">SerLiunx</a>
+ * @version 1.0.5
+ * @since 2026/10/17
+ */
+final class WeightedReservoir {
+
+    private final Object[] out;
+    private final int k;
+    private final Random random;
+    /**
+     * 是否合并同一对象的多个条目
+     */
+    private final boolean merge;
+    /**
+     * 各条目键的对数, 与 out 的前 size 个元素一一对应, 组成最小堆
+     */
+    private final double[] keys;
+    private int size;
+    /**
+     * 距下一个进入蓄水池的条目还需跳过的权重
+     */
+    private double skip;
+
+    /**
+     * @param out    输出数组, 长度不小于 k
+     * @param k      抽取数量, 必须大于 0
+     * @param random 随机器
+     * @param merge  是否合并同一对象的多个条目, 各条目的对象互不相同时无需合并
+     */
+    WeightedReservoir(Object[] out, int k, Random random, boolean merge) {
+        this.out = out;
+        this.k = k;
+        this.random = random;
+        this.merge = merge;
+        this.keys = new double[k];
+    }
+
+    /**
+     * 提交一个条目
+     *
+     * @param object 对象
+     * @param weight 权重, 必须大于 0
+     */
+    void offer(Object object, double weight) {
+        if (size < k) {
+            final double key = Math.log(nextOpen()) / weight;
+            if (merge && raise(object, key)) {
+                return;
+            }
+            keys[size] = key;
+            out[size] = object;
+            siftUp(size++);
+            if (size == k) {
+                nextSkip();
+            }
+            return;
+        }
+        skip -= weight;
+        if (skip > 0) {
+            return;
+        }
+        // 新条目的键须大于当前最小键, 在 (最小键^w, 1) 内取值
+        final double t = Math.exp(keys[0] * weight);
+        final double key = Math.log(t + (1 - t) * nextOpen()) / weight;
+        if (!merge || !raise(object, key)) {
+            keys[0] = key;
+            out[0] = object;
+            siftDown(0);
+        }
+        nextSkip();
+    }
+
+    /**
+     * @return 已写入输出数组的数量
+     */
+    int size() {
+        return size;
+    }
+
+    /**
+     * 对象已在蓄水池中时, 将其键提升为两者中的较大者
+     *
+     * @return 对象是否已在蓄水池中
+     */
+    private boolean raise(Object object, double key) {
+        for (int i = 0; i < size; i++) {
+            if (Objects.equals(out[i], object)) {
+                if (key > keys[i]) {
+                    keys[i] = key;
+                    siftDown(i);
+                }
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void nextSkip() {
+        skip = Math.log(nextOpen()) / keys[0];
+    }
+
+    /**
+     * @return (0, 1) 内的随机数
+     */
+    private double nextOpen() {
+        double u;
+        do {
+            u = random.nextDouble();
+        } while (u == 0);
+        return u;
+    }
+
+    private void siftUp(int i) {
+        while (i > 0) {
+            final int parent = (i - 1) >>> 1;
+            if (keys[parent] <= keys[i]) {
+                return;
+            }
+            swap(i, parent);
+            i = parent;
+        }
+    }
+
+    private void siftDown(int i) {
+        while (true) {
+            final int left = (i << 1) + 1;
+            if (left >= size) {
+                return;
+            }
+            final int right = left + 1;
+            final int child = right < size && keys[right] < keys[left] ? right : left;
+            if (keys[i] <= keys[child]) {
+                return;
+            }
+            swap(i, child);
+            i = child;
+        }
+    }
+
+    private void swap(int i, int j) {
+        final double key = keys[i];
+        keys[i] = keys[j];
+        keys[j] = key;
+        final Object object = out[i];
+        out[i] = out[j];
+        out[j] = object;
+    }
+}
@@ -0,0 +1,180 @@
+package com.serliunx.stc4j.state.handler;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 按 {@link SlowHandlerPolicy} 监控执行时间的处理器
+ * <p>
+ * 由状态机构建时为同步执行的处理器自动创建, 每个状态机独立计数. 未触发处置时仅增加两次取时的开销.
+ * <p>
+ * 转为异步执行后({@link #isOffloaded()}), 由状态机按异步处理器的方式提交至执行器, 与其他异步处理器一样
+ * 遵循顺序执行及指标统计; 此时本处理器仅执行原始的处理器, 不再检查执行时间.
+ *
+ * @author <a href="mailto:serliunx@yeah.net">SerLiunx</a>
+ * @version 1.0.5
+ * @since 2026/10/17
+ */
+public final class GuardedStateHandler<S> implements StateHandler<S> {
+
+	private static final int CLOSED = 0;
+	private static final int OFFLOADED = 1;
+	private static final int OPEN = 2;
+	private static final int PROBING = 3;
+
+	@SuppressWarnings("unchecked")
+	private static final AtomicIntegerFieldUpdater<GuardedStateHandler<?>> MODE =
+			(AtomicIntegerFieldUpdater<GuardedStateHandler<?>>) (AtomicIntegerFieldUpdater<?>)
+					AtomicIntegerFieldUpdater.newUpdater(GuardedStateHandler.class, "mode");
+
+	/**
+	 * 原始的处理器
+	 */
+	private final StateHandler<S> delegate;
+	/**
+	 * 慢处理器策略
+	 */
+	private final SlowHandlerPolicy policy;
+	/**
+	 * 当前的连续超时次数
+	 */
+	private final AtomicInteger consecutiveViolations = new AtomicInteger();
+	/**
+	 * 超时总次数
+	 */
+	private final LongAdder violations = new LongAdder();
+	/**
+	 * 转为异步执行后的执行次数
+	 */
+	private final LongAdder offloaded = new LongAdder();
+	/**
+	 * 熔断期间跳过的次数
+	 */
+	private final LongAdder skipped = new LongAdder();
+	/**
+	 * 当前状态
+	 */
+	private volatile int mode = CLOSED;
+	/**
+	 * 最近一次熔断的时间
+	 */
+	private volatile long openedAt;
+
+	/**
+	 * @param delegate	原始的处理器
+	 * @param policy	慢处理器策略
+	 */
+	public GuardedStateHandler(StateHandler<S> delegate, SlowHandlerPolicy policy) {
+		if (delegate == null || policy == null)
+			throw new NullPointerException();
+		this.delegate = delegate;
+		this.policy = policy;
+	}
+
+	@Override
+	public void handle(StateHandlerProcessParams<S> params) {
+		switch (mode) {
+			case OFFLOADED:
+				// 已由调用方提交至执行器
+				offloaded.increment();
+				delegate.handle(params);
+				return;
+			case OPEN:
+				if (System.nanoTime() - openedAt < policy.getOpenNanos() ||
+						!MODE.compareAndSet(this, OPEN, PROBING)) {
+					skipped.increment();
+					return;
+				}
+				// 熔断结束, 试探执行一次
+				invoke(params, true);
+				return;
+			case PROBING:
+				skipped.increment();
+				return;
+			default:
+				invoke(params, false);
+		}
+	}
+
+	public StateHandler<S> getDelegate() {
+		return delegate;
+	}
+
+	public SlowHandlerPolicy getPolicy() {
+		return policy;
+	}
+
+	/**
+	 * @return 超出预算的总次数
+	 */
+	public long getViolations() {
+		return violations.sum();
+	}
+
+	/**
+	 * @return 转为异步执行后的执行次数
+	 */
+	public long getOffloadedCount() {
+		return offloaded.sum();
+	}
+
+	/**
+	 * @return 熔断期间跳过的次数
+	 */
+	public long getSkippedCount() {
+		return skipped.sum();
+	}
+
+	/**
+	 * @return 是否已转为异步执行
+	 */
+	public boolean isOffloaded() {
+		return mode == OFFLOADED;
+	}
+
+	/**
+	 * @return 是否处于熔断中(含试探执行中)
+	 */
+	public boolean isOpen() {
+		final int m = mode;
+		return m == OPEN || m == PROBING;
+	}
+
+	/**
+	 * 同步执行并检查执行时间
+	 *
+	 * @param probe 是否为熔断结束后的试探执行
+	 */
+	private void invoke(StateHandlerProcessParams<S> params, boolean probe) {
+		final long start = System.nanoTime();
+		try {
+			delegate.handle(params);
+		} finally {
+			final long elapsed = System.nanoTime() - start;
+			if (elapsed > policy.getBudgetNanos())
+				violated(probe);
+			else if (probe)
+				mode = CLOSED;
+			else if (consecutiveViolations.get() != 0)
+				consecutiveViolations.set(0);
+		}
+	}
+
+	/**
+	 * 记录一次超时, 按需触发处置
+	 */
+	private void violated(boolean probe) {
+		violations.increment();
+		if (!probe &&
+				consecutiveViolations.incrementAndGet() < policy.getMaxViolations())
+			return;
+		consecutiveViolations.set(0);
+		if (policy.getAction() == SlowHandlerPolicy.Action.OFFLOAD) {
+			mode = OFFLOADED;
+		} else {
+			openedAt = System.nanoTime();
+			mode = OPEN;
+		}
+	}
+}
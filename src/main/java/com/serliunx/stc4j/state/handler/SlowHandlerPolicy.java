@@ -0,0 +1,117 @@
+package com.serliunx.stc4j.state.handler;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 慢处理器策略
+ * <p>
+ * 为每个同步执行的处理器设定执行时间预算, 单次执行超出预算记为一次超时; 连续超时达到指定次数后,
+ * 按策略将该处理器转为异步执行({@link Action#OFFLOAD}), 或熔断该处理器({@link Action#CIRCUIT_BREAK}).
+ * 同步处理器在状态机的锁内执行, 由此可避免单个处理器拖慢所有竞争该状态机的线程.
+ *
+ * @author <a href="mailto:serliunx@yeah.net">SerLiunx</a>
+ * @version 1.0.5
+ * @since 2026/10/17
+ * @see GuardedStateHandler
+ */
+public final class SlowHandlerPolicy {
+
+	/**
+	 * 执行时间预算(纳秒)
+	 */
+	private final long budgetNanos;
+	/**
+	 * 触发处置所需的连续超时次数
+	 */
+	private final int maxViolations;
+	/**
+	 * 处置方式
+	 */
+	private final Action action;
+	/**
+	 * 熔断持续时间(纳秒), 仅用于熔断
+	 */
+	private final long openNanos;
+
+	private SlowHandlerPolicy(long budget, TimeUnit unit, int maxViolations, Action action, long openNanos) {
+		if (unit == null)
+			throw new NullPointerException();
+		if (budget <= 0)
+			throw new IllegalArgumentException("budget <= 0");
+		if (maxViolations < 1)
+			throw new IllegalArgumentException("maxViolations < 1");
+		this.budgetNanos = unit.toNanos(budget);
+		this.maxViolations = maxViolations;
+		this.action = action;
+		this.openNanos = openNanos;
+	}
+
+	/**
+	 * 连续超时达到指定次数后, 处理器转为在执行器中异步执行, 之后不再转回同步执行
+	 *
+	 * @param budget		执行时间预算
+	 * @param unit			预算的时间单位
+	 * @param maxViolations	连续超时次数
+	 * @return 慢处理器策略
+	 */
+	public static SlowHandlerPolicy offload(long budget, TimeUnit unit, int maxViolations) {
+		return new SlowHandlerPolicy(budget, unit, maxViolations, Action.OFFLOAD, 0);
+	}
+
+	/**
+	 * 连续超时达到指定次数后熔断处理器: 熔断期间跳过该处理器, 熔断结束后试探执行一次,
+	 * 未超出预算则恢复, 否则再次熔断
+	 *
+	 * @param budget		执行时间预算
+	 * @param unit			预算的时间单位
+	 * @param maxViolations	连续超时次数
+	 * @param openDuration	熔断持续时间
+	 * @param openUnit		熔断持续时间的单位
+	 * @return 慢处理器策略
+	 */
+	public static SlowHandlerPolicy circuitBreak(long budget, TimeUnit unit, int maxViolations,
+												 long openDuration, TimeUnit openUnit) {
+		if (openDuration <= 0)
+			throw new IllegalArgumentException("openDuration <= 0");
+		return new SlowHandlerPolicy(budget, unit, maxViolations, Action.CIRCUIT_BREAK, openUnit.toNanos(openDuration));
+	}
+
+	public long getBudget(TimeUnit unit) {
+		return unit.convert(budgetNanos, TimeUnit.NANOSECONDS);
+	}
+
+	public int getMaxViolations() {
+		return maxViolations;
+	}
+
+	public Action getAction() {
+		return action;
+	}
+
+	public long getOpenDuration(TimeUnit unit) {
+		return unit.convert(openNanos, TimeUnit.NANOSECONDS);
+	}
+
+	long getBudgetNanos() {
+		return budgetNanos;
+	}
+
+	long getOpenNanos() {
+		return openNanos;
+	}
+
+	/**
+	 * 处置方式
+	 */
+	public enum Action {
+
+		/**
+		 * 转为异步执行
+		 */
+		OFFLOAD,
+		/**
+		 * 熔断
+		 */
+		CIRCUIT_BREAK
+	}
+}
@@ -1,12 +1,19 @@
 package com.serliunx.stc4j.state.machine;
 
+import com.serliunx.stc4j.state.handler.StateHandlerProcessParams;
+import com.serliunx.stc4j.state.handler.StateHandlerWrapper;
 import com.serliunx.stc4j.state.manager.AbstractStateManager;
-import com.serliunx.stc4j.util.Pair;
+import com.serliunx.stc4j.state.support.ExecutorProvider;
+import com.serliunx.stc4j.thread.support.HashedWheelTimer;
 
 import java.util.List;
+import java.util.Objects;
 import java.util.concurrent.Executor;
 import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.Consumer;
 
 /**
@@ -18,11 +25,31 @@ import java.util.function.Consumer;
  */
 public abstract class AbstractStateMachine<S> extends AbstractStateManager<S> implements StateMachine<S> {
 
+    /**
+     * 状态超时提交至执行器后未执行时重新提交的间隔
+     */
+    private static final long RETRY_NANOS = TimeUnit.SECONDS.toNanos(1);
+
     /**
      * 状态机上下文
      */
     protected final StateMachineContext<S> context;
 
+    /**
+     * 预编译的状态转换表
+     * <p>
+     * 由构造时上下文中注册的处理器编译而来, 状态列表反转时同步替换
+     */
+    private volatile TransitionTable<S> transitionTable;
+    /**
+     * 执行器是否已归还给执行器提供者
+     */
+    private final AtomicBoolean executorReleased = new AtomicBoolean(false);
+    /**
+     * 状态超时的定时任务, 没有任何状态超时时为空
+     */
+    private final TimeoutTask timeoutTask;
+
     /**
      * 默认的构造函数
      *
@@ -32,13 +59,24 @@ public abstract class AbstractStateMachine<S> extends AbstractStateManager<S> im
     public AbstractStateMachine(List<S> stateList, StateMachineContext<S> context) {
         super(stateList);
         this.context = context;
+        this.transitionTable = TransitionTable.compile(stateList, context);
+        this.timeoutTask = context.timer != null && transitionTable.hasTimeouts() ?
+                new TimeoutTask(context.timer) : null;
     }
 
     @Override
     public void close() throws Exception {
+        if (timeoutTask != null)
+            timeoutTask.arm(null);
         final Executor executor = context.executor;
         if (executor == null)
             return;
+        final ExecutorProvider executorProvider = context.executorProvider;
+        if (executorProvider != null) {
+            if (executorReleased.compareAndSet(false, true))
+                executorProvider.release(executor);
+            return;
+        }
         if (executor instanceof ExecutorService) {
             ExecutorService es = (ExecutorService) executor;
             es.shutdown();
@@ -54,11 +92,12 @@ public abstract class AbstractStateMachine<S> extends AbstractStateManager<S> im
     public void reset(boolean invokeHandlers) {
         try {
             writeLock.lock();
-            S oldState = get();
+            final int from = currentIndex();
             super.reset();
-            S newState = get();
-            if (invokeHandlers)
-                invokeHandlers(oldState, newState);
+            // 已处于默认状态时不算作一次切换, 与 DefaultConcurrentStateMachine 一致
+            if (from == currentIndex())
+                return;
+            completed(from, currentIndex(), invokeHandlers);
         } finally {
             writeLock.unlock();
         }
@@ -66,21 +105,19 @@ public abstract class AbstractStateMachine<S> extends AbstractStateManager<S> im
 
     @Override
     public boolean switchTo(S state, boolean invokeHandlers) {
-        int i = indexOf(state);
-        if (i == -1 || i == currentIndex())
+        if (state == null)
             return false;
         try {
             writeLock.lock();
-            // 重新检查
-            if (i == currentIndex())
+            // 序号需在持有锁时解析, 避免与 reserve 并发时使用反转前的序号
+            final int i = indexOf(state);
+            final int from = currentIndex();
+            if (i == -1 || i == from)
                 return false;
-            S oldState = get();
 
             updateCurrentIndex(i);
 
-            S newState = get();
-            if (invokeHandlers)
-                invokeHandlers(oldState, newState);
+            completed(from, i, invokeHandlers);
             return true;
         } finally {
             writeLock.unlock();
@@ -91,12 +128,10 @@ public abstract class AbstractStateMachine<S> extends AbstractStateManager<S> im
     public S switchPrevAndGet(boolean invokeHandlers) {
         try {
             writeLock.lock();
-            S oldState = get();
+            final int from = currentIndex();
             prev();
-            S newState = get();
-            if (invokeHandlers)
-                invokeHandlers(oldState, newState);
-            return newState;
+            completed(from, currentIndex(), invokeHandlers);
+            return get();
         } finally {
             writeLock.unlock();
         }
@@ -106,12 +141,10 @@ public abstract class AbstractStateMachine<S> extends AbstractStateManager<S> im
     public S getAndSwitchPrev(boolean invokeHandlers) {
         try {
             writeLock.lock();
-            S oldState = get();
+            final int from = currentIndex();
             prev();
-            S newState = get();
-            if (invokeHandlers)
-                invokeHandlers(oldState, newState);
-            return oldState;
+            completed(from, currentIndex(), invokeHandlers);
+            return get(from);
         } finally {
             writeLock.unlock();
         }
@@ -121,11 +154,9 @@ public abstract class AbstractStateMachine<S> extends AbstractStateManager<S> im
     public void switchPrev(boolean invokeHandlers) {
         try {
             writeLock.lock();
-            S oldState = get();
+            final int from = currentIndex();
             prev();
-            S newState = get();
-            if (invokeHandlers)
-                invokeHandlers(oldState, newState);
+            completed(from, currentIndex(), invokeHandlers);
         } finally {
             writeLock.unlock();
         }
@@ -135,12 +166,10 @@ public abstract class AbstractStateMachine<S> extends AbstractStateManager<S> im
     public S switchNextAndGet(boolean invokeHandlers) {
         try {
             writeLock.lock();
-            S oldState = get();
+            final int from = currentIndex();
             next();
-            S newState = get();
-            if (invokeHandlers)
-                invokeHandlers(oldState, newState);
-            return newState;
+            completed(from, currentIndex(), invokeHandlers);
+            return get();
         } finally {
             writeLock.unlock();
         }
@@ -150,12 +179,10 @@ public abstract class AbstractStateMachine<S> extends AbstractStateManager<S> im
     public S getAndSwitchNext(boolean invokeHandlers) {
         try {
             writeLock.lock();
-            S oldState = get();
+            final int from = currentIndex();
             next();
-            S newState = get();
-            if (invokeHandlers)
-                invokeHandlers(oldState, newState);
-            return oldState;
+            completed(from, currentIndex(), invokeHandlers);
+            return get(from);
         } finally {
             writeLock.unlock();
         }
@@ -165,11 +192,20 @@ public abstract class AbstractStateMachine<S> extends AbstractStateManager<S> im
     public void switchNext(boolean invokeHandlers) {
         try {
             writeLock.lock();
-            S oldState = get();
+            final int from = currentIndex();
             next();
-            S newState = get();
-            if (invokeHandlers)
-                invokeHandlers(oldState, newState);
+            completed(from, currentIndex(), invokeHandlers);
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    @Override
+    public void reserve() {
+        try {
+            writeLock.lock();
+            super.reserve();
+            transitionTable = transitionTable.reversed();
         } finally {
             writeLock.unlock();
         }
@@ -231,21 +267,224 @@ public abstract class AbstractStateMachine<S> extends AbstractStateManager<S> im
         reset(true);
     }
 
+    /**
+     * 状态超时到期: 当前状态仍为计时的状态时切换至目标状态并触发处理器
+     * <p>
+     * 当前状态与计时的状态不一致(与并发的状态切换交错)时, 按当前状态重新计时.
+     *
+     * @param state  计时的状态
+     * @param target 目标状态
+     * @return 是否完成了切换
+     */
+    protected boolean switchOnTimeout(S state, S target) {
+        try {
+            writeLock.lock();
+            final int from = currentIndex();
+            if (!Objects.equals(get(from), state)) {
+                armTimeout(from);
+                return false;
+            }
+            final int to = indexOf(target);
+            if (to == -1 || to == from)
+                return false;
+
+            updateCurrentIndex(to);
+
+            completed(from, to, true);
+            return true;
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * 按指定状态设置状态超时, 该状态没有超时定义时取消已设置的超时
+     * <p>
+     * 每次状态切换后调用, 仅更新定时任务的到期时间, 不产生新的对象
+     *
+     * @param index 状态序号
+     */
+    protected final void armTimeout(int index) {
+        final TimeoutTask task = timeoutTask;
+        if (task != null)
+            task.arm(transitionTable.timeout(index));
+    }
+
+    /**
+     * 记录一次状态切换, 未开启指标统计时不做处理
+     *
+     * @param from 源状态序号
+     * @param to   目的状态序号
+     */
+    protected final void recordTransition(int from, int to) {
+        final StateMachineMetrics<S> metrics = context.metrics;
+        if (metrics != null) {
+            final TransitionTable<S> table = transitionTable;
+            metrics.recordTransition(table.id(from), table.id(to));
+        }
+    }
+
+    /**
+     * 是否存在需要计时的状态超时
+     *
+     * @return 存在时返回真
+     */
+    protected final boolean hasTimeouts() {
+        return timeoutTask != null;
+    }
+
+    /**
+     * 获取当前的状态转换表
+     *
+     * @return 状态转换表
+     */
+    protected final TransitionTable<S> transitionTable() {
+        return transitionTable;
+    }
+
+    /**
+     * 状态切换完成: 重新设置状态超时, 按需触发处理器
+     * <p>
+     *     仅在持有锁的情况下访问
+     * </p>
+     */
+    private void completed(int from, int to, boolean invokeHandlers) {
+        recordTransition(from, to);
+        armTimeout(to);
+        if (invokeHandlers)
+            invokeHandlers(from, to);
+    }
+
     /**
      * 触发处理器
+     * <p>
+     *     仅在持有锁的情况下访问
+     * </p>
      *
-     * @param from	源状态
-     * @param to	目的状态
+     * @param from	源状态序号
+     * @param to	目的状态序号
      */
-    protected final void invokeHandlers(S from, S to) {
+    protected final void invokeHandlers(int from, int to) {
+        invokeHandlers(transitionTable, from, to, get(from), get(to));
+    }
+
+    /**
+     * 触发处理器
+     * <p>
+     *     转换表与状态需来自同一时刻的状态列表, 以免与 {@link #reserve()} 并发时错位
+     * </p>
+     *
+     * @param table     状态转换表
+     * @param from	    源状态序号
+     * @param to	    目的状态序号
+     * @param fromState 源状态
+     * @param toState   目的状态
+     */
+    protected final void invokeHandlers(TransitionTable<S> table, int from, int to, S fromState, S toState) {
+        final StateHandlerWrapper<S>[] leave = table.leave(from);
+        final StateHandlerWrapper<S>[] entry = table.entry(to);
+        final StateHandlerWrapper<S>[] exchange = table.exchange(from, to);
+        if (leave == null && entry == null && exchange == null)
+            return;
+        final StateHandlerProcessParams<S> params = table.params(from, to, fromState, toState);
+
+        if (context.batchAsync) {
+            HandlerInvocationDelegate.doInvokeHandlersBatched(context, leave, entry, exchange, params);
+            return;
+        }
+
         // 触发离开处理器
-        HandlerInvocationDelegate.doInvokeHandlers(context, context.leaveHandlers.get(from), from, to);
+        HandlerInvocationDelegate.doInvokeHandlers(context, leave, params);
 
         // 触发进入处理器
-        HandlerInvocationDelegate.doInvokeHandlers(context, context.entryHandlers.get(to), from, to);
+        HandlerInvocationDelegate.doInvokeHandlers(context, entry, params);
 
         // 触发交换处理器
-        final Pair<S, S> key = Pair.ofImmutable(from, to);
-        HandlerInvocationDelegate.doInvokeHandlers(context, context.exchangeHandlers.get(key), from, to);
+        HandlerInvocationDelegate.doInvokeHandlers(context, exchange, params);
+    }
+
+    /**
+     * 状态超时的定时任务, 每个状态机仅有一个, 反复设置
+     * <p>
+     * 到期后将切换逻辑提交至状态机的执行器, 经由 {@link #switchOnTimeout(Object, Object)} 完成切换.
+     * 执行器可能静默丢弃任务(如丢弃策略)或因饱和而拒绝任务, 因此提交后另行计时, 到期时仍未执行则重新提交;
+     * 重复提交的任务只会执行一次.
+     */
+    private final class TimeoutTask extends HashedWheelTimer.Timeout implements Runnable {
+
+        private final HashedWheelTimer timer;
+        /**
+         * 未执行时重新提交的定时任务
+         */
+        private final Retry retry = new Retry();
+        /**
+         * 当前计时的状态超时
+         */
+        private volatile StateTimeout<S> armed;
+        /**
+         * 已到期、等待执行器执行的状态超时, 执行时置空
+         */
+        private final AtomicReference<StateTimeout<S>> firing = new AtomicReference<>();
+
+        private TimeoutTask(HashedWheelTimer timer) {
+            this.timer = timer;
+        }
+
+        private void arm(StateTimeout<S> timeout) {
+            // 先更新到期时间再更新计时的状态, 与 run 中的检查顺序相反
+            firing.set(null);
+            timer.cancel(retry);
+            if (timeout == null)
+                timer.cancel(this);
+            else
+                timer.schedule(this, timeout.getTimeoutNanos(), TimeUnit.NANOSECONDS);
+            armed = timeout;
+        }
+
+        @Override
+        protected void expired() {
+            final StateTimeout<S> timeout = armed;
+            if (timeout == null)
+                return;
+            firing.set(timeout);
+            dispatch();
+        }
+
+        /**
+         * 提交至执行器, 并在一段时间后检查是否已执行
+         */
+        private void dispatch() {
+            final Executor executor = context.executor;
+            try {
+                executor.execute(this);
+            } catch (RejectedExecutionException e) {
+                // 执行器已关闭, 状态机随之失效
+                if (executor instanceof ExecutorService && ((ExecutorService) executor).isShutdown())
+                    return;
+            }
+            timer.schedule(retry, RETRY_NANOS, TimeUnit.NANOSECONDS);
+        }
+
+        @Override
+        public void run() {
+            final StateTimeout<S> timeout = firing.get();
+            // 已执行过(重复提交)或到期后已被重新设置时, 以新的超时为准
+            if (timeout == null || !firing.compareAndSet(timeout, null) ||
+                    isArmed() || timeout != armed)
+                return;
+            switchOnTimeout(timeout.getState(), timeout.getTarget());
+        }
+
+        /**
+         * 到期时超时仍未执行则重新提交
+         */
+        private final class Retry extends HashedWheelTimer.Timeout {
+
+            @Override
+            protected void expired() {
+                if (firing.get() != null)
+                    dispatch();
+            }
+        }
     }
 }
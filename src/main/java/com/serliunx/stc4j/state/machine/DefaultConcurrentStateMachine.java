@@ -5,15 +5,19 @@ import com.serliunx.stc4j.util.Pair;
 
 import java.util.List;
 import java.util.Map;
-import java.util.Objects;
 import java.util.concurrent.Executor;
 import java.util.concurrent.atomic.AtomicInteger;
-import java.util.concurrent.locks.ReentrantReadWriteLock;
 import java.util.function.Consumer;
 
 /**
  * 并发型状态机的默认实现。
- * 状态索引的切换使用 CAS，而状态列表结构变化（如 reserve）由独立的读写锁协调。
+ * <p>
+ * 状态列表、状态索引及状态转换表在构造后不再变化(不可变快照), 所有可变信息压缩在一个 {@link AtomicInteger} 中:
+ * 高位为当前状态在原始状态列表中的序号, 最低位为方向标记(是否已反转)。
+ * 因此 {@link #current()} 仅需一次 volatile 读, 每次状态切换仅需一次 CAS,
+ * 而 {@link #reserve()} 只需翻转方向标记, 不会阻塞任何读写线程。
+ * <p>
+ * 注意: 本实现中的状态序号始终为构造时状态列表中的序号, 不随 {@link #reserve()} 变化。
  *
  * @author <a href="mailto:serliunx@yeah.net">SerLiunx</a>
  * @version 1.0.4
@@ -22,12 +26,19 @@ import java.util.function.Consumer;
 public class DefaultConcurrentStateMachine<S> extends AbstractStateMachine<S> implements ConcurrentStateMachine<S> {
 
     /**
-     * 当前状态索引。
+     * 方向标记: 状态列表已反转
      */
-    private final AtomicInteger index = new AtomicInteger(0);
-    private final ReentrantReadWriteLock structuralLock = new ReentrantReadWriteLock();
-    private final ReentrantReadWriteLock.ReadLock structuralReadLock = structuralLock.readLock();
-    private final ReentrantReadWriteLock.WriteLock structuralWriteLock = structuralLock.writeLock();
+    private static final int REVERSED = 1;
+
+    /**
+     * 当前状态: {@code 序号 << 1 | 方向标记}
+     */
+    private final AtomicInteger cursor = new AtomicInteger(0);
+
+    /**
+     * 切换结果缓存, 切换结果不可变, 同一对状态之间的切换复用同一个对象
+     */
+    private final IndexPairCache<Transition<S>> transitions = new IndexPairCache<>(size());
 
     public DefaultConcurrentStateMachine(List<S> stateList,
                                   Map<S, List<StateHandlerWrapper<S>>> entryHandlers,
@@ -38,13 +49,24 @@ public class DefaultConcurrentStateMachine<S> extends AbstractStateMachine<S> im
                                   Boolean async,
                                   S initialState
     ) {
-        super(stateList, new StateMachineContext<>(entryHandlers, leaveHandlers, exchangeHandlers, eventRegistries, executor, async, initialState));
+        this(stateList, new StateMachineContext<>(entryHandlers, leaveHandlers, exchangeHandlers, eventRegistries, executor, async, initialState));
+    }
+
+    /**
+     * 基于已有的状态机上下文构建
+     *
+     * @param stateList 状态列表
+     * @param context   状态机上下文
+     */
+    public DefaultConcurrentStateMachine(List<S> stateList, StateMachineContext<S> context) {
+        super(stateList, context);
 
         final int initialIndex = indexOf(context.initialState);
         if (initialIndex != -1) {
             setDefault(initialIndex);
             updateCurrentIndex(initialIndex);
         }
+        armTimeout(currentIndex());
     }
 
     @Override
@@ -54,37 +76,38 @@ public class DefaultConcurrentStateMachine<S> extends AbstractStateMachine<S> im
 
     @Override
     public boolean compareAndSet(S expectedValue, S newValue, boolean invokeHandlers) {
-        Transition<S> transition;
-        try {
-            structuralReadLock.lock();
-            int current = indexOf(expectedValue);
-            int newIndex = indexOf(newValue);
-            if (current == -1 || newIndex == -1)
-                return false;
+        final int expectedIndex = indexOf(expectedValue);
+        final int newIndex = indexOf(newValue);
+        if (expectedIndex == -1 || newIndex == -1)
+            return false;
 
-            if (!index.compareAndSet(current, newIndex))
+        int c;
+        do {
+            c = cursor.get();
+            if (decode(c) != expectedIndex)
                 return false;
-
-            transition = new Transition<>(get(current), get(newIndex));
-        } finally {
-            structuralReadLock.unlock();
-        }
-
-        if (invokeHandlers && !transition.noop()) {
-            invokeHandlers(transition.fromState, transition.toState);
+            // 仅在方向标记被并发翻转时重试, 此时当前状态并未改变
+        } while (!cursor.compareAndSet(c, encode(newIndex, c)));
+
+        if (expectedIndex != newIndex) {
+            recordTransition(expectedIndex, newIndex);
+            rearm(newIndex);
+            if (invokeHandlers)
+                invokeHandlers(expectedIndex, newIndex);
         }
 
         return true;
     }
 
+    /**
+     * 翻转方向标记, 当前状态及默认状态保持不变
+     */
     @Override
     public void reserve() {
-        try {
-            structuralWriteLock.lock();
-            super.reserve();
-        } finally {
-            structuralWriteLock.unlock();
-        }
+        int c;
+        do {
+            c = cursor.get();
+        } while (!cursor.compareAndSet(c, c ^ REVERSED));
     }
 
     /**
@@ -94,151 +117,108 @@ public class DefaultConcurrentStateMachine<S> extends AbstractStateMachine<S> im
      */
     @Override
     public void reset(boolean invokeHandlers) {
-        Transition<S> transition;
-        try {
-            structuralReadLock.lock();
-            if (isDefault())
-                return;
-            transition = exchangeToTarget(getDefault());
-        } finally {
-            structuralReadLock.unlock();
-        }
+        if (isDefault())
+            return;
+        final Transition<S> transition = exchangeToTarget(getDefault());
 
-        if (transition != null && invokeHandlers) {
-            invokeHandlers(transition.fromState, transition.toState);
+        if (transition != null) {
+            completed(transition, invokeHandlers);
         }
     }
 
     @Override
     public boolean switchTo(S state, boolean invokeHandlers) {
-        Transition<S> transition;
-        try {
-            structuralReadLock.lock();
-            int i = indexOf(state);
-            if (i == -1 || i == index.get()) {
-                return false;
-            }
-            transition = exchangeToTarget(i);
-            if (transition == null) {
-                return false;
-            }
-        } finally {
-            structuralReadLock.unlock();
+        final int i = indexOf(state);
+        if (i == -1 || i == currentIndex()) {
+            return false;
         }
-
-        if (invokeHandlers) {
-            invokeHandlers(transition.fromState, transition.toState);
+        final Transition<S> transition = exchangeToTarget(i);
+        if (transition == null) {
+            return false;
         }
+
+        completed(transition, invokeHandlers);
         return true;
     }
 
     @Override
     public S switchPrevAndGet(boolean invokeHandlers) {
-        Transition<S> transition;
-        try {
-            structuralReadLock.lock();
-            transition = exchangeToPrev();
-        } finally {
-            structuralReadLock.unlock();
-        }
+        final Transition<S> transition = exchangeToPrev();
 
-        if (invokeHandlers) {
-            invokeHandlers(transition.fromState, transition.toState);
-        }
+        completed(transition, invokeHandlers);
         return transition.toState;
     }
 
     @Override
     public S getAndSwitchPrev(boolean invokeHandlers) {
-        Transition<S> transition;
-        try {
-            structuralReadLock.lock();
-            transition = exchangeToPrev();
-        } finally {
-            structuralReadLock.unlock();
-        }
+        final Transition<S> transition = exchangeToPrev();
 
-        if (invokeHandlers) {
-            invokeHandlers(transition.fromState, transition.toState);
-        }
+        completed(transition, invokeHandlers);
         return transition.fromState;
     }
 
     @Override
     public void switchPrev(boolean invokeHandlers) {
-        Transition<S> transition;
-        try {
-            structuralReadLock.lock();
-            transition = exchangeToPrev();
-        } finally {
-            structuralReadLock.unlock();
-        }
+        final Transition<S> transition = exchangeToPrev();
 
-        if (invokeHandlers) {
-            invokeHandlers(transition.fromState, transition.toState);
-        }
+        completed(transition, invokeHandlers);
     }
 
     @Override
     public S switchNextAndGet(boolean invokeHandlers) {
-        Transition<S> transition;
-        try {
-            structuralReadLock.lock();
-            transition = exchangeToNext();
-        } finally {
-            structuralReadLock.unlock();
-        }
+        final Transition<S> transition = exchangeToNext();
 
-        if (invokeHandlers) {
-            invokeHandlers(transition.fromState, transition.toState);
-        }
+        completed(transition, invokeHandlers);
         return transition.toState;
     }
 
     @Override
     public S getAndSwitchNext(boolean invokeHandlers) {
-        Transition<S> transition;
-        try {
-            structuralReadLock.lock();
-            transition = exchangeToNext();
-        } finally {
-            structuralReadLock.unlock();
-        }
+        final Transition<S> transition = exchangeToNext();
 
-        if (invokeHandlers) {
-            invokeHandlers(transition.fromState, transition.toState);
-        }
+        completed(transition, invokeHandlers);
         return transition.fromState;
     }
 
     @Override
     public void switchNext(boolean invokeHandlers) {
-        Transition<S> transition;
-        try {
-            structuralReadLock.lock();
-            transition = exchangeToNext();
-        } finally {
-            structuralReadLock.unlock();
-        }
+        final Transition<S> transition = exchangeToNext();
 
-        if (invokeHandlers) {
-            invokeHandlers(transition.fromState, transition.toState);
-        }
+        completed(transition, invokeHandlers);
+    }
+
+    /**
+     * 使用 CAS 完成超时切换, 当前状态已不是计时的状态时按当前状态重新计时
+     */
+    @Override
+    protected boolean switchOnTimeout(S state, S target) {
+        if (compareAndSet(state, target, true))
+            return true;
+        rearm(currentIndex());
+        return false;
     }
 
     @Override
     public S current() {
-        try {
-            structuralReadLock.lock();
-            return get(index.get());
-        } finally {
-            structuralReadLock.unlock();
-        }
+        return get(decode(cursor.get()));
+    }
+
+    @Override
+    protected S get() {
+        return current();
+    }
+
+    @Override
+    protected int currentIndex() {
+        return decode(cursor.get());
     }
 
     @Override
     protected void updateCurrentIndex(int newIndex) {
-        this.index.set(newIndex);
+        int c;
+        do {
+            c = cursor.get();
+        } while (!cursor.compareAndSet(c, encode(newIndex, c)));
     }
 
     /**
@@ -247,7 +227,7 @@ public class DefaultConcurrentStateMachine<S> extends AbstractStateMachine<S> im
      * @return 当前索引等于默认索引时返回 {@code true}
      */
     protected boolean isDefault() {
-        return index.get() == getDefault();
+        return currentIndex() == getDefault();
     }
 
     /**
@@ -256,14 +236,7 @@ public class DefaultConcurrentStateMachine<S> extends AbstractStateMachine<S> im
      * @return 切换结果
      */
     protected Transition<S> exchangeToPrev() {
-        final int size = size();
-        int currentValue;
-        int newValue;
-        do {
-            currentValue = index.get();
-            newValue = currentValue == 0 ? size - 1 : currentValue - 1;
-        } while (!index.compareAndSet(currentValue, newValue));
-        return new Transition<>(get(currentValue), get(newValue));
+        return exchangeByStep(false);
     }
 
     /**
@@ -272,14 +245,7 @@ public class DefaultConcurrentStateMachine<S> extends AbstractStateMachine<S> im
      * @return 切换结果
      */
     protected Transition<S> exchangeToNext() {
-        final int size = size();
-        int currentValue;
-        int newValue;
-        do {
-            currentValue = index.get();
-            newValue = currentValue == size - 1 ? 0 : currentValue + 1;
-        } while (!index.compareAndSet(currentValue, newValue));
-        return new Transition<>(get(currentValue), get(newValue));
+        return exchangeByStep(true);
     }
 
     /**
@@ -289,30 +255,128 @@ public class DefaultConcurrentStateMachine<S> extends AbstractStateMachine<S> im
      * @return 切换结果
      */
     protected Transition<S> exchangeToTarget(int target) {
+        int c;
         int currentValue;
         while (true) {
-            currentValue = index.get();
+            c = cursor.get();
+            currentValue = decode(c);
             if (currentValue == target) {
                 return null;
             }
-            if (index.compareAndSet(currentValue, target)) {
-                return new Transition<>(get(currentValue), get(target));
+            if (cursor.compareAndSet(c, encode(target, c))) {
+                return newTransition(currentValue, target);
             }
         }
     }
 
+    /**
+     * 根据状态序号创建切换结果
+     * <p>
+     * 复用已创建的切换结果; 状态数量超过 {@link IndexPairCache#DENSE_SIZE} 时,
+     * 每个源状态至多缓存 {@link IndexPairCache#MAX_ROW_ENTRIES} 个目的状态的切换结果
+     *
+     * @param from 源状态序号
+     * @param to   目的状态序号
+     * @return 切换结果
+     */
+    protected Transition<S> newTransition(int from, int to) {
+        final Transition<S> cached = transitions.get(from, to);
+        if (cached != null)
+            return cached;
+        return transitions.put(from, to, new Transition<>(from, to, get(from), get(to)));
+    }
+
+    /**
+     * 根据切换结果触发处理器
+     *
+     * @param transition 切换结果
+     */
+    protected void invokeHandlers(Transition<S> transition) {
+        invokeHandlers(transitionTable(), transition.from, transition.to, transition.fromState, transition.toState);
+    }
+
+    /**
+     * 状态切换完成: 重新设置状态超时, 按需触发处理器
+     *
+     * @param transition     切换结果
+     * @param invokeHandlers 是否触发状态处理器
+     */
+    private void completed(Transition<S> transition, boolean invokeHandlers) {
+        recordTransition(transition.from, transition.to);
+        rearm(transition.to);
+        if (invokeHandlers) {
+            invokeHandlers(transition);
+        }
+    }
+
+    /**
+     * 按指定状态设置状态超时
+     * <p>
+     * 并发切换时各线程设置超时的顺序与切换的顺序可能不一致, 设置后若当前状态已变化则按当前状态重新设置,
+     * 保证最终生效的超时属于最新的状态
+     *
+     * @param index 状态序号
+     */
+    private void rearm(int index) {
+        if (!hasTimeouts())
+            return;
+        for (;;) {
+            armTimeout(index);
+            final int current = currentIndex();
+            if (current == index)
+                return;
+            index = current;
+        }
+    }
+
+    /**
+     * 按当前方向移动一步, 方向标记为反转时上下颠倒
+     *
+     * @param forward 是否向下一个状态移动
+     * @return 切换结果
+     */
+    private Transition<S> exchangeByStep(boolean forward) {
+        final int last = size() - 1;
+        int c;
+        int currentValue;
+        int newValue;
+        do {
+            c = cursor.get();
+            currentValue = decode(c);
+            if (forward == ((c & REVERSED) == 0))
+                newValue = currentValue == last ? 0 : currentValue + 1;
+            else
+                newValue = currentValue == 0 ? last : currentValue - 1;
+        } while (!cursor.compareAndSet(c, encode(newValue, c)));
+        return newTransition(currentValue, newValue);
+    }
+
+    /**
+     * 从当前状态中解析状态序号
+     */
+    private static int decode(int cursor) {
+        return cursor >>> 1;
+    }
+
+    /**
+     * 以新的序号及原有的方向标记编码当前状态
+     */
+    private static int encode(int index, int cursor) {
+        return index << 1 | (cursor & REVERSED);
+    }
+
     protected static final class Transition<S> {
 
+        private final int from;
+        private final int to;
         private final S fromState;
         private final S toState;
 
-        private Transition(S fromState, S toState) {
+        private Transition(int from, int to, S fromState, S toState) {
+            this.from = from;
+            this.to = to;
             this.fromState = fromState;
             this.toState = toState;
         }
-
-        private boolean noop() {
-            return Objects.equals(fromState, toState);
-        }
     }
 }
@@ -1,9 +1,12 @@
 package com.serliunx.stc4j.state.machine;
 
+import com.serliunx.stc4j.state.handler.GuardedStateHandler;
 import com.serliunx.stc4j.state.handler.StateHandler;
 import com.serliunx.stc4j.state.handler.StateHandlerProcessParams;
 import com.serliunx.stc4j.state.handler.StateHandlerWrapper;
+import com.serliunx.stc4j.thread.support.KeyedRunnable;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.concurrent.Executor;
 
@@ -27,35 +30,259 @@ public final class HandlerInvocationDelegate {
      */
     public static <S> void doInvokeHandlers(StateMachineContext<S> context,
                                             List<StateHandlerWrapper<S>> handlerWrappers, S from, S to) {
+        if (handlerWrappers == null || handlerWrappers.isEmpty())
+            return;
+        final StateHandlerProcessParams<S> params = new StateHandlerProcessParams<>(from, to, null);
+        for (int i = 0, size = handlerWrappers.size(); i < size; i++)
+            doInvokeHandler(context, handlerWrappers.get(i), params);
+    }
+
+    /**
+     * 触发逻辑, 用于预编译的转换表 {@link TransitionTable}
+     *
+     * @param context           状态机上下文
+     * @param handlerWrappers   封装后处理器数组
+     * @param from	            源状态
+     * @param to	            目的状态
+     * @param <S>               状态类型
+     */
+    public static <S> void doInvokeHandlers(StateMachineContext<S> context,
+                                            StateHandlerWrapper<S>[] handlerWrappers, S from, S to) {
+        if (handlerWrappers == null)
+            return;
+        doInvokeHandlers(context, handlerWrappers, new StateHandlerProcessParams<>(from, to, null));
+    }
+
+    /**
+     * 触发逻辑, 所有处理器共用同一个入参
+     * <p>
+     * 入参不可变, 因此可以安全地在多个处理器(包括异步处理器)之间共享;
+     * 全部处理器均为同步执行时, 该方法不会产生任何新的对象.
+     *
+     * @param context           状态机上下文
+     * @param handlerWrappers   封装后处理器数组
+     * @param params            处理器入参
+     * @param <S>               状态类型
+     */
+    public static <S> void doInvokeHandlers(StateMachineContext<S> context,
+                                            StateHandlerWrapper<S>[] handlerWrappers,
+                                            StateHandlerProcessParams<S> params) {
         if (handlerWrappers == null)
             return;
-        handlerWrappers.forEach(hw -> {
+        for (StateHandlerWrapper<S> hw : handlerWrappers)
+            doInvokeHandler(context, hw, params);
+    }
+
+    /**
+     * 触发逻辑, 合并提交异步处理器
+     * <p>
+     * 同步处理器立即执行; 异步处理器按执行器分组, 每个执行器仅提交一次,
+     * 任务内按离开、进入、交换及各自的注册顺序依次执行.
+     *
+     * @param context   状态机上下文
+     * @param leave     离开事件处理器
+     * @param entry     进入事件处理器
+     * @param exchange  交换事件处理器
+     * @param params    处理器入参
+     * @param <S>       状态类型
+     */
+    public static <S> void doInvokeHandlersBatched(StateMachineContext<S> context,
+                                                   StateHandlerWrapper<S>[] leave,
+                                                   StateHandlerWrapper<S>[] entry,
+                                                   StateHandlerWrapper<S>[] exchange,
+                                                   StateHandlerProcessParams<S> params) {
+        AsyncBatch<S> batches = collect(context, leave, params, null);
+        batches = collect(context, entry, params, batches);
+        batches = collect(context, exchange, params, batches);
+        for (AsyncBatch<S> batch = batches; batch != null; batch = batch.next)
+            batch.executor.execute(batch);
+    }
+
+    /**
+     * 执行同步处理器并收集异步处理器
+     *
+     * @return 批次链表的头部
+     */
+    private static <S> AsyncBatch<S> collect(StateMachineContext<S> context,
+                                             StateHandlerWrapper<S>[] handlerWrappers,
+                                             StateHandlerProcessParams<S> params,
+                                             AsyncBatch<S> head) {
+        if (handlerWrappers == null)
+            return head;
+        for (StateHandlerWrapper<S> hw : handlerWrappers) {
             final StateHandler<S> stateHandler;
             if (hw == null ||
                     (stateHandler = hw.getStateHandler()) == null)
-                return;
-            final StateHandlerProcessParams<S> params = new StateHandlerProcessParams<>(from, to, null);
-
-            /*
-             * 一、异步逻辑校验: 首先判断是否需要异步执行状态处理器, 具体的状态逻辑处理器优先级大于全局
-             * 即： 如果全局指定了同步执行, 但此时特定的状态处理器注册时指定为异步执行的话. 该处理器
-             * 为异步执行.
-             *
-             * 二、 当确定了为异步执行时会选择合适的异步执行器(通常都是线程池), 如果状态处理器注册
-             * 时指定了异步执行器, 则优先使用该异步执行器；反则会使用全局的异步执行器。如果上一步骤
-             * 中确定为异步执行但当前步骤没有寻找到合适的异步执行器则会报空指针异常(当前版本不会出现)
-             */
-            if (hw.getAsync() == null ?
-                    (context.async != null && context.async) :
-                    hw.getAsync()) {
-                final Executor executor;
-                if ((executor = hw.getExecutor() == null ?
-                        context.executor : hw.getExecutor()) == null)
-                    // 不应该发生
-                    throw new Error();
-                executor.execute(() -> stateHandler.handle(params));
-            } else
-                stateHandler.handle(params);
-        });
+                continue;
+            if (!isAsync(context, hw)) {
+                handle(context.metrics, hw, stateHandler, params);
+                continue;
+            }
+
+            final Executor executor = executorOf(context, hw);
+            AsyncBatch<S> batch = head;
+            AsyncBatch<S> tail = null;
+            while (batch != null && batch.executor != executor) {
+                tail = batch;
+                batch = batch.next;
+            }
+            if (batch == null) {
+                batch = new AsyncBatch<>(executor, params, context.metrics);
+                if (tail == null)
+                    head = batch;
+                else
+                    tail.next = batch;
+            }
+            batch.handlers.add(hw);
+        }
+        return head;
+    }
+
+    /**
+     * 触发单个处理器
+     */
+    private static <S> void doInvokeHandler(StateMachineContext<S> context,
+                                            StateHandlerWrapper<S> hw, StateHandlerProcessParams<S> params) {
+        final StateHandler<S> stateHandler;
+        if (hw == null ||
+                (stateHandler = hw.getStateHandler()) == null)
+            return;
+
+        final StateMachineMetrics<S> metrics = context.metrics;
+        if (isAsync(context, hw))
+            executorOf(context, hw).execute(new HandlerTask<>(hw, stateHandler, params, metrics));
+        else if (metrics == null)
+            stateHandler.handle(params);
+        else
+            handle(metrics, hw, stateHandler, params);
+    }
+
+    /**
+     * 执行处理器, 开启指标统计时记录执行耗时
+     */
+    private static <S> void handle(StateMachineMetrics<S> metrics, StateHandlerWrapper<S> hw,
+                                   StateHandler<S> stateHandler, StateHandlerProcessParams<S> params) {
+        if (metrics == null) {
+            stateHandler.handle(params);
+            return;
+        }
+        final long start = System.nanoTime();
+        try {
+            stateHandler.handle(params);
+        } finally {
+            metrics.recordHandler(hw, System.nanoTime() - start);
+        }
+    }
+
+    /**
+     * 异步逻辑校验: 首先判断是否需要异步执行状态处理器, 具体的状态逻辑处理器优先级大于全局
+     * 即： 如果全局指定了同步执行, 但此时特定的状态处理器注册时指定为异步执行的话. 该处理器
+     * 为异步执行. 按慢处理器策略转为异步执行的同步处理器同样视为异步处理器.
+     */
+    private static <S> boolean isAsync(StateMachineContext<S> context, StateHandlerWrapper<S> hw) {
+        if (hw.getAsync() == null ?
+                (context.async != null && context.async) :
+                hw.getAsync())
+            return true;
+        final StateHandler<S> stateHandler = hw.getStateHandler();
+        return stateHandler instanceof GuardedStateHandler &&
+                ((GuardedStateHandler<S>) stateHandler).isOffloaded();
+    }
+
+    /**
+     * 当确定了为异步执行时会选择合适的异步执行器(通常都是线程池), 如果状态处理器注册
+     * 时指定了异步执行器, 则优先使用该异步执行器；反则会使用全局的异步执行器。如果上一步骤
+     * 中确定为异步执行但当前步骤没有寻找到合适的异步执行器则会报空指针异常(当前版本不会出现)
+     */
+    private static <S> Executor executorOf(StateMachineContext<S> context, StateHandlerWrapper<S> hw) {
+        final Executor executor;
+        if ((executor = hw.getExecutor() == null ?
+                context.executor : hw.getExecutor()) == null)
+            // 不应该发生
+            throw new Error();
+        return context.sequentialAsync ? context.mailboxOf(executor) : executor;
+    }
+
+    /**
+     * 单个异步处理器任务, 以处理器的注册信息作为归并键
+     */
+    private static final class HandlerTask<S> implements KeyedRunnable {
+
+        private final StateHandlerWrapper<S> key;
+        private final StateHandler<S> handler;
+        private final StateHandlerProcessParams<S> params;
+        private final StateMachineMetrics<S> metrics;
+        /**
+         * 提交时间, 仅在开启指标统计时记录
+         */
+        private final long submittedAt;
+
+        private HandlerTask(StateHandlerWrapper<S> key, StateHandler<S> handler, StateHandlerProcessParams<S> params,
+                            StateMachineMetrics<S> metrics) {
+            this.key = key;
+            this.handler = handler;
+            this.params = params;
+            this.metrics = metrics;
+            this.submittedAt = metrics == null ? 0 : System.nanoTime();
+        }
+
+        @Override
+        public Object getKey() {
+            return key;
+        }
+
+        @Override
+        public void run() {
+            if (metrics != null)
+                metrics.recordQueueDelay(System.nanoTime() - submittedAt);
+            handle(metrics, key, handler, params);
+        }
+    }
+
+    /**
+     * 同一执行器上的一批异步处理器
+     */
+    private static final class AsyncBatch<S> implements Runnable {
+
+        private final Executor executor;
+        private final StateHandlerProcessParams<S> params;
+        private final StateMachineMetrics<S> metrics;
+        private final List<StateHandlerWrapper<S>> handlers = new ArrayList<>(4);
+        /**
+         * 创建时间, 仅在开启指标统计时记录
+         */
+        private final long submittedAt;
+        private AsyncBatch<S> next;
+
+        private AsyncBatch(Executor executor, StateHandlerProcessParams<S> params, StateMachineMetrics<S> metrics) {
+            this.executor = executor;
+            this.params = params;
+            this.metrics = metrics;
+            this.submittedAt = metrics == null ? 0 : System.nanoTime();
+        }
+
+        @Override
+        public void run() {
+            if (metrics != null)
+                metrics.recordQueueDelay(System.nanoTime() - submittedAt);
+            Throwable failure = null;
+            for (StateHandlerWrapper<S> hw : handlers) {
+                try {
+                    handle(metrics, hw, hw.getStateHandler(), params);
+                } catch (Throwable t) {
+                    // 单个处理器失败不影响同批次的其他处理器, 全部执行完毕后再抛出
+                    if (failure == null)
+                        failure = t;
+                    else
+                        failure.addSuppressed(t);
+                }
+            }
+            if (failure instanceof RuntimeException)
+                throw (RuntimeException) failure;
+            if (failure instanceof Error)
+                throw (Error) failure;
+            if (failure != null)
+                throw new RuntimeException(failure);
+        }
     }
 }
@@ -0,0 +1,119 @@
+package com.serliunx.stc4j.state.machine;
+
+import java.util.Arrays;
+
+/**
+ * 以 (源序号, 目的序号) 为键的缓存, 用于复用状态切换过程中的不可变对象
+ * <p>
+ * 行按需创建, 仅实际发生过的切换占用空间. 状态数量不超过 {@link #DENSE_SIZE} 时每行为按目的序号索引的数组;
+ * 超过时每行为按目的序号排序的稀疏数组, 每个源状态至多缓存 {@link #MAX_ROW_ENTRIES} 个目的状态,
+ * 超出部分不做缓存, 避免占用 N*N 的空间.
+ * 读写不加锁, 并发时至多重复创建同一个值, 因此仅适用于缓存不可变(字段均为 final)的对象.
+ *
+ * @author <a href="mailto:serliunx@yeah.net">SerLiunx</a>
+ * @version 1.0.5
+ * @since 2026/10/17
+ */
+final class IndexPairCache<T> {
+
+    /**
+     * 使用稠密行的最大状态数量
+     */
+    static final int DENSE_SIZE = 64;
+    /**
+     * 稀疏行中每个源状态最多缓存的目的状态数量
+     */
+    static final int MAX_ROW_ENTRIES = 64;
+
+    private final Object[][] rows;
+    private final SparseRow[] sparseRows;
+
+    IndexPairCache(int size) {
+        this.rows = size <= DENSE_SIZE ? new Object[size][] : null;
+        this.sparseRows = size <= DENSE_SIZE ? null : new SparseRow[size];
+    }
+
+    /**
+     * 获取缓存值
+     *
+     * @param from 源状态序号
+     * @param to   目的状态序号
+     * @return 缓存值, 不存在时返回空
+     */
+    @SuppressWarnings("unchecked")
+    T get(int from, int to) {
+        if (rows == null) {
+            final SparseRow row = sparseRows[from];
+            return row == null ? null : (T) row.get(to);
+        }
+        final Object[] row = rows[from];
+        return row == null ? null : (T) row[to];
+    }
+
+    /**
+     * 写入缓存值
+     *
+     * @param from  源状态序号
+     * @param to    目的状态序号
+     * @param value 缓存值
+     * @return 写入的值
+     */
+    T put(int from, int to, T value) {
+        if (rows == null) {
+            final SparseRow row = sparseRows[from];
+            if (row == null)
+                sparseRows[from] = new SparseRow(new int[0], new Object[0], to, value);
+            else if (row.keys.length < MAX_ROW_ENTRIES)
+                sparseRows[from] = row.with(to, value);
+            return value;
+        }
+        Object[] row = rows[from];
+        if (row == null)
+            rows[from] = row = new Object[rows.length];
+        row[to] = value;
+        return value;
+    }
+
+    /**
+     * 稀疏行, 创建后不再修改; 字段均为 final, 无需加锁即可发布给其他线程
+     */
+    private static final class SparseRow {
+
+        /**
+         * 升序排列的目的状态序号
+         */
+        private final int[] keys;
+        private final Object[] values;
+
+        /**
+         * 在已有的条目中插入一个条目
+         */
+        SparseRow(int[] keys, Object[] values, int key, Object value) {
+            final int position = Arrays.binarySearch(keys, key);
+            if (position >= 0) {
+                this.keys = keys;
+                this.values = values.clone();
+                this.values[position] = value;
+                return;
+            }
+            final int insertion = -position - 1;
+            this.keys = new int[keys.length + 1];
+            this.values = new Object[keys.length + 1];
+            System.arraycopy(keys, 0, this.keys, 0, insertion);
+            System.arraycopy(values, 0, this.values, 0, insertion);
+            this.keys[insertion] = key;
+            this.values[insertion] = value;
+            System.arraycopy(keys, insertion, this.keys, insertion + 1, keys.length - insertion);
+            System.arraycopy(values, insertion, this.values, insertion + 1, keys.length - insertion);
+        }
+
+        Object get(int key) {
+            final int position = Arrays.binarySearch(keys, key);
+            return position < 0 ? null : values[position];
+        }
+
+        SparseRow with(int key, Object value) {
+            return new SparseRow(keys, values, key, value);
+        }
+    }
+}
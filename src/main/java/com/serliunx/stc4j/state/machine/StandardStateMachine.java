@@ -35,13 +35,24 @@ public class StandardStateMachine<S> extends AbstractStateMachine<S> implements
 						 Boolean async,
 						 S initialState
 	) {
-		super(stateList, new StateMachineContext<>(entryHandlers, leaveHandlers, exchangeHandlers, eventRegistries,
+		this(stateList, new StateMachineContext<>(entryHandlers, leaveHandlers, exchangeHandlers, eventRegistries,
 				executor, async, initialState));
+	}
+
+	/**
+	 * 基于已有的状态机上下文构建
+	 *
+	 * @param stateList	状态列表
+	 * @param context	状态机上下文
+	 */
+	StandardStateMachine(List<S> stateList, StateMachineContext<S> context) {
+		super(stateList, context);
 
 		final int initialIndex = indexOf(context.initialState);
 		if (initialIndex != -1) {
 			setDefault(initialIndex);
 			updateCurrentIndex(initialIndex);
 		}
+		armTimeout(currentIndex());
 	}
 }
@@ -1,11 +1,23 @@
 package com.serliunx.stc4j.state.machine;
 
+import com.serliunx.stc4j.state.handler.GuardedStateHandler;
+import com.serliunx.stc4j.state.handler.SlowHandlerPolicy;
 import com.serliunx.stc4j.state.handler.StateHandler;
 import com.serliunx.stc4j.state.handler.StateHandlerWrapper;
+import com.serliunx.stc4j.state.support.ExecutorProvider;
+import com.serliunx.stc4j.state.support.ExecutorUtils;
+import com.serliunx.stc4j.state.support.SharedExecutorProvider;
+import com.serliunx.stc4j.thread.support.BlockingOverflowHandler;
+import com.serliunx.stc4j.thread.support.CallerRunsOverflowHandler;
+import com.serliunx.stc4j.thread.support.CoalescingOverflowHandler;
+import com.serliunx.stc4j.thread.support.HashedWheelTimer;
+import com.serliunx.stc4j.thread.support.OverflowHandler;
+import com.serliunx.stc4j.thread.support.SpillingOverflowHandler;
 import com.serliunx.stc4j.util.Pair;
 
 import java.util.*;
 import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Consumer;
 
 /**
@@ -37,6 +49,34 @@ public final class StateMachineBuilder<S> implements StateEventRegistry<S> {
 	 * 初始化状态
 	 */
 	private S initialState;
+	/**
+	 * 是否合并提交异步处理器
+	 */
+	private boolean batchAsync;
+	/**
+	 * 是否按顺序异步执行
+	 */
+	private boolean sequentialAsync;
+	/**
+	 * 自动创建执行器时使用的溢出策略
+	 */
+	private OverflowHandler overflowHandler;
+	/**
+	 * 执行器提供者
+	 */
+	private ExecutorProvider executorProvider;
+	/**
+	 * 状态超时使用的定时器
+	 */
+	private HashedWheelTimer timer;
+	/**
+	 * 状态机指标
+	 */
+	private StateMachineMetrics<S> metrics;
+	/**
+	 * 慢处理器策略
+	 */
+	private SlowHandlerPolicy slowHandlerPolicy;
 
 	/**
 	 * 各种事件
@@ -45,6 +85,7 @@ public final class StateMachineBuilder<S> implements StateEventRegistry<S> {
 	private final Map<S, List<StateHandlerWrapper<S>>> leaveHandlers = new HashMap<>(64);
 	private final Map<Pair<S, S>, List<StateHandlerWrapper<S>>> exchangeHandlers = new HashMap<>(64);
 	private final Map<Object, List<Consumer<StateMachine<S>>>> eventRegistries = new HashMap<>(64);
+	private final Map<S, StateTimeout<S>> timeouts = new HashMap<>();
 
 	private StateMachineBuilder(List<S> states) {
 		this.stateList = states;
@@ -133,6 +174,67 @@ public final class StateMachineBuilder<S> implements StateEventRegistry<S> {
 		return this;
 	}
 
+	/**
+	 * 定义状态超时
+	 * <p>
+	 * 进入指定状态后超过指定时间且期间没有发生状态切换时, 自动切换至目标状态, 并照常触发相应的处理器;
+	 * 切换逻辑在状态机的执行器中执行. 每次状态切换仅重置状态机独有的定时任务, 不产生新的对象.
+	 * 同一状态重复定义时以最后一次为准.
+	 *
+	 * @param state		计时的状态
+	 * @param timeout	超时时间
+	 * @param unit		超时时间的单位
+	 * @param target	超时后切换的目标状态
+	 * @return 当前对象, 链式调用
+	 * @see #timer(HashedWheelTimer)
+	 */
+	public StateMachineBuilder<S> timeout(S state, long timeout, TimeUnit unit, S target) {
+		timeouts.put(state, new StateTimeout<>(state, timeout, unit, target));
+		return this;
+	}
+
+	/**
+	 * 指定状态超时使用的定时器
+	 * <p>
+	 * 默认使用 {@link HashedWheelTimer#getDefault()}, 即所有状态机共享同一个时间轮及其线程, 精度为 10 毫秒.
+	 *
+	 * @param timer 定时器
+	 * @return 当前对象, 链式调用
+	 */
+	public StateMachineBuilder<S> timer(HashedWheelTimer timer) {
+		this.timer = timer;
+		return this;
+	}
+
+	/**
+	 * 开启指标统计
+	 * <p>
+	 * 统计状态的进入次数、切换次数、停留时间, 处理器的执行耗时及异步处理器的排队时间,
+	 * 可通过指标实例读取或经由 {@link StateMachineMetrics#export(StateMachineMetricsExporter)} 导出.
+	 * 一个指标实例仅能用于构建一个状态机.
+	 *
+	 * @param metrics 指标实例
+	 * @return 当前对象, 链式调用
+	 */
+	public StateMachineBuilder<S> metrics(StateMachineMetrics<S> metrics) {
+		this.metrics = metrics;
+		return this;
+	}
+
+	/**
+	 * 指定慢处理器策略
+	 * <p>
+	 * 对所有同步执行的处理器生效: 每个处理器单独计数, 连续超出执行时间预算达到指定次数后按策略转为异步执行或熔断.
+	 * 各处理器的超时、转异步及熔断跳过的次数可通过 {@link StateMachineMetrics#getHandlerGuards()} 获取.
+	 *
+	 * @param slowHandlerPolicy 慢处理器策略
+	 * @return 当前对象, 链式调用
+	 */
+	public StateMachineBuilder<S> slowHandlerPolicy(SlowHandlerPolicy slowHandlerPolicy) {
+		this.slowHandlerPolicy = slowHandlerPolicy;
+		return this;
+	}
+
 	/**
 	 * 指定状态机的执行器
 	 * <p>
@@ -146,6 +248,53 @@ public final class StateMachineBuilder<S> implements StateEventRegistry<S> {
 		return this;
 	}
 
+	/**
+	 * 指定状态机的执行器提供者
+	 * <p>
+	 * 未通过 {@link #executor(Executor)} 指定执行器时, 从提供者获取执行器, 状态机关闭时归还.
+	 * 默认使用 {@link SharedExecutorProvider#getDefault()}, 即所有状态机共享同一个线程池; 该线程池的任务队列无界,
+	 * 不会丢弃任务, 突发的任务在队列中等待. 需要限制排队数量时应通过 {@link #executor(Executor)} 指定执行器,
+	 * 或通过 {@link #overflow} 指定溢出策略.
+	 *
+	 * @param executorProvider 执行器提供者
+	 * @return 当前对象, 链式调用
+	 */
+	public StateMachineBuilder<S> executorProvider(ExecutorProvider executorProvider) {
+		this.executorProvider = executorProvider;
+		return this;
+	}
+
+	/**
+	 * 使用虚拟线程执行异步处理器
+	 * <p>
+	 * 等同于 {@code executorProvider(SharedExecutorProvider.virtualThreads())}, 每个异步处理器在
+	 * 独立的虚拟线程中执行, 适合阻塞于 I/O 的处理器. 需要 JDK 21 及以上版本的运行时, 否则构建时
+	 * 抛出 {@link UnsupportedOperationException}.
+	 *
+	 * @return 当前对象, 链式调用
+	 * @see #async()
+	 */
+	public StateMachineBuilder<S> virtualThreads() {
+		return executorProvider(SharedExecutorProvider.virtualThreads());
+	}
+
+	/**
+	 * 指定自动创建执行器时使用的溢出策略
+	 * <p>
+	 * 未通过 {@link #executor(Executor)} 指定执行器时生效, 此时状态机独占一个按该策略创建的线程池;
+	 * 默认丢弃溢出的任务并计数.
+	 * 可选策略: {@link BlockingOverflowHandler}(限时阻塞)、{@link CallerRunsOverflowHandler}(调用方执行)、
+	 * {@link SpillingOverflowHandler}(暂存至无界队列)、{@link CoalescingOverflowHandler}(同一处理器仅保留最新的一次切换),
+	 * 相关指标可通过策略实例获取.
+	 *
+	 * @param overflowHandler 溢出策略
+	 * @return 当前对象, 链式调用
+	 */
+	public StateMachineBuilder<S> overflow(OverflowHandler overflowHandler) {
+		this.overflowHandler = overflowHandler;
+		return this;
+	}
+
 	/**
 	 * 定义状态机是否异步执行
 	 *
@@ -166,6 +315,54 @@ public final class StateMachineBuilder<S> implements StateEventRegistry<S> {
 		return async(true);
 	}
 
+	/**
+	 * 定义是否合并提交异步处理器
+	 * <p>
+	 * 开启后, 一次状态切换中所有使用同一执行器的异步处理器将按注册顺序(离开、进入、交换)
+	 * 合并为一个任务提交, 减少队列竞争与线程切换.
+	 *
+	 * @param batchAsync 是否合并提交
+	 * @return 当前对象, 链式调用
+	 */
+	public StateMachineBuilder<S> batchAsync(boolean batchAsync) {
+		this.batchAsync = batchAsync;
+		return this;
+	}
+
+	/**
+	 * 定义状态机合并提交异步处理器
+	 *
+	 * @return 当前对象, 链式调用
+	 * @see #batchAsync(boolean)
+	 */
+	public StateMachineBuilder<S> batchAsync() {
+		return batchAsync(true);
+	}
+
+	/**
+	 * 定义是否按顺序异步执行
+	 * <p>
+	 * 开启后, 同一状态机的异步处理器按提交顺序依次执行, 前一次状态切换的处理器执行完毕后
+	 * 才会执行下一次状态切换的处理器; 不同状态机之间仍在共享执行器上并行执行.
+	 *
+	 * @param sequentialAsync 是否按顺序异步执行
+	 * @return 当前对象, 链式调用
+	 */
+	public StateMachineBuilder<S> sequentialAsync(boolean sequentialAsync) {
+		this.sequentialAsync = sequentialAsync;
+		return this;
+	}
+
+	/**
+	 * 定义状态机按顺序异步执行
+	 *
+	 * @return 当前对象, 链式调用
+	 * @see #sequentialAsync(boolean)
+	 */
+	public StateMachineBuilder<S> sequentialAsync() {
+		return sequentialAsync(true);
+	}
+
 	/**
 	 * 指定状态机的类型
 	 * <p>
@@ -217,16 +414,65 @@ public final class StateMachineBuilder<S> implements StateEventRegistry<S> {
 		if (type == null)
 			throw new NullPointerException();
 
+		Executor contextExecutor = executor;
+		ExecutorProvider contextExecutorProvider = null;
+		if (contextExecutor == null) {
+			if (overflowHandler != null)
+				contextExecutor = ExecutorUtils.adaptiveThreadPool(overflowHandler);
+			else {
+				contextExecutorProvider = executorProvider == null ?
+						SharedExecutorProvider.getDefault() : executorProvider;
+				contextExecutor = contextExecutorProvider.acquire();
+			}
+		}
+		final StateMachineContext<S> context = new StateMachineContext<>(guard(entryHandlers),
+				guard(leaveHandlers), guard(exchangeHandlers), eventRegistries,
+				contextExecutor, async, initialState);
+		context.executorProvider = contextExecutorProvider;
+		context.batchAsync = batchAsync;
+		context.sequentialAsync = sequentialAsync;
+		if (!timeouts.isEmpty()) {
+			context.timeouts = timeouts;
+			context.timer = timer == null ? HashedWheelTimer.getDefault() : timer;
+		}
+		if (metrics != null) {
+			metrics.bind(stateList, context);
+			context.metrics = metrics;
+		}
+
 		if (type.equals(StateMachineType.STANDARD))
-			return (M)new StandardStateMachine<>(stateList, entryHandlers,
-					leaveHandlers, exchangeHandlers, eventRegistries, executor, async, initialState);
+			return (M)new StandardStateMachine<>(stateList, context);
 		else if (type.equals(StateMachineType.CONCURRENT))
-			return (M)new DefaultConcurrentStateMachine<>(stateList, entryHandlers,
-					leaveHandlers, exchangeHandlers, eventRegistries, executor, async, initialState);
+			return (M)new DefaultConcurrentStateMachine<>(stateList, context);
 
 		throw new IllegalArgumentException("未知的状态机类型: " + type);
 	}
 
+	/**
+	 * 按慢处理器策略包装同步执行的处理器, 未指定策略时原样返回
+	 * <p>
+	 * 每次构建都创建新的包装, 保证不同状态机之间独立计数
+	 */
+	private <K> Map<K, List<StateHandlerWrapper<S>>> guard(Map<K, List<StateHandlerWrapper<S>>> handlers) {
+		if (slowHandlerPolicy == null)
+			return handlers;
+		final Map<K, List<StateHandlerWrapper<S>>> guarded = new HashMap<>(64);
+		for (Map.Entry<K, List<StateHandlerWrapper<S>>> e : handlers.entrySet()) {
+			final List<StateHandlerWrapper<S>> wrappers = new ArrayList<>(e.getValue().size());
+			for (StateHandlerWrapper<S> hw : e.getValue()) {
+				final boolean sync = hw.getAsync() == null ? async == null || !async : !hw.getAsync();
+				if (!sync || hw.getStateHandler() == null) {
+					wrappers.add(hw);
+					continue;
+				}
+				wrappers.add(new StateHandlerWrapper<>(new GuardedStateHandler<>(hw.getStateHandler(),
+						slowHandlerPolicy), hw.getExecutor(), hw.getAsync()));
+			}
+			guarded.put(e.getKey(), wrappers);
+		}
+		return guarded;
+	}
+
 	/**
 	 * 状态机构建器
 	 *
@@ -248,4 +494,19 @@ public final class StateMachineBuilder<S> implements StateEventRegistry<S> {
 	public static <S> StateMachineBuilder<S> from(List<S> states) {
 		return new StateMachineBuilder<>(states);
 	}
+
+	/**
+	 * 基于枚举的状态机构建器
+	 * <p>
+	 * 状态为枚举的全部常量, 按声明顺序排列; 状态序号直接由 {@link Enum#ordinal()} 解析, 无需哈希或线性查找.
+	 *
+	 * @param <E>	枚举类型
+	 * @param type	枚举类
+	 * @return 状态机构建器实例
+	 */
+	public static <E extends Enum<E>> StateMachineBuilder<E> fromEnum(Class<E> type) {
+		if (type == null)
+			throw new NullPointerException();
+		return new StateMachineBuilder<>(type.getEnumConstants());
+	}
 }
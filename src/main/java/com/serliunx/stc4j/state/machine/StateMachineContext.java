@@ -2,13 +2,17 @@ package com.serliunx.stc4j.state.machine;
 
 import com.serliunx.stc4j.state.handler.StateHandler;
 import com.serliunx.stc4j.state.handler.StateHandlerWrapper;
+import com.serliunx.stc4j.state.support.ExecutorProvider;
 import com.serliunx.stc4j.state.support.ExecutorUtils;
+import com.serliunx.stc4j.thread.executor.SequentialExecutor;
 import com.serliunx.stc4j.thread.support.DefaultCountableRejectedExecutionHandler;
+import com.serliunx.stc4j.thread.support.HashedWheelTimer;
 import com.serliunx.stc4j.util.Pair;
 
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.Executor;
 import java.util.function.Consumer;
 
@@ -51,6 +55,50 @@ public final class StateMachineContext<S> implements StateEventRegistry<S> {
 	 * 初始化状态
 	 */
 	public S initialState;
+	/**
+	 * 是否合并提交异步处理器
+	 * <p>
+	 * 开启后, 一次状态切换中所有使用同一执行器的异步处理器将按注册顺序合并为一个任务提交,
+	 * 而不是每个处理器提交一次.
+	 */
+	public boolean batchAsync;
+	/**
+	 * 是否按顺序异步执行
+	 * <p>
+	 * 开启后, 同一状态机提交至同一执行器的异步处理器将经由该状态机独占的邮箱依次执行,
+	 * 保证先提交的处理器先执行; 不同状态机之间仍可在共享执行器上并行.
+	 */
+	public boolean sequentialAsync;
+
+	/**
+	 * 执行器提供者
+	 * <p>
+	 * 不为空时, 执行器由提供者管理, 状态机关闭时仅将执行器归还给提供者.
+	 */
+	public ExecutorProvider executorProvider;
+
+	/**
+	 * 状态超时定义
+	 */
+	public Map<S, StateTimeout<S>> timeouts;
+	/**
+	 * 状态超时使用的定时器
+	 * <p>
+	 * 为空时不启用状态超时.
+	 */
+	public HashedWheelTimer timer;
+
+	/**
+	 * 状态机指标
+	 * <p>
+	 * 为空时不统计指标.
+	 */
+	public StateMachineMetrics<S> metrics;
+
+	/**
+	 * 执行器对应的邮箱
+	 */
+	private final Map<Executor, SequentialExecutor> mailboxes = new ConcurrentHashMap<>(4);
 
 	public StateMachineContext(Map<S, List<StateHandlerWrapper<S>>> entryHandlers,
 							   Map<S, List<StateHandlerWrapper<S>>> leaveHandlers,
@@ -133,6 +181,19 @@ public final class StateMachineContext<S> implements StateEventRegistry<S> {
 		return exchange(from, to, handler, null);
 	}
 
+	/**
+	 * 获取指定执行器在当前状态机中对应的邮箱
+	 *
+	 * @param executor 底层执行器
+	 * @return 顺序执行器
+	 */
+	SequentialExecutor mailboxOf(Executor executor) {
+		final SequentialExecutor mailbox = mailboxes.get(executor);
+		if (mailbox != null)
+			return mailbox;
+		return mailboxes.computeIfAbsent(executor, SequentialExecutor::new);
+	}
+
 	/**
 	 * 执行器为空时自动创建一个适合当前操作系统的执行器（线程池）
 	 */
@@ -0,0 +1,333 @@
+package com.serliunx.stc4j.state.machine;
+
+import com.serliunx.stc4j.state.handler.GuardedStateHandler;
+import com.serliunx.stc4j.state.handler.StateHandlerWrapper;
+import com.serliunx.stc4j.thread.executor.ReusableThreadExecutorMetrics.Histogram;
+import com.serliunx.stc4j.thread.support.ConcurrentTimeHistogram;
+import com.serliunx.stc4j.util.Pair;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 状态机指标
+ * <p>
+ * 通过 {@link StateMachineBuilder#metrics(StateMachineMetrics)} 开启, 一个实例仅能绑定一个状态机. 统计以下指标:
+ * <ul>
+ *     <li> 各状态的进入次数
+ *     <li> 各 (源状态, 目的状态) 的切换次数, 以状态编号为下标的稠密矩阵存储
+ *     <li> 各状态的停留时间
+ *     <li> 各处理器的执行耗时
+ *     <li> 异步处理器从提交到开始执行的排队时间
+ * </ul>
+ * 计数使用 {@link LongAdder}, 耗时使用无锁直方图 {@link ConcurrentTimeHistogram}, 记录时不加锁;
+ * 切换次数矩阵的单元在对应的切换首次发生时才创建. 读取的各项指标彼此之间不保证是同一时刻的值.
+ * <p>
+ * 并发型状态机的停留时间按切换完成的先后计算, 多个线程同时切换时仅为近似值.
+ *
+ * @author <a href="mailto:serliunx@yeah.net">SerLiunx</a>
+ * @version 1.0.5
+ * @since 2026/10/17
+ */
+public final class StateMachineMetrics<S> {
+
+    /**
+     * 排队时间
+     */
+    private final ConcurrentTimeHistogram queueDelay = new ConcurrentTimeHistogram();
+    /**
+     * 绑定的状态机信息, 绑定前为空
+     */
+    private volatile Binding<S> binding;
+
+    /**
+     * 绑定状态机, 由 {@link StateMachineBuilder#build()} 调用
+     *
+     * @param states  状态列表, 下标即状态编号
+     * @param context 状态机上下文
+     */
+    synchronized void bind(List<S> states, StateMachineContext<S> context) {
+        if (binding != null)
+            throw new IllegalStateException("Metrics already bound to a state machine");
+        binding = new Binding<>(states, context);
+    }
+
+    /**
+     * 记录一次状态切换
+     *
+     * @param from 源状态编号
+     * @param to   目的状态编号
+     */
+    void recordTransition(int from, int to) {
+        final Binding<S> b = binding;
+        if (b == null)
+            return;
+        final long now = System.nanoTime();
+        b.dwellTimes[from].record(now - b.enteredAt.getAndSet(now));
+        b.entries[to].increment();
+
+        final int cell = from * b.states.size() + to;
+        LongAdder counter = b.transitions.get(cell);
+        if (counter == null) {
+            b.transitions.compareAndSet(cell, null, new LongAdder());
+            counter = b.transitions.get(cell);
+        }
+        counter.increment();
+    }
+
+    /**
+     * 记录一次处理器执行耗时
+     *
+     * @param handler 处理器
+     * @param nanos   耗时(纳秒)
+     */
+    void recordHandler(StateHandlerWrapper<S> handler, long nanos) {
+        final Binding<S> b = binding;
+        if (b == null)
+            return;
+        final HandlerLatency<S> latency = b.handlers.get(handler);
+        if (latency != null)
+            latency.histogram.record(nanos);
+    }
+
+    /**
+     * 记录一次异步处理器的排队时间
+     *
+     * @param nanos 排队时间(纳秒)
+     */
+    void recordQueueDelay(long nanos) {
+        queueDelay.record(nanos);
+    }
+
+    /**
+     * 获取状态列表, 下标即状态编号, 与 {@link #getTransitionMatrix()} 的下标一致
+     *
+     * @return 状态列表, 未绑定时为空列表
+     */
+    public List<S> getStates() {
+        final Binding<S> b = binding;
+        return b == null ? Collections.emptyList() : Collections.unmodifiableList(b.states);
+    }
+
+    /**
+     * 获取状态的进入次数
+     *
+     * @param state 状态
+     * @return 进入次数, 状态不存在时返回 0
+     */
+    public long getEntryCount(S state) {
+        final Binding<S> b = binding;
+        final int id = b == null ? -1 : b.states.indexOf(state);
+        return id == -1 ? 0 : b.entries[id].sum();
+    }
+
+    /**
+     * 获取两个状态之间的切换次数
+     *
+     * @param from 源状态
+     * @param to   目的状态
+     * @return 切换次数, 状态不存在时返回 0
+     */
+    public long getTransitionCount(S from, S to) {
+        final Binding<S> b = binding;
+        if (b == null)
+            return 0;
+        final int i = b.states.indexOf(from);
+        final int j = b.states.indexOf(to);
+        return i == -1 || j == -1 ? 0 : b.transitionCount(i, j);
+    }
+
+    /**
+     * 获取切换次数矩阵
+     *
+     * @return 矩阵, 下标依次为源状态编号、目的状态编号
+     */
+    public long[][] getTransitionMatrix() {
+        final Binding<S> b = binding;
+        final int size = b == null ? 0 : b.states.size();
+        final long[][] matrix = new long[size][size];
+        for (int i = 0; i < size; i++) {
+            for (int j = 0; j < size; j++) {
+                matrix[i][j] = b.transitionCount(i, j);
+            }
+        }
+        return matrix;
+    }
+
+    /**
+     * 获取状态的停留时间, 仅统计已离开的停留
+     *
+     * @param state 状态
+     * @return 停留时间的直方图, 状态不存在时为空直方图
+     */
+    public Histogram getDwellTime(S state) {
+        final Binding<S> b = binding;
+        final int id = b == null ? -1 : b.states.indexOf(state);
+        return id == -1 ? new Histogram(new long[0]) : new Histogram(b.dwellTimes[id].snapshot());
+    }
+
+    /**
+     * 获取各处理器的执行耗时
+     * <p>
+     * 处理器名称的格式为 {@code entry[状态]#序号}、{@code leave[状态]#序号} 或 {@code exchange[源状态->目的状态]#序号},
+     * 序号为同一事件中处理器的注册顺序.
+     *
+     * @return 处理器名称与执行耗时的直方图
+     */
+    public Map<String, Histogram> getHandlerLatencies() {
+        final Binding<S> b = binding;
+        if (b == null)
+            return Collections.emptyMap();
+        final Map<String, Histogram> latencies = new LinkedHashMap<>();
+        for (HandlerLatency<S> latency : b.latencies) {
+            latencies.put(latency.name, new Histogram(latency.histogram.snapshot()));
+        }
+        return latencies;
+    }
+
+    /**
+     * 获取各处理器的慢处理器监控, 仅包含按 {@link StateMachineBuilder#slowHandlerPolicy} 监控的同步处理器
+     * <p>
+     * 处理器名称同 {@link #getHandlerLatencies()}.
+     *
+     * @return 处理器名称与对应的监控
+     */
+    public Map<String, GuardedStateHandler<S>> getHandlerGuards() {
+        final Binding<S> b = binding;
+        if (b == null)
+            return Collections.emptyMap();
+        final Map<String, GuardedStateHandler<S>> guards = new LinkedHashMap<>();
+        for (HandlerLatency<S> latency : b.latencies) {
+            if (latency.guard != null)
+                guards.put(latency.name, latency.guard);
+        }
+        return guards;
+    }
+
+    /**
+     * 获取异步处理器的排队时间
+     *
+     * @return 排队时间的直方图
+     */
+    public Histogram getQueueDelay() {
+        return new Histogram(queueDelay.snapshot());
+    }
+
+    /**
+     * 将全部指标导出至指定的导出器
+     *
+     * @param exporter 导出器
+     */
+    public void export(StateMachineMetricsExporter<S> exporter) {
+        final Binding<S> b = binding;
+        if (b != null) {
+            final int size = b.states.size();
+            for (int i = 0; i < size; i++) {
+                exporter.entryCount(b.states.get(i), b.entries[i].sum());
+            }
+            for (int i = 0; i < size; i++) {
+                for (int j = 0; j < size; j++) {
+                    final long count = b.transitionCount(i, j);
+                    if (count != 0)
+                        exporter.transitionCount(b.states.get(i), b.states.get(j), count);
+                }
+            }
+            for (int i = 0; i < size; i++) {
+                exporter.dwellTime(b.states.get(i), new Histogram(b.dwellTimes[i].snapshot()));
+            }
+            for (HandlerLatency<S> latency : b.latencies) {
+                exporter.handlerLatency(latency.name, new Histogram(latency.histogram.snapshot()));
+                if (latency.guard != null)
+                    exporter.handlerGuard(latency.name, latency.guard);
+            }
+        }
+        exporter.queueDelay(getQueueDelay());
+    }
+
+    /**
+     * 绑定的状态机信息, 绑定后不可变
+     */
+    private static final class Binding<S> {
+
+        private final List<S> states;
+        private final LongAdder[] entries;
+        private final AtomicReferenceArray<LongAdder> transitions;
+        private final ConcurrentTimeHistogram[] dwellTimes;
+        /**
+         * 处理器与执行耗时, 以处理器的注册信息(按引用)为键
+         */
+        private final Map<StateHandlerWrapper<S>, HandlerLatency<S>> handlers = new IdentityHashMap<>();
+        /**
+         * 执行耗时, 按离开、进入、交换及注册顺序排列
+         */
+        private final List<HandlerLatency<S>> latencies = new ArrayList<>();
+        /**
+         * 最近一次状态切换的时间
+         */
+        private final AtomicLong enteredAt = new AtomicLong(System.nanoTime());
+
+        private Binding(List<S> states, StateMachineContext<S> context) {
+            final int size = states.size();
+            this.states = new ArrayList<>(states);
+            this.entries = new LongAdder[size];
+            this.dwellTimes = new ConcurrentTimeHistogram[size];
+            for (int i = 0; i < size; i++) {
+                entries[i] = new LongAdder();
+                dwellTimes[i] = new ConcurrentTimeHistogram();
+            }
+            this.transitions = new AtomicReferenceArray<>(size * size);
+
+            for (Map.Entry<S, List<StateHandlerWrapper<S>>> e : context.leaveHandlers.entrySet()) {
+                register("leave[" + e.getKey() + "]", e.getValue());
+            }
+            for (Map.Entry<S, List<StateHandlerWrapper<S>>> e : context.entryHandlers.entrySet()) {
+                register("entry[" + e.getKey() + "]", e.getValue());
+            }
+            for (Map.Entry<Pair<S, S>, List<StateHandlerWrapper<S>>> e : context.exchangeHandlers.entrySet()) {
+                register("exchange[" + e.getKey().left() + "->" + e.getKey().right() + "]", e.getValue());
+            }
+        }
+
+        @SuppressWarnings("unchecked")
+        private void register(String prefix, List<StateHandlerWrapper<S>> wrappers) {
+            for (int i = 0; i < wrappers.size(); i++) {
+                final StateHandlerWrapper<S> wrapper = wrappers.get(i);
+                final HandlerLatency<S> latency = new HandlerLatency<>(prefix + "#" + i,
+                        wrapper.getStateHandler() instanceof GuardedStateHandler ?
+                                (GuardedStateHandler<S>) wrapper.getStateHandler() : null);
+                handlers.put(wrapper, latency);
+                latencies.add(latency);
+            }
+        }
+
+        private long transitionCount(int from, int to) {
+            final LongAdder counter = transitions.get(from * states.size() + to);
+            return counter == null ? 0 : counter.sum();
+        }
+    }
+
+    /**
+     * 单个处理器的执行耗时
+     */
+    private static final class HandlerLatency<S> {
+
+        private final String name;
+        private final ConcurrentTimeHistogram histogram = new ConcurrentTimeHistogram();
+        /**
+         * 慢处理器监控, 未监控时为空
+         */
+        private final GuardedStateHandler<S> guard;
+
+        private HandlerLatency(String name, GuardedStateHandler<S> guard) {
+            this.name = name;
+            this.guard = guard;
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package com.serliunx.stc4j.state.machine;
+
+import com.serliunx.stc4j.state.handler.GuardedStateHandler;
+import com.serliunx.stc4j.thread.executor.ReusableThreadExecutorMetrics.Histogram;
+
+/**
+ * 状态机指标导出器
+ * <p>
+ * 由 {@link StateMachineMetrics#export(StateMachineMetricsExporter)} 依次回调, 用于将指标写入外部的监控系统;
+ * 所有方法默认不做处理, 按需实现即可. 调用方负责决定导出的时机(如定时导出).
+ *
+ * @author <a href="mailto:serliunx@yeah.net">SerLiunx</a>
+ * @version 1.0.5
+ * @since 2026/10/17
+ */
+public interface StateMachineMetricsExporter<S> {
+
+    /**
+     * 导出状态的进入次数
+     *
+     * @param state 状态
+     * @param count 进入次数
+     */
+    default void entryCount(S state, long count) {}
+
+    /**
+     * 导出状态切换次数, 仅导出发生过的切换
+     *
+     * @param from  源状态
+     * @param to    目的状态
+     * @param count 切换次数
+     */
+    default void transitionCount(S from, S to, long count) {}
+
+    /**
+     * 导出状态的停留时间
+     *
+     * @param state     状态
+     * @param dwellTime 停留时间的直方图
+     */
+    default void dwellTime(S state, Histogram dwellTime) {}
+
+    /**
+     * 导出处理器的执行耗时
+     *
+     * @param handler 处理器名称, 见 {@link StateMachineMetrics#getHandlerLatencies()}
+     * @param latency 执行耗时的直方图
+     */
+    default void handlerLatency(String handler, Histogram latency) {}
+
+    /**
+     * 导出处理器的慢处理器监控, 仅对按 {@link StateMachineBuilder#slowHandlerPolicy} 监控的处理器回调
+     *
+     * @param handler 处理器名称
+     * @param guard   监控, 可读取超时、转异步及熔断跳过的次数
+     */
+    default void handlerGuard(String handler, GuardedStateHandler<S> guard) {}
+
+    /**
+     * 导出异步处理器的排队时间
+     *
+     * @param queueDelay 排队时间的直方图
+     */
+    default void queueDelay(Histogram queueDelay) {}
+}
@@ -0,0 +1,66 @@
+package com.serliunx.stc4j.state.machine;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 状态超时定义: 停留在某个状态超过指定时间且期间没有发生状态切换时, 自动切换至目标状态
+ *
+ * @author <a href="mailto:serliunx@yeah.net">SerLiunx</a>
+ * @version 1.0.5
+ * @since 2026/10/17
+ */
+public final class StateTimeout<S> {
+
+    /**
+     * 计时的状态
+     */
+    private final S state;
+    /**
+     * 超时后切换的目标状态
+     */
+    private final S target;
+    /**
+     * 超时时间(纳秒)
+     */
+    private final long timeoutNanos;
+
+    /**
+     * @param state     计时的状态
+     * @param timeout   超时时间
+     * @param unit      超时时间的单位
+     * @param target    超时后切换的目标状态
+     */
+    public StateTimeout(S state, long timeout, TimeUnit unit, S target) {
+        if (state == null || unit == null || target == null)
+            throw new NullPointerException();
+        if (timeout <= 0)
+            throw new IllegalArgumentException("timeout <= 0");
+        if (state.equals(target))
+            throw new IllegalArgumentException("target must differ from state");
+        this.state = state;
+        this.target = target;
+        this.timeoutNanos = unit.toNanos(timeout);
+    }
+
+    public S getState() {
+        return state;
+    }
+
+    public S getTarget() {
+        return target;
+    }
+
+    /**
+     * 获取超时时间
+     *
+     * @param unit 时间单位
+     * @return 超时时间
+     */
+    public long getTimeout(TimeUnit unit) {
+        return unit.convert(timeoutNanos, TimeUnit.NANOSECONDS);
+    }
+
+    long getTimeoutNanos() {
+        return timeoutNanos;
+    }
+}
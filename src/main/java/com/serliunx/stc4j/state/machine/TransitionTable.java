@@ -0,0 +1,260 @@
+package com.serliunx.stc4j.state.machine;
+
+import com.serliunx.stc4j.state.handler.StateHandlerProcessParams;
+import com.serliunx.stc4j.state.handler.StateHandlerWrapper;
+import com.serliunx.stc4j.util.Pair;
+
+import java.lang.reflect.Array;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * 预编译的状态转换表
+ * <p>
+ * 构建状态机时将进入、离开及交换事件处理器按状态序号编译为稠密数组:
+ * 进入/离开处理器以状态序号为下标, 交换处理器以 (源序号, 目的序号) 为下标.
+ * 分发处理器时仅需数组访问, 无需任何哈希查找, 也不会产生临时对象.
+ * <p>
+ * 处理器入参 {@link StateHandlerProcessParams} 不可变, 同样按 (源序号, 目的序号) 缓存复用.
+ * 状态超时 {@link StateTimeout} 同样以状态序号为下标.
+ * <p>
+ * 转换表不可变, 状态列表结构发生变化(如反转)时应使用 {@link #reversed()} 生成新的转换表.
+ *
+ * @author <a href="mailto:serliunx@yeah.net">SerLiunx</a>
+ * @version 1.0.5
+ * @since 2026/10/17
+ */
+public final class TransitionTable<S> {
+
+    /**
+     * 进入事件处理器, 下标为目的状态序号
+     */
+    private final StateHandlerWrapper<S>[][] entryHandlers;
+    /**
+     * 离开事件处理器, 下标为源状态序号
+     */
+    private final StateHandlerWrapper<S>[][] leaveHandlers;
+    /**
+     * 交换事件处理器, 下标依次为源状态序号、目的状态序号
+     * <p>
+     * 某个源状态没有任何交换事件处理器时对应的行为空, 避免状态数量较多时占用 N*N 的空间
+     */
+    private final StateHandlerWrapper<S>[][][] exchangeHandlers;
+    /**
+     * 处理器入参缓存, 仅为实际发生过的切换创建条目
+     */
+    private final IndexPairCache<StateHandlerProcessParams<S>> params;
+    /**
+     * 状态超时, 下标为状态序号; 没有任何状态超时时为空
+     */
+    private final StateTimeout<S>[] timeouts;
+    /**
+     * 状态的稳定编号(编译时的状态序号), 下标为当前的状态序号
+     */
+    private final int[] ids;
+
+    private TransitionTable(StateHandlerWrapper<S>[][] entryHandlers,
+                            StateHandlerWrapper<S>[][] leaveHandlers,
+                            StateHandlerWrapper<S>[][][] exchangeHandlers,
+                            StateTimeout<S>[] timeouts,
+                            int[] ids) {
+        this.entryHandlers = entryHandlers;
+        this.leaveHandlers = leaveHandlers;
+        this.exchangeHandlers = exchangeHandlers;
+        this.timeouts = timeouts;
+        this.ids = ids;
+        this.params = new IndexPairCache<>(entryHandlers.length);
+    }
+
+    /**
+     * 获取进入指定状态时的处理器
+     *
+     * @param to 目的状态序号
+     * @return 处理器数组, 没有处理器时返回空
+     */
+    public StateHandlerWrapper<S>[] entry(int to) {
+        return entryHandlers[to];
+    }
+
+    /**
+     * 获取离开指定状态时的处理器
+     *
+     * @param from 源状态序号
+     * @return 处理器数组, 没有处理器时返回空
+     */
+    public StateHandlerWrapper<S>[] leave(int from) {
+        return leaveHandlers[from];
+    }
+
+    /**
+     * 获取指定状态交换时的处理器
+     *
+     * @param from 源状态序号
+     * @param to   目的状态序号
+     * @return 处理器数组, 没有处理器时返回空
+     */
+    public StateHandlerWrapper<S>[] exchange(int from, int to) {
+        final StateHandlerWrapper<S>[][] row = exchangeHandlers[from];
+        return row == null ? null : row[to];
+    }
+
+    /**
+     * 获取指定状态的超时定义
+     *
+     * @param state 状态序号
+     * @return 超时定义, 没有时返回空
+     */
+    public StateTimeout<S> timeout(int state) {
+        return timeouts == null ? null : timeouts[state];
+    }
+
+    /**
+     * 是否存在状态超时
+     *
+     * @return 任意状态定义了超时时返回真
+     */
+    public boolean hasTimeouts() {
+        return timeouts != null;
+    }
+
+    /**
+     * 获取状态的稳定编号, 即编译时的状态序号, 不随 {@link #reversed()} 变化
+     *
+     * @param index 状态序号
+     * @return 稳定编号
+     */
+    public int id(int index) {
+        return ids[index];
+    }
+
+    /**
+     * 获取指定状态切换时的处理器入参
+     * <p>
+     * 复用已创建的入参, 不产生新的对象. 状态数量超过 {@link IndexPairCache#DENSE_SIZE} 时,
+     * 每个源状态至多缓存 {@link IndexPairCache#MAX_ROW_ENTRIES} 个目的状态的入参, 其余切换每次创建新的入参
+     *
+     * @param from      源状态序号
+     * @param to        目的状态序号
+     * @param fromState 源状态
+     * @param toState   目的状态
+     * @return 处理器入参
+     */
+    public StateHandlerProcessParams<S> params(int from, int to, S fromState, S toState) {
+        final StateHandlerProcessParams<S> cached = params.get(from, to);
+        if (cached != null)
+            return cached;
+        return params.put(from, to, new StateHandlerProcessParams<>(fromState, toState, null));
+    }
+
+    /**
+     * 获取状态数量
+     *
+     * @return 状态数量
+     */
+    public int size() {
+        return entryHandlers.length;
+    }
+
+    /**
+     * 生成状态序号反转后的转换表, 与 {@link com.serliunx.stc4j.state.manager.StateManager#reserve()} 对应
+     *
+     * @return 新的转换表
+     */
+    public TransitionTable<S> reversed() {
+        final int size = size();
+        final StateHandlerWrapper<S>[][] entry = newArray(StateHandlerWrapper[].class, size);
+        final StateHandlerWrapper<S>[][] leave = newArray(StateHandlerWrapper[].class, size);
+        final StateHandlerWrapper<S>[][][] exchange = newArray(StateHandlerWrapper[][].class, size);
+        final StateTimeout<S>[] timeout = timeouts == null ? null : newArray(StateTimeout.class, size);
+        final int[] id = new int[size];
+        for (int i = 0; i < size; i++) {
+            final int source = size - 1 - i;
+            id[i] = ids[source];
+            entry[i] = entryHandlers[source];
+            leave[i] = leaveHandlers[source];
+            if (timeout != null)
+                timeout[i] = timeouts[source];
+
+            final StateHandlerWrapper<S>[][] row = exchangeHandlers[source];
+            if (row == null)
+                continue;
+            exchange[i] = newArray(StateHandlerWrapper[].class, size);
+            for (int j = 0; j < size; j++) {
+                exchange[i][j] = row[size - 1 - j];
+            }
+        }
+        return new TransitionTable<>(entry, leave, exchange, timeout, id);
+    }
+
+    /**
+     * 根据状态列表及状态机上下文中注册的处理器编译转换表
+     * <p>
+     * 状态的匹配逻辑与 {@link List#indexOf(Object)} 一致, 即基于 {@link Object#equals(Object)}.
+     *
+     * @param states  状态列表
+     * @param context 状态机上下文
+     * @param <S>     状态类型
+     * @return 转换表
+     */
+    public static <S> TransitionTable<S> compile(List<S> states, StateMachineContext<S> context) {
+        final int size = states.size();
+        final StateHandlerWrapper<S>[][] entry = newArray(StateHandlerWrapper[].class, size);
+        final StateHandlerWrapper<S>[][] leave = newArray(StateHandlerWrapper[].class, size);
+        final StateHandlerWrapper<S>[][][] exchange = newArray(StateHandlerWrapper[][].class, size);
+        final int[] ids = new int[size];
+
+        for (int i = 0; i < size; i++) {
+            final S state = states.get(i);
+            ids[i] = i;
+            entry[i] = toArray(context.entryHandlers.get(state));
+            leave[i] = toArray(context.leaveHandlers.get(state));
+        }
+
+        for (Map.Entry<Pair<S, S>, List<StateHandlerWrapper<S>>> e : context.exchangeHandlers.entrySet()) {
+            final StateHandlerWrapper<S>[] handlers = toArray(e.getValue());
+            if (handlers == null)
+                continue;
+            final S from = e.getKey().left();
+            final S to = e.getKey().right();
+            for (int i = 0; i < size; i++) {
+                if (!Objects.equals(states.get(i), from))
+                    continue;
+                for (int j = 0; j < size; j++) {
+                    if (!Objects.equals(states.get(j), to))
+                        continue;
+                    if (exchange[i] == null)
+                        exchange[i] = newArray(StateHandlerWrapper[].class, size);
+                    exchange[i][j] = handlers;
+                }
+            }
+        }
+
+        StateTimeout<S>[] timeouts = null;
+        if (context.timeouts != null && !context.timeouts.isEmpty()) {
+            timeouts = newArray(StateTimeout.class, size);
+            for (int i = 0; i < size; i++) {
+                timeouts[i] = context.timeouts.get(states.get(i));
+            }
+        }
+        return new TransitionTable<>(entry, leave, exchange, timeouts, ids);
+    }
+
+    private static <S> StateHandlerWrapper<S>[] toArray(List<StateHandlerWrapper<S>> handlers) {
+        if (handlers == null || handlers.isEmpty())
+            return null;
+        return handlers.toArray(newArray(StateHandlerWrapper.class, handlers.size()));
+    }
+
+    /**
+     * 创建元素类型为泛型的数组
+     *
+     * @param component 数组元素的类型
+     * @param size      数组长度
+     * @return 数组
+     */
+    @SuppressWarnings("unchecked")
+    private static <T> T[] newArray(Class<?> component, int size) {
+        return (T[]) Array.newInstance(component, size);
+    }
+}
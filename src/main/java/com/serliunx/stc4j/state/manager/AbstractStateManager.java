@@ -21,6 +21,12 @@ public abstract class AbstractStateManager<S> implements StateManager<S> {
 	 */
 	private final List<S> stateList;
 
+	/**
+	 * 状态索引
+	 * <p> 与状态列表一同在写锁下更新, 为空时退化为 {@link List#indexOf(Object)}
+	 */
+	private volatile StateIndex<S> stateIndex;
+
 	/**
 	 * 当前状态的序号
 	 * <p> 请保证仅在有写锁的情况下去修改
@@ -50,6 +56,7 @@ public abstract class AbstractStateManager<S> implements StateManager<S> {
 	 */
 	public AbstractStateManager(List<S> stateList) {
 		this.stateList = stateList;
+		this.stateIndex = StateIndex.of(stateList);
 		index = 0;
 	}
 
@@ -79,13 +86,13 @@ public abstract class AbstractStateManager<S> implements StateManager<S> {
 
 	@Override
 	public boolean switchTo(S state) {
-		int i = indexOf(state);
-		if (i == -1 || i == index)
+		if (state == null)
 			return false;
 		try {
 			writeLock.lock();
-			// 重新检查
-			if (i == index)
+			// 序号需在持有锁时解析, 避免与 reserve 并发时使用反转前的序号
+			final int i = indexOf(state);
+			if (i == -1 || i == index)
 				return false;
 			index = i;
 		} finally {
@@ -116,6 +123,9 @@ public abstract class AbstractStateManager<S> implements StateManager<S> {
 			S current = current();
 			S defaultState = get(getDefault());
 			Collections.reverse(stateList);
+			// 重建索引, 与状态列表的反转同处写锁之内
+			if (stateIndex != null)
+				stateIndex = stateIndex.reversed();
 			setDefault(indexOf(defaultState));
 			updateCurrentIndex(indexOf(current));
 		} finally {
@@ -183,7 +193,8 @@ public abstract class AbstractStateManager<S> implements StateManager<S> {
 	protected int indexOf(S state) {
 		if (state == null)
 			return -1;
-		return stateList.indexOf(state);
+		final StateIndex<S> si = stateIndex;
+		return si == null ? stateList.indexOf(state) : si.indexOf(state);
 	}
 
 	/**
@@ -72,15 +72,20 @@ public final class BreakageUnidirectionalStateManager<S> extends DefaultUnidirec
 
     @Override
     public boolean switchTo(S state) {
-        /*
-         *  非最后一个状态且切换后的状态必须在当前状态的下位
-         */
-        if (indexOf(state) <= currentIndex()) {
-            if (allowThrow)
-                throw new StateException("The last state has been reached and cannot be switched again!");
-            return false;
+        try {
+            writeLock.lock();
+            /*
+             *  非最后一个状态且切换后的状态必须在当前状态的下位
+             */
+            if (indexOf(state) <= currentIndex()) {
+                if (allowThrow)
+                    throw new StateException("The last state has been reached and cannot be switched again!");
+                return false;
+            }
+            return super.switchTo(state);
+        } finally {
+            writeLock.unlock();
         }
-        return super.switchTo(state);
     }
 
     @Override
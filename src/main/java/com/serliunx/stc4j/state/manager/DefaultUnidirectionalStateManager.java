@@ -61,15 +61,14 @@ public class DefaultUnidirectionalStateManager<S> extends AbstractStateManager<S
 
 	@Override
 	public boolean switchTo(S state) {
-		final int i;
-		if ((i = indexOf(state)) == -1 ||
-				i == currentIndex()) {
+		if (state == null)
 			return false;
-		}
 		try {
 			writeLock.lock();
+			final int i;
 			final boolean isLast;
-			if (i == currentIndex() ||
+			if ((i = indexOf(state)) == -1 ||
+					i == currentIndex() ||
 					(!(isLast = isLast()) && i < currentIndex()) ||
 					(isLast && i != getDefault())) {
 				return false;
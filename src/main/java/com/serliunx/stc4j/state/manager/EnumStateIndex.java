@@ -0,0 +1,74 @@
+package com.serliunx.stc4j.state.manager;
+
+import java.util.List;
+
+/**
+ * 基于 {@link Enum#ordinal()} 的状态索引
+ * <p>
+ * 要求状态列表中第 i 个状态的 ordinal 恰好为 i, 此时解析序号无需任何哈希或比较.
+ *
+ * @author <a href="mailto:serliunx@yeah.net">SerLiunx</a>
+ * @version 1.0.5
+ * @since 2026/10/17
+ */
+public final class EnumStateIndex<S> implements StateIndex<S> {
+
+    /**
+     * 枚举类型
+     */
+    private final Class<?> type;
+    /**
+     * 状态数量
+     */
+    private final int size;
+    /**
+     * 状态列表是否已反转
+     */
+    private final boolean reversed;
+
+    /**
+     * @param states 状态列表, 须满足 {@link #isOrdinalAligned(List)}
+     */
+    public EnumStateIndex(List<S> states) {
+        this(((Enum<?>) states.get(0)).getDeclaringClass(), states.size(), false);
+    }
+
+    private EnumStateIndex(Class<?> type, int size, boolean reversed) {
+        this.type = type;
+        this.size = size;
+        this.reversed = reversed;
+    }
+
+    @Override
+    public int indexOf(Object state) {
+        if (!type.isInstance(state))
+            return -1;
+        final int ordinal = ((Enum<?>) state).ordinal();
+        if (ordinal >= size)
+            return -1;
+        return reversed ? size - 1 - ordinal : ordinal;
+    }
+
+    @Override
+    public StateIndex<S> reversed() {
+        return new EnumStateIndex<>(type, size, !reversed);
+    }
+
+    /**
+     * 判断状态列表是否为同一枚举按声明顺序排列的常量
+     *
+     * @param states 状态列表
+     * @return 第 i 个状态均为同一枚举且 ordinal 为 i 时返回真, 否则返回假
+     */
+    public static boolean isOrdinalAligned(List<?> states) {
+        if (states == null || states.isEmpty() || !(states.get(0) instanceof Enum))
+            return false;
+        final Class<?> type = ((Enum<?>) states.get(0)).getDeclaringClass();
+        for (int i = 0; i < states.size(); i++) {
+            final Object state = states.get(i);
+            if (!type.isInstance(state) || ((Enum<?>) state).ordinal() != i)
+                return false;
+        }
+        return true;
+    }
+}
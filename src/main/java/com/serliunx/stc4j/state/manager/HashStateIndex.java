@@ -0,0 +1,57 @@
+package com.serliunx.stc4j.state.manager;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 基于哈希表的状态索引
+ * <p>
+ * 适用于任意状态类型, 状态重复时与 {@link List#indexOf(Object)} 一致, 返回第一次出现的序号.
+ *
+ * @author <a href="mailto:serliunx@yeah.net">SerLiunx</a>
+ * @version 1.0.5
+ * @since 2026/10/17
+ */
+public final class HashStateIndex<S> implements StateIndex<S> {
+
+    /**
+     * 状态快照, 用于反转时重建索引
+     */
+    private final Object[] states;
+    /**
+     * 状态 -> 序号
+     */
+    private final Map<Object, Integer> indexes;
+
+    /**
+     * @param states 状态列表
+     */
+    public HashStateIndex(List<S> states) {
+        this(states.toArray());
+    }
+
+    private HashStateIndex(Object[] states) {
+        this.states = states;
+        this.indexes = new HashMap<>(Math.max(16, (int) (states.length / 0.75f) + 1));
+        for (int i = 0; i < states.length; i++) {
+            indexes.putIfAbsent(states[i], i);
+        }
+    }
+
+    @Override
+    public int indexOf(Object state) {
+        final Integer i = indexes.get(state);
+        return i == null ? -1 : i;
+    }
+
+    @Override
+    public StateIndex<S> reversed() {
+        final int size = states.length;
+        final Object[] reversed = new Object[size];
+        for (int i = 0; i < size; i++) {
+            reversed[i] = states[size - 1 - i];
+        }
+        return new HashStateIndex<>(reversed);
+    }
+}
@@ -0,0 +1,49 @@
+package com.serliunx.stc4j.state.manager;
+
+import java.util.List;
+
+/**
+ * 状态索引
+ * <p>
+ * 将状态解析为其在状态列表中的序号, 用于代替 {@link List#indexOf(Object)} 的线性查找.
+ * 索引本身不可变, 状态列表反转时应通过 {@link #reversed()} 获取新的索引.
+ *
+ * @author <a href="mailto:serliunx@yeah.net">SerLiunx</a>
+ * @version 1.0.5
+ * @since 2026/10/17
+ */
+public interface StateIndex<S> {
+
+    /**
+     * 获取指定状态的序号
+     *
+     * @param state 状态
+     * @return 序号, 不存在时返回 -1
+     */
+    int indexOf(Object state);
+
+    /**
+     * 获取状态列表反转后对应的索引
+     *
+     * @return 新的索引
+     */
+    StateIndex<S> reversed();
+
+    /**
+     * 为状态列表创建合适的索引
+     * <p>
+     * 当状态列表恰好为某个枚举按声明顺序排列的常量(或其前缀)时, 使用基于 {@link Enum#ordinal()}
+     * 的索引; 否则使用基于哈希表的索引.
+     *
+     * @param states 状态列表
+     * @param <S>    状态类型
+     * @return 状态索引, 状态列表为空时返回空
+     */
+    static <S> StateIndex<S> of(List<S> states) {
+        if (states == null)
+            return null;
+        if (EnumStateIndex.isOrdinalAligned(states))
+            return new EnumStateIndex<>(states);
+        return new HashStateIndex<>(states);
+    }
+}
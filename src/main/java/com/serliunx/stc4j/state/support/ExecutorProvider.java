@@ -0,0 +1,30 @@
+package com.serliunx.stc4j.state.support;
+
+import java.util.concurrent.Executor;
+
+/**
+ * 执行器提供者
+ * <p>
+ * 状态机构建时通过 {@link #acquire()} 获取执行器, 关闭时通过 {@link #release(Executor)} 归还,
+ * 执行器的生命周期由提供者自行管理(如多个状态机共享同一个线程池).
+ *
+ * @author <a href="mailto:serliunx@yeah.net">SerLiunx</a>
+ * @version 1.0.5
+ * @since 2026/10/17
+ */
+public interface ExecutorProvider {
+
+	/**
+	 * 获取执行器
+	 *
+	 * @return 执行器
+	 */
+	Executor acquire();
+
+	/**
+	 * 归还执行器, 每次 {@link #acquire()} 对应一次归还
+	 *
+	 * @param executor 通过 {@link #acquire()} 获取的执行器
+	 */
+	void release(Executor executor);
+}
@@ -1,6 +1,9 @@
 package com.serliunx.stc4j.state.support;
 
 import com.serliunx.stc4j.thread.support.DefaultIndexCountingThreadFactory;
+import com.serliunx.stc4j.thread.support.OverflowHandler;
+import com.serliunx.stc4j.thread.support.VirtualIndexCountingThreadFactory;
+import com.serliunx.stc4j.thread.support.VirtualThreads;
 
 import java.util.concurrent.*;
 
@@ -8,7 +11,7 @@ import java.util.concurrent.*;
  * 线程池相关工具类
  *
  * @author <a href="mailto:serliunx@yeah.net">SerLiunx</a>
- * @version 1.0.4
+ * @version 1.0.5
  * @since 2026/3/16
  */
 public final class ExecutorUtils {
@@ -26,9 +29,63 @@ public final class ExecutorUtils {
 	 */
 	public static Executor adaptiveThreadPool(RejectedExecutionHandler rejectedExecutionHandler) {
 		final int processors = Runtime.getRuntime().availableProcessors();
+		if (rejectedExecutionHandler instanceof OverflowHandler)
+			return overflowThreadPool(processors, (OverflowHandler) rejectedExecutionHandler);
 		return new ThreadPoolExecutor(processors * 2, processors * 4, 5,
 				TimeUnit.MINUTES, new ArrayBlockingQueue<>(processors * 8),
 				new DefaultIndexCountingThreadFactory("state-process-%s", 0), rejectedExecutionHandler);
 	}
 
+	/**
+	 * 获取供多个状态机共享的线程池
+	 * <p>
+	 *     线程数量为当前处理器数量的两倍, 空闲 5 分钟后回收; 任务队列无界, 不会拒绝或丢弃任务,
+	 *     某个状态机的突发任务只会排队, 不会导致其他状态机的任务被丢弃.
+	 * </p>
+	 *
+	 * @return 执行器(线程池)
+	 */
+	public static ExecutorService sharedThreadPool() {
+		final int threads = Runtime.getRuntime().availableProcessors() * 2;
+		final ThreadPoolExecutor executor = new ThreadPoolExecutor(threads, threads, 5,
+				TimeUnit.MINUTES, new LinkedBlockingQueue<>(),
+				new DefaultIndexCountingThreadFactory("state-process-%s", 0));
+		executor.allowCoreThreadTimeOut(true);
+		return executor;
+	}
+
+	/**
+	 * 与 {@link #adaptiveThreadPool(RejectedExecutionHandler)} 参数一致, 但每个任务执行完毕后
+	 * 回调溢出策略, 使暂存的任务得以归还给线程池; 终止时回调溢出策略, 使未执行的暂存任务计入丢弃数量
+	 */
+	private static Executor overflowThreadPool(int processors, OverflowHandler overflowHandler) {
+		return new ThreadPoolExecutor(processors * 2, processors * 4, 5,
+				TimeUnit.MINUTES, new ArrayBlockingQueue<>(processors * 8),
+				new DefaultIndexCountingThreadFactory("state-process-%s", 0), overflowHandler) {
+			@Override
+			protected void afterExecute(Runnable r, Throwable t) {
+				overflowHandler.afterExecute(this);
+			}
+
+			@Override
+			protected void terminated() {
+				overflowHandler.terminated(this);
+			}
+		};
+	}
+
+	/**
+	 * 获取为每个任务启动一个虚拟线程的执行器
+	 * <p>
+	 *     线程名称为 state-process-virtual-%s; 虚拟线程没有数量上限, 因而不存在任务拒绝.
+	 *     需要 JDK 21 及以上版本的运行时, 可通过 {@link VirtualThreads#isSupported()} 判断.
+	 * </p>
+	 *
+	 * @return 执行器
+	 * @throws UnsupportedOperationException 当前运行时不支持虚拟线程
+	 */
+	public static ExecutorService virtualThreadExecutor() {
+		return VirtualThreads.newThreadPerTaskExecutor(
+				new VirtualIndexCountingThreadFactory("state-process-virtual-%s", 0));
+	}
 }
@@ -0,0 +1,102 @@
+package com.serliunx.stc4j.state.support;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.function.Supplier;
+
+/**
+ * 引用计数的共享执行器提供者
+ * <p>
+ * 首次获取时创建执行器, 之后的获取共享同一个执行器; 所有获取者均归还后关闭该执行器,
+ * 再次获取时重新创建. 线程池的线程按需创建, 因此获取执行器本身不产生线程.
+ *
+ * @author <a href="mailto:serliunx@yeah.net">SerLiunx</a>
+ * @version 1.0.5
+ * @since 2026/10/17
+ */
+public final class SharedExecutorProvider implements ExecutorProvider {
+
+	/**
+	 * 默认的共享执行器提供者, 参数同 {@link ExecutorUtils#sharedThreadPool()}
+	 */
+	private static final SharedExecutorProvider DEFAULT = new SharedExecutorProvider(ExecutorUtils::sharedThreadPool);
+
+	/**
+	 * 基于虚拟线程的共享执行器提供者, 参数同 {@link ExecutorUtils#virtualThreadExecutor()}
+	 */
+	private static final SharedExecutorProvider VIRTUAL_THREADS =
+			new SharedExecutorProvider(ExecutorUtils::virtualThreadExecutor);
+
+	/**
+	 * 执行器工厂
+	 */
+	private final Supplier<? extends ExecutorService> factory;
+	/**
+	 * 当前共享的执行器
+	 */
+	private ExecutorService executor;
+	/**
+	 * 引用数量
+	 */
+	private int references;
+
+	/**
+	 * @param factory 执行器工厂
+	 */
+	public SharedExecutorProvider(Supplier<? extends ExecutorService> factory) {
+		if (factory == null)
+			throw new NullPointerException();
+		this.factory = factory;
+	}
+
+	/**
+	 * 获取默认的共享执行器提供者
+	 * <p>
+	 * 线程池的任务队列无界, 不会丢弃任何状态机的任务.
+	 *
+	 * @return 默认的共享执行器提供者
+	 */
+	public static SharedExecutorProvider getDefault() {
+		return DEFAULT;
+	}
+
+	/**
+	 * 获取基于虚拟线程的共享执行器提供者
+	 * <p>
+	 * 需要 JDK 21 及以上版本的运行时, 否则获取执行器时抛出 {@link UnsupportedOperationException}.
+	 *
+	 * @return 基于虚拟线程的共享执行器提供者
+	 */
+	public static SharedExecutorProvider virtualThreads() {
+		return VIRTUAL_THREADS;
+	}
+
+	@Override
+	public synchronized Executor acquire() {
+		if (executor == null)
+			executor = factory.get();
+		references++;
+		return executor;
+	}
+
+	@Override
+	public synchronized void release(Executor executor) {
+		if (executor == null ||
+				executor != this.executor)
+			return;
+		if (--references == 0) {
+			this.executor = null;
+			// 已提交的任务仍会执行完毕
+			((ExecutorService) executor).shutdown();
+		}
+	}
+
+	/**
+	 * 获取当前的引用数量
+	 *
+	 * @return 引用数量
+	 */
+	public synchronized int getReferences() {
+		return references;
+	}
+}
@@ -1,10 +1,15 @@
 package com.serliunx.stc4j.thread.executor;
 
 import com.serliunx.stc4j.thread.support.DefaultIndexCountingThreadFactory;
+import com.serliunx.stc4j.thread.support.MpscArrayBlockingQueue;
+import com.serliunx.stc4j.thread.support.TimeHistogram;
 
 import java.util.*;
 import java.util.concurrent.*;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongFieldUpdater;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.Condition;
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReentrantLock;
 
@@ -33,20 +38,84 @@ public class DefaultReusableThreadExecutor implements ReusableThreadExecutor {
      * 拒绝策略
      */
     private final TaskRejectionHandler rejectionHandler;
+    /**
+     * 单次从队列中提取的最大任务数量
+     */
+    private final int batchSize;
+    /**
+     * 批量模式下复用的任务缓冲区, 仅由工作线程访问; 工作线程异常退出时未执行的任务保留至下一个工作线程
+     */
+    private final List<Runnable> batch;
+    /**
+     * 批量模式下当前批次中下一个待认领的位置; 工作线程逐个认领后执行, {@link #shutdownNow()} 一次性取回剩余的任务.
+     * 为 {@link #BATCH_UNPUBLISHED} 时批次尚未发布, 为 {@link #BATCH_STOLEN} 时剩余的任务已被取回
+     */
+    private final AtomicInteger batchCursor = new AtomicInteger(BATCH_UNPUBLISHED);
+    /**
+     * 当前批次的任务数量, 发布批次前写入
+     */
+    private int batchLength;
+
+    // ====== 指标 ======
 
     /**
-     * 任务执行数量
+     * 提交成功的任务数量(多个提交线程写入)
+     */
+    private final LongAdder tasksSubmitted = new LongAdder();
+    /**
+     * 被拒绝的任务数量(多个提交线程写入)
      */
-    private long tasksExecuted = 0;
+    private final LongAdder tasksRejected = new LongAdder();
+    /**
+     * 队列中尚未被工作线程取出的 {@link #WAKE_UP} 数量, 不计入队列大小
+     */
+    private final AtomicInteger wakeUps = new AtomicInteger();
+    /**
+     * 工作线程维护的计数, 独立对象并填充, 避免与提交线程访问的字段伪共享
+     */
+    private final WorkerCounters counters = new WorkerCounters();
+    /**
+     * 任务在队列中的等待时间
+     */
+    private final TimeHistogram queueTime = new TimeHistogram();
+    /**
+     * 任务执行耗时
+     */
+    private final TimeHistogram runTime = new TimeHistogram();
+    /**
+     * 是否开启计时
+     */
+    private volatile boolean timing = false;
 
     /**
      * 线程池状态
      */
     private final AtomicInteger status = new AtomicInteger(STATUS_NEW);
+    /**
+     * 是否已调用 {@link #shutdownNow()}: 此后工作线程不再提取新的任务
+     */
+    private volatile boolean stopped = false;
     /**
      * 线程池锁
      */
     private final Lock mainLock = new ReentrantLock();
+    /**
+     * 线程池终止条件
+     */
+    private final Condition termination = mainLock.newCondition();
+
+    /**
+     * 关闭时用于唤醒工作线程的空任务, 不会被执行
+     */
+    private static final Runnable WAKE_UP = () -> {};
+    /**
+     * 批次尚未发布
+     */
+    private static final int BATCH_UNPUBLISHED = -1;
+    /**
+     * 批次中剩余的任务已被 {@link #shutdownNow()} 取回
+     */
+    private static final int BATCH_STOLEN = Integer.MIN_VALUE;
 
     /**
      * 状态：初始化
@@ -81,22 +150,62 @@ public class DefaultReusableThreadExecutor implements ReusableThreadExecutor {
      */
     private static final int STATUS_TERMINATED = 4;
 
+    /**
+     * 默认的任务队列容量
+     */
+    public static final int DEFAULT_QUEUE_CAPACITY = 8192;
+
+    /**
+     * 全参构造器
+     *
+     * @param queue             任务队列
+     * @param threadFactory     线程工厂
+     * @param rejectionHandler  拒绝策略
+     * @param batchSize         批量模式下单次从队列中提取的最大任务数量, 为 1 时逐个提取
+     */
     public DefaultReusableThreadExecutor(BlockingQueue<Runnable> queue,
                                          ThreadFactory threadFactory,
-                                         TaskRejectionHandler rejectionHandler) {
+                                         TaskRejectionHandler rejectionHandler,
+                                         int batchSize) {
+        if (batchSize < 1)
+            throw new IllegalArgumentException("batchSize < 1");
         this.queue = queue;
         this.threadFactory = threadFactory;
         this.rejectionHandler = rejectionHandler;
+        this.batchSize = batchSize;
+        this.batch = batchSize > 1 ? new ArrayList<>(batchSize) : null;
 
         // 初始化
         start();
     }
 
+    public DefaultReusableThreadExecutor(BlockingQueue<Runnable> queue,
+                                         ThreadFactory threadFactory,
+                                         TaskRejectionHandler rejectionHandler) {
+        this(queue, threadFactory, rejectionHandler, 1);
+    }
+
     public DefaultReusableThreadExecutor(BlockingQueue<Runnable> queue) {
         this(queue, new DefaultIndexCountingThreadFactory("single-thread-pool-executor", 1),
                 AbortRejectionHandler.instance());
     }
 
+    /**
+     * 使用指定容量的 {@link MpscArrayBlockingQueue} 作为任务队列
+     *
+     * @param capacity 队列容量, 将向上取整为 2 的幂
+     */
+    public DefaultReusableThreadExecutor(int capacity) {
+        this(new MpscArrayBlockingQueue<>(capacity));
+    }
+
+    /**
+     * 使用默认容量({@value #DEFAULT_QUEUE_CAPACITY})的 {@link MpscArrayBlockingQueue} 作为任务队列
+     */
+    public DefaultReusableThreadExecutor() {
+        this(DEFAULT_QUEUE_CAPACITY);
+    }
+
     /**
      * 执行任务的线程
      */
@@ -114,14 +223,57 @@ public class DefaultReusableThreadExecutor implements ReusableThreadExecutor {
 
     @Override
     public long getTasksExecuted() {
-        return tasksExecuted;
+        return counters.executed;
+    }
+
+    @Override
+    public int getQueueSize() {
+        return Math.max(0, queue.size() - wakeUps.get());
+    }
+
+    @Override
+    public ReusableThreadExecutorMetrics metrics() {
+        final WorkerCounters counters = this.counters;
+        final long idle = counters.idleNanos;
+        final long busy = counters.busyNanos;
+        return new ReusableThreadExecutorMetrics(
+                tasksSubmitted.sum(),
+                counters.executed,
+                tasksRejected.sum(),
+                counters.failed,
+                getQueueSize(),
+                new ReusableThreadExecutorMetrics.Histogram(queueTime.snapshot()),
+                new ReusableThreadExecutorMetrics.Histogram(runTime.snapshot()),
+                idle + busy == 0 ? 0 : (double) idle / (idle + busy));
+    }
+
+    /**
+     * 开启或关闭计时
+     * <p>
+     * 开启后额外统计任务在队列中的等待时间、执行耗时以及工作线程的空闲占比; 为统计等待时间,
+     * 每个提交的任务会被封装一次(产生一次对象分配). 默认关闭.
+     *
+     * @param timing 是否开启计时
+     */
+    public void setTiming(boolean timing) {
+        this.timing = timing;
+    }
+
+    /**
+     * 是否开启了计时
+     *
+     * @return 开启时返回真
+     */
+    public boolean isTiming() {
+        return timing;
     }
 
     @Override
     public void shutdown() {
-        if (getStatus() >= STATUS_SHUTDOWN)
+        if (!advanceToShutdown())
             return;
-        status.set(STATUS_SHUTDOWN);
+        // 唤醒阻塞于空队列的工作线程; 队列已满时工作线程不会阻塞, 无需唤醒
+        offerWakeUp();
     }
 
     @Override
@@ -129,14 +281,23 @@ public class DefaultReusableThreadExecutor implements ReusableThreadExecutor {
         if (isTerminated()) {
             return Collections.emptyList();
         }
+        advanceToShutdown();
+        stopped = true;
         try {
             mainLock.lock();
             if (isTerminated()) {
                 return Collections.emptyList();
             }
-            thread.interrupt();
+            // 先取回剩余的任务再中断, 避免被中断的任务返回后工作线程抢先认领
             List<Runnable> tasks = new ArrayList<>();
+            stealBatch(tasks);
+            final int stolen = tasks.size();
             queue.drainTo(tasks);
+            final int drained = tasks.size() - stolen;
+            tasks.removeIf(t -> t == WAKE_UP);
+            wakeUps.addAndGet(tasks.size() - stolen - drained);
+            tasks.replaceAll(DefaultReusableThreadExecutor::unwrap);
+            thread.interrupt();
             return tasks;
         } finally {
             mainLock.unlock();
@@ -155,8 +316,18 @@ public class DefaultReusableThreadExecutor implements ReusableThreadExecutor {
 
     @Override
     public boolean awaitTermination(long timeout, TimeUnit unit) throws InterruptedException {
-        // TODO
-        return false;
+        long nanos = unit.toNanos(timeout);
+        mainLock.lock();
+        try {
+            while (!isTerminated()) {
+                if (nanos <= 0L)
+                    return false;
+                nanos = termination.awaitNanos(nanos);
+            }
+            return true;
+        } finally {
+            mainLock.unlock();
+        }
     }
 
     @Override
@@ -275,21 +446,20 @@ public class DefaultReusableThreadExecutor implements ReusableThreadExecutor {
         if (command == null) {
             throw new NullPointerException();
         }
+        final Runnable task = timing ? new TimedTask(command, System.nanoTime()) : command;
         if (isShutdown() ||
-                !queue.offer(command)) {
+                !queue.offer(task)) {
+            tasksRejected.increment();
             rejectionHandler.reject(command, this);
+            return;
         }
+        tasksSubmitted.increment();
     }
 
     @Override
     public String toString() {
-        try {
-            mainLock.lock();
-			return "[DefaultReusableThreadExecutor, queueSize=" + queue.size() +
-                    ", tasksExecuted=" + tasksExecuted + ", status=" + status.get() + "]";
-        } finally {
-            mainLock.unlock();
-        }
+        return "[DefaultReusableThreadExecutor, queueSize=" + getQueueSize() +
+                ", tasksExecuted=" + counters.executed + ", status=" + status.get() + "]";
     }
 
     /**
@@ -308,45 +478,94 @@ public class DefaultReusableThreadExecutor implements ReusableThreadExecutor {
      */
     protected void afterExecute(Runnable task, Throwable t) {}
 
+    /**
+     * 线程池终止前的回调, 在工作线程中执行
+     */
+    protected void terminated() {}
+
+    /**
+     * 工作线程提取任务前的回调: 获取一个已到期、需要在工作线程中执行的任务
+     *
+     * @return 到期的任务, 没有时返回 null
+     */
+    protected Runnable pollDueTask() {
+        return null;
+    }
+
+    /**
+     * 工作线程等待新任务前的回调: 获取距离下一个任务到期的时间
+     *
+     * @return 距离下一个任务到期的时间(纳秒), 没有待到期的任务时返回负数(无限期等待)
+     */
+    protected long nanosUntilNextDueTask() {
+        return -1;
+    }
+
+    /**
+     * 唤醒等待新任务的工作线程, 使其重新检查到期的任务
+     */
+    protected final void wakeUp() {
+        offerWakeUp();
+    }
+
+    /**
+     * 批量模式下一批任务开始执行前的回调
+     *
+     * @param t     任务线程
+     * @param size  本批次的任务数量
+     */
+    protected void beforeBatch(Thread t, int size) {}
+
+    /**
+     * 批量模式下一批任务结束后的回调
+     *
+     * @param executed  本批次已执行(含执行失败)的任务数量
+     */
+    protected void afterBatch(int executed) {}
+
     /**
      * 启动线程
      */
     private void start() {
-        if (isShutdown()) {
-            return;
-        }
         Runnable mainLogic = () -> {
             boolean completedAbruptly = false;
             try {
                 Runnable task;
-                status.set(STATUS_IDLE);
-                while ((task = getTask()) != null &&
-                        (!isTerminated())) {
+                status.compareAndSet(STATUS_NEW, STATUS_IDLE);
+                if (batchSize > 1) {
                     try {
-                        status.set(STATUS_RUNNING);
-                        beforeExecute(thread, task);
-                        task.run();
-                        afterExecute(task, null);
+                        runBatches();
                     } catch (Throwable t) {
                         completedAbruptly = true;
-                        afterExecute(task, t);
                         throw t;
-                    } finally {
-                        if (getStatus() < STATUS_SHUTDOWN) {
-                            status.set(STATUS_IDLE);
-                        }
-                        tasksExecuted++;
                     }
-
-                    if (isShutdown() && queue.isEmpty()) {
+                    return;
+                }
+                for (;;) {
+                    // 关闭后执行完剩余的任务再退出
+                    if (stopped ||
+                            (isShutdown() && queue.isEmpty()))
                         break;
+                    if ((task = getTask()) == null)
+                        break;
+                    if (task == WAKE_UP)
+                        continue;
+                    try {
+                        status.compareAndSet(STATUS_IDLE, STATUS_RUNNING);
+                        runTask(task);
+                    } catch (Throwable t) {
+                        completedAbruptly = true;
+                        throw t;
+                    } finally {
+                        status.compareAndSet(STATUS_RUNNING, STATUS_IDLE);
                     }
                 }
             } finally {
+                // 异常退出时由新的工作线程接替, 关闭后新的工作线程会在执行完剩余任务后终止
                 if (completedAbruptly) {
                     start();
                 } else {
-                    status.set(STATUS_TERMINATED);
+                    terminate();
                 }
             }
         };
@@ -356,17 +575,203 @@ public class DefaultReusableThreadExecutor implements ReusableThreadExecutor {
         thread.start();
     }
 
+    /**
+     * 批量模式的工作循环: 阻塞获取一个任务后, 通过 {@link BlockingQueue#drainTo(Collection, int)}
+     * 再提取至多 batchSize - 1 个任务连续执行, 状态切换与批次回调每批仅发生一次.
+     * 每个任务执行前先认领, 调用 {@link #shutdownNow()} 后剩余的任务不再执行, 而是由其返回
+     */
+    private void runBatches() {
+        final List<Runnable> batch = this.batch;
+        final AtomicInteger cursor = this.batchCursor;
+        for (;;) {
+            if (stopped)
+                return;
+            // 上一个工作线程异常退出时, 其批次中剩余的任务仍处于发布状态, 由当前线程继续认领
+            int next = cursor.get();
+            if (next == BATCH_STOLEN)
+                return;
+            if (next == BATCH_UNPUBLISHED) {
+                if (batch.isEmpty()) {
+                    if (isShutdown() && queue.isEmpty())
+                        return;
+                    final Runnable task = getTask();
+                    if (task == null)
+                        return;
+                    batch.add(task);
+                }
+                publishBatch(batch);
+                next = 0;
+            }
+
+            final int size = batchLength;
+            int executed = 0;
+            status.compareAndSet(STATUS_IDLE, STATUS_RUNNING);
+            beforeBatch(thread, size - next);
+            try {
+                for (int i = next; i < size; i++) {
+                    // 认领失败说明剩余的任务已被 shutdownNow 取回
+                    if (!cursor.compareAndSet(i, i + 1))
+                        return;
+                    final Runnable task = batch.get(i);
+                    executed++;
+                    if (task == WAKE_UP)
+                        continue;
+                    runTask(task);
+                }
+            } finally {
+                status.compareAndSet(STATUS_RUNNING, STATUS_IDLE);
+                afterBatch(executed);
+            }
+            if (!cursor.compareAndSet(size, BATCH_UNPUBLISHED))
+                return;
+            batch.clear();
+        }
+    }
+
+    /**
+     * 从队列中补充至多 batchSize - 1 个任务后发布批次, 与 {@link #shutdownNow()} 互斥;
+     * 发布后的任务或由工作线程认领执行, 或由 {@link #shutdownNow()} 取回
+     */
+    private void publishBatch(List<Runnable> batch) {
+        mainLock.lock();
+        try {
+            if (!stopped) {
+                final int offset = batch.size();
+                final int drained = queue.drainTo(batch, batchSize - offset);
+                for (int i = offset; i < offset + drained; i++) {
+                    if (batch.get(i) == WAKE_UP)
+                        wakeUps.decrementAndGet();
+                }
+            }
+            batchLength = batch.size();
+            batchCursor.set(0);
+        } finally {
+            mainLock.unlock();
+        }
+    }
+
+    /**
+     * 取回当前批次中尚未认领的任务, 需持有 mainLock
+     */
+    private void stealBatch(List<Runnable> tasks) {
+        if (batch == null)
+            return;
+        final int from = batchCursor.getAndSet(BATCH_STOLEN);
+        if (from < 0)
+            return;
+        for (int i = from; i < batchLength; i++) {
+            final Runnable task = batch.get(i);
+            if (task != WAKE_UP)
+                tasks.add(task);
+        }
+    }
+
+    /**
+     * 执行单个任务并维护指标, 仅由工作线程调用
+     */
+    private void runTask(Runnable task) {
+        final WorkerCounters counters = this.counters;
+        long start = 0;
+        if (task instanceof TimedTask) {
+            final TimedTask timedTask = (TimedTask) task;
+            start = System.nanoTime();
+            queueTime.record(start - timedTask.enqueuedAt);
+            task = timedTask.task;
+        } else if (timing) {
+            start = System.nanoTime();
+        }
+
+        beforeExecute(thread, task);
+        try {
+            task.run();
+        } catch (Throwable t) {
+            counters.lazySetFailed(counters.failed + 1);
+            afterExecute(task, t);
+            throw t;
+        } finally {
+            counters.lazySetExecuted(counters.executed + 1);
+            if (start != 0) {
+                final long elapsed = System.nanoTime() - start;
+                runTime.record(elapsed);
+                counters.lazySetBusyNanos(counters.busyNanos + elapsed);
+            }
+        }
+        afterExecute(task, null);
+    }
+
+    /**
+     * 工作线程退出: 标记为终止并唤醒所有等待终止的线程
+     */
+    private void terminate() {
+        try {
+            terminated();
+        } finally {
+            mainLock.lock();
+            try {
+                status.set(STATUS_TERMINATED);
+                termination.signalAll();
+            } finally {
+                mainLock.unlock();
+            }
+        }
+    }
+
+    /**
+     * 将状态推进至关闭, 已关闭或已终止时不做处理
+     *
+     * @return 本次调用是否完成了状态推进
+     */
+    private boolean advanceToShutdown() {
+        for (;;) {
+            final int current = status.get();
+            if (current >= STATUS_SHUTDOWN)
+                return false;
+            if (status.compareAndSet(current, STATUS_SHUTDOWN))
+                return true;
+        }
+    }
+
+    /**
+     * 放入一个 {@link #WAKE_UP}, 先计数再入队, 保证计数不小于队列中的实际数量
+     */
+    private void offerWakeUp() {
+        wakeUps.incrementAndGet();
+        if (!queue.offer(WAKE_UP))
+            wakeUps.decrementAndGet();
+    }
+
     /**
      * 从队列中获取任务
      */
     private Runnable getTask() {
+        final Runnable due = pollDueTask();
+        if (due != null)
+            return due;
+        final long wait = nanosUntilNextDueTask();
+        final long start = timing ? System.nanoTime() : 0;
         try {
-            return queue.take();
+            final Runnable task = wait < 0 ? queue.take() : queue.poll(wait, NANOSECONDS);
+            // 等待超时, 由工作循环重新检查到期的任务
+            if (task == null)
+                return WAKE_UP;
+            if (task == WAKE_UP)
+                wakeUps.decrementAndGet();
+            return task;
         } catch (InterruptedException e) {
             return null;
+        } finally {
+            if (start != 0)
+                counters.lazySetIdleNanos(counters.idleNanos + System.nanoTime() - start);
         }
     }
 
+    /**
+     * 还原被计时封装的任务
+     */
+    private static Runnable unwrap(Runnable task) {
+        return task instanceof TimedTask ? ((TimedTask) task).task : task;
+    }
+
     /**
      * 仅完成一个任务就返回, 源自 {@link ThreadPoolExecutor} 中的逻辑
      */
@@ -431,6 +836,72 @@ public class DefaultReusableThreadExecutor implements ReusableThreadExecutor {
         }
     }
 
+    /**
+     * 附带入队时间的任务, 仅在开启计时时使用
+     */
+    private static final class TimedTask implements Runnable {
+
+        private final Runnable task;
+        private final long enqueuedAt;
+
+        private TimedTask(Runnable task, long enqueuedAt) {
+            this.task = task;
+            this.enqueuedAt = enqueuedAt;
+        }
+
+        @Override
+        public void run() {
+            task.run();
+        }
+    }
+
+    /**
+     * 左侧填充, 与相邻对象的字段隔离
+     */
+    @SuppressWarnings("unused")
+    private static class LhsPadding {
+        long p01, p02, p03, p04, p05, p06, p07;
+    }
+
+    /**
+     * 工作线程维护的计数: 仅工作线程写入(有序写入, 无需 CAS), 任意线程读取
+     */
+    private static final class WorkerCounters extends LhsPadding {
+
+        private static final AtomicLongFieldUpdater<WorkerCounters> EXECUTED =
+                AtomicLongFieldUpdater.newUpdater(WorkerCounters.class, "executed");
+        private static final AtomicLongFieldUpdater<WorkerCounters> FAILED =
+                AtomicLongFieldUpdater.newUpdater(WorkerCounters.class, "failed");
+        private static final AtomicLongFieldUpdater<WorkerCounters> IDLE_NANOS =
+                AtomicLongFieldUpdater.newUpdater(WorkerCounters.class, "idleNanos");
+        private static final AtomicLongFieldUpdater<WorkerCounters> BUSY_NANOS =
+                AtomicLongFieldUpdater.newUpdater(WorkerCounters.class, "busyNanos");
+
+        volatile long executed;
+        volatile long failed;
+        volatile long idleNanos;
+        volatile long busyNanos;
+
+        @SuppressWarnings("unused")
+        long p11, p12, p13, p14, p15, p16, p17;
+
+        void lazySetExecuted(long value) {
+            EXECUTED.lazySet(this, value);
+        }
+
+        void lazySetFailed(long value) {
+            FAILED.lazySet(this, value);
+        }
+
+        void lazySetIdleNanos(long value) {
+            IDLE_NANOS.lazySet(this, value);
+        }
+
+        void lazySetBusyNanos(long value) {
+            BUSY_NANOS.lazySet(this, value);
+        }
+    }
+
     private static final class CallableAdapter<T> implements Callable<T> {
 
         private final Runnable r;
@@ -1,5 +1,6 @@
 package com.serliunx.stc4j.thread.executor;
 
+import com.serliunx.stc4j.thread.support.DiscardAwareRunnable;
 import com.serliunx.stc4j.thread.support.MergedRejectedExecutionHandler;
 
 import java.util.concurrent.ExecutorService;
@@ -8,7 +9,7 @@ import java.util.concurrent.ExecutorService;
  * 拒绝策略之：丢弃
  *
  * <p>
- * 任务被拒绝时直接丢弃任务, 什么都不做。 思路源自{@link java.util.concurrent.ThreadPoolExecutor.DiscardPolicy}
+ * 任务被拒绝时直接丢弃任务, 仅通知 {@link DiscardAwareRunnable}。 思路源自{@link java.util.concurrent.ThreadPoolExecutor.DiscardPolicy}
  * <p>
  *
  * @author <a href="mailto:serliunx@yeah.net">SerLiunx</a>
@@ -33,6 +34,6 @@ public final class DiscardRejectionHandler implements MergedRejectedExecutionHan
 
     @Override
     public void mergedRejectedExecution(Runnable r, ExecutorService es) {
-        // 什么都不做
+        DiscardAwareRunnable.notifyDiscarded(r);
     }
 }
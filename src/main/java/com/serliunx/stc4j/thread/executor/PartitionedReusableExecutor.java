@@ -0,0 +1,215 @@
+package com.serliunx.stc4j.thread.executor;
+
+import com.serliunx.stc4j.thread.support.DefaultIndexCountingThreadFactory;
+import com.serliunx.stc4j.thread.support.MpscArrayBlockingQueue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.IntFunction;
+
+/**
+ * 按键分区的可重复使用单线程线程池组
+ * <p>
+ * 持有 N 个 {@link ReusableThreadExecutor}(分区), 通过 {@link #execute(Object, Runnable)} 按键的哈希值
+ * 将任务路由至固定的分区: 同一个键的任务总是在同一个线程上按提交顺序执行, 不同分区之间并行执行.
+ *
+ * @author <a href="mailto:serliunx@yeah.net">SerLiunx</a>
+ * @version 1.0.5
+ * @since 2026/10/17
+ */
+public final class PartitionedReusableExecutor implements Executor, AutoCloseable {
+
+    /**
+     * 分区
+     */
+    private final ReusableThreadExecutor[] lanes;
+
+    /**
+     * 使用默认的 {@link DefaultReusableThreadExecutor} 作为分区, 线程名称为 partitioned-executor-%s
+     *
+     * @param lanes 分区数量
+     */
+    public PartitionedReusableExecutor(int lanes) {
+        this(lanes, new LaneFactory());
+    }
+
+    /**
+     * @param lanes         分区数量
+     * @param laneFactory   分区工厂, 参数为分区下标
+     */
+    public PartitionedReusableExecutor(int lanes, IntFunction<? extends ReusableThreadExecutor> laneFactory) {
+        if (lanes < 1)
+            throw new IllegalArgumentException("lanes < 1");
+        if (laneFactory == null)
+            throw new NullPointerException();
+        this.lanes = new ReusableThreadExecutor[lanes];
+        for (int i = 0; i < lanes; i++) {
+            this.lanes[i] = laneFactory.apply(i);
+        }
+    }
+
+    /**
+     * 按键提交任务, 同一个键的任务按提交顺序依次执行
+     *
+     * @param key   键
+     * @param task  任务
+     */
+    public void execute(Object key, Runnable task) {
+        lanes[laneOf(key)].execute(task);
+    }
+
+    /**
+     * 以任务自身作为键提交任务, 不保证任务之间的执行顺序
+     *
+     * @param task 任务
+     */
+    @Override
+    public void execute(Runnable task) {
+        execute(task, task);
+    }
+
+    /**
+     * 获取键所属的分区下标
+     *
+     * @param key 键
+     * @return 分区下标
+     */
+    public int laneOf(Object key) {
+        final int h = key == null ? 0 : key.hashCode();
+        // 混合高位, 避免哈希值低位分布不均
+        return ((h ^ (h >>> 16)) & Integer.MAX_VALUE) % lanes.length;
+    }
+
+    /**
+     * 获取分区数量
+     *
+     * @return 分区数量
+     */
+    public int getLanes() {
+        return lanes.length;
+    }
+
+    /**
+     * 获取指定的分区
+     *
+     * @param lane 分区下标
+     * @return 分区
+     */
+    public ReusableThreadExecutor getLane(int lane) {
+        return lanes[lane];
+    }
+
+    /**
+     * 获取指定分区中等待执行的任务数量
+     *
+     * @param lane 分区下标
+     * @return 等待执行的任务数量
+     */
+    public int getQueueSize(int lane) {
+        return lanes[lane].getQueueSize();
+    }
+
+    /**
+     * 获取所有分区中等待执行的任务数量
+     *
+     * @return 各分区等待执行的任务数量, 下标即分区下标
+     */
+    public int[] getQueueSizes() {
+        final int[] sizes = new int[lanes.length];
+        for (int i = 0; i < lanes.length; i++) {
+            sizes[i] = lanes[i].getQueueSize();
+        }
+        return sizes;
+    }
+
+    /**
+     * 关闭所有分区, 已提交的任务仍会执行
+     */
+    public void shutdown() {
+        for (ReusableThreadExecutor lane : lanes) {
+            lane.shutdown();
+        }
+    }
+
+    /**
+     * 立即关闭所有分区
+     *
+     * @return 所有分区中未执行的任务
+     */
+    public List<Runnable> shutdownNow() {
+        final List<Runnable> tasks = new ArrayList<>();
+        for (ReusableThreadExecutor lane : lanes) {
+            tasks.addAll(lane.shutdownNow());
+        }
+        return tasks;
+    }
+
+    /**
+     * 等待所有分区终止
+     *
+     * @param timeout   最长等待时间
+     * @param unit      时间单位
+     * @return 在超时前全部终止时返回真
+     * @throws InterruptedException 等待时被中断
+     */
+    public boolean awaitTermination(long timeout, TimeUnit unit) throws InterruptedException {
+        final long deadline = System.nanoTime() + unit.toNanos(timeout);
+        for (ReusableThreadExecutor lane : lanes) {
+            if (!lane.awaitTermination(deadline - System.nanoTime(), TimeUnit.NANOSECONDS))
+                return false;
+        }
+        return true;
+    }
+
+    /**
+     * 是否所有分区均已终止
+     *
+     * @return 全部终止时返回真
+     */
+    public boolean isTerminated() {
+        for (ReusableThreadExecutor lane : lanes) {
+            if (!lane.isTerminated())
+                return false;
+        }
+        return true;
+    }
+
+    /**
+     * 关闭所有分区并等待终止; 等待期间被中断时立即停止所有分区, 继续等待终止后恢复中断状态
+     */
+    @Override
+    public void close() {
+        shutdown();
+        boolean interrupted = false;
+        while (!isTerminated()) {
+            try {
+                awaitTermination(Long.MAX_VALUE, TimeUnit.NANOSECONDS);
+            } catch (InterruptedException e) {
+                if (!interrupted) {
+                    shutdownNow();
+                    interrupted = true;
+                }
+            }
+        }
+        if (interrupted)
+            Thread.currentThread().interrupt();
+    }
+
+    /**
+     * 默认的分区工厂
+     */
+    private static final class LaneFactory implements IntFunction<ReusableThreadExecutor> {
+
+        private final DefaultIndexCountingThreadFactory threadFactory =
+                new DefaultIndexCountingThreadFactory("partitioned-executor-%s", 0);
+
+        @Override
+        public ReusableThreadExecutor apply(int lane) {
+            return new DefaultReusableThreadExecutor(
+                    new MpscArrayBlockingQueue<>(DefaultReusableThreadExecutor.DEFAULT_QUEUE_CAPACITY),
+                    threadFactory, AbortRejectionHandler.instance());
+        }
+    }
+}
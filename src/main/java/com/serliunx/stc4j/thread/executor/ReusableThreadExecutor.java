@@ -31,4 +31,25 @@ public interface ReusableThreadExecutor extends ExecutorService {
      * @return  已执行的任务数量
      */
     long getTasksExecuted();
+
+    /**
+     * 获取当前队列中等待执行的任务数量
+     *
+     * @return  等待执行的任务数量, 实现不支持时返回 -1
+     */
+    default int getQueueSize() {
+        return -1;
+    }
+
+    /**
+     * 获取线程池的指标快照
+     * <p>
+     * 默认实现仅包含 {@link #getTasksExecuted()} 与 {@link #getQueueSize()}, 其余计数为 0, 直方图为空.
+     *
+     * @return  指标快照
+     */
+    default ReusableThreadExecutorMetrics metrics() {
+        final ReusableThreadExecutorMetrics.Histogram empty = new ReusableThreadExecutorMetrics.Histogram(new long[0]);
+        return new ReusableThreadExecutorMetrics(0, getTasksExecuted(), 0, 0, getQueueSize(), empty, empty, 0);
+    }
 }
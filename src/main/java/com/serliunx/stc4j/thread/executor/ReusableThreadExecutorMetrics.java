@@ -0,0 +1,170 @@
+package com.serliunx.stc4j.thread.executor;
+
+import com.serliunx.stc4j.thread.support.TimeHistogram;
+
+/**
+ * {@link ReusableThreadExecutor} 的指标快照
+ * <p>
+ * 各项指标分别读取, 彼此之间不保证是同一时刻的值.
+ *
+ * @author <a href="mailto:serliunx@yeah.net">SerLiunx</a>
+ * @version 1.0.5
+ * @since 2026/10/17
+ */
+public final class ReusableThreadExecutorMetrics {
+
+    private final long tasksSubmitted;
+    private final long tasksExecuted;
+    private final long tasksRejected;
+    private final long tasksFailed;
+    private final int queueSize;
+    private final Histogram queueTime;
+    private final Histogram runTime;
+    private final double idleRatio;
+
+    public ReusableThreadExecutorMetrics(long tasksSubmitted,
+                                         long tasksExecuted,
+                                         long tasksRejected,
+                                         long tasksFailed,
+                                         int queueSize,
+                                         Histogram queueTime,
+                                         Histogram runTime,
+                                         double idleRatio) {
+        this.tasksSubmitted = tasksSubmitted;
+        this.tasksExecuted = tasksExecuted;
+        this.tasksRejected = tasksRejected;
+        this.tasksFailed = tasksFailed;
+        this.queueSize = queueSize;
+        this.queueTime = queueTime;
+        this.runTime = runTime;
+        this.idleRatio = idleRatio;
+    }
+
+    /**
+     * @return 成功提交(入队)的任务数量
+     */
+    public long getTasksSubmitted() {
+        return tasksSubmitted;
+    }
+
+    /**
+     * @return 已执行(含执行失败)的任务数量
+     */
+    public long getTasksExecuted() {
+        return tasksExecuted;
+    }
+
+    /**
+     * @return 被拒绝的任务数量
+     */
+    public long getTasksRejected() {
+        return tasksRejected;
+    }
+
+    /**
+     * @return 执行时抛出异常的任务数量
+     */
+    public long getTasksFailed() {
+        return tasksFailed;
+    }
+
+    /**
+     * @return 当前队列中等待执行的任务数量
+     */
+    public int getQueueSize() {
+        return queueSize;
+    }
+
+    /**
+     * @return 任务在队列中等待时间的直方图, 未开启计时时为空直方图
+     */
+    public Histogram getQueueTime() {
+        return queueTime;
+    }
+
+    /**
+     * @return 任务执行耗时的直方图, 未开启计时时为空直方图
+     */
+    public Histogram getRunTime() {
+        return runTime;
+    }
+
+    /**
+     * @return 工作线程的空闲时间占比(0~1), 未开启计时时为 0
+     */
+    public double getIdleRatio() {
+        return idleRatio;
+    }
+
+    @Override
+    public String toString() {
+        return "ReusableThreadExecutorMetrics{" +
+                "tasksSubmitted=" + tasksSubmitted +
+                ", tasksExecuted=" + tasksExecuted +
+                ", tasksRejected=" + tasksRejected +
+                ", tasksFailed=" + tasksFailed +
+                ", queueSize=" + queueSize +
+                ", queueTime=" + queueTime +
+                ", runTime=" + runTime +
+                ", idleRatio=" + idleRatio +
+                '}';
+    }
+
+    /**
+     * 耗时直方图快照
+     *
+     * @see TimeHistogram
+     */
+    public static final class Histogram {
+
+        private final long[] counts;
+        private final long count;
+
+        public Histogram(long[] counts) {
+            this.counts = counts;
+            long count = 0;
+            for (long c : counts) {
+                count += c;
+            }
+            this.count = count;
+        }
+
+        /**
+         * @return 记录的总次数
+         */
+        public long getCount() {
+            return count;
+        }
+
+        /**
+         * @return 各区间的计数, 区间划分见 {@link TimeHistogram}
+         */
+        public long[] getCounts() {
+            return counts.clone();
+        }
+
+        /**
+         * 获取百分位数的近似值, 即该百分位所在区间的上限
+         *
+         * @param percentile 百分位(0~100)
+         * @return 近似值(纳秒), 没有记录时返回 0
+         */
+        public long getPercentile(double percentile) {
+            if (count == 0)
+                return 0;
+            final long target = (long) Math.ceil(count * Math.min(Math.max(percentile, 0), 100) / 100);
+            long seen = 0;
+            for (int i = 0; i < counts.length; i++) {
+                seen += counts[i];
+                if (seen >= target && seen > 0)
+                    return TimeHistogram.upperBound(i);
+            }
+            return TimeHistogram.upperBound(counts.length - 1);
+        }
+
+        @Override
+        public String toString() {
+            return "{count=" + count + ", p50<" + getPercentile(50) + "ns, p99<" + getPercentile(99) + "ns}";
+        }
+    }
+}
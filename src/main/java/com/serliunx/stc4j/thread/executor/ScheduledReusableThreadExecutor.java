@@ -0,0 +1,410 @@
+package com.serliunx.stc4j.thread.executor;
+
+import com.serliunx.stc4j.thread.support.DefaultIndexCountingThreadFactory;
+import com.serliunx.stc4j.thread.support.MpscArrayBlockingQueue;
+
+import java.util.ArrayDeque;
+import java.util.Queue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Delayed;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.RunnableScheduledFuture;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+
+/**
+ * 支持延时与周期任务的可重复使用单线程线程池
+ * <p>
+ * 延时任务由内置的哈希时间轮管理, 时间轮由工作线程在提取任务的间隙推进, 到期的任务与普通任务在
+ * 同一个工作线程中执行, 不需要额外的线程. 提交延时任务时仅将任务放入无锁的待登记队列(O(1)),
+ * 由工作线程登记至时间轮(O(1)).
+ * <p>
+ * 任务的执行精度为时间轮的刻度(默认 1 毫秒), 到期后至多延迟一个刻度执行.
+ * 线程池关闭后不再接受新的延时任务, 周期任务不再重复; 工作线程在队列清空后终止, 届时尚未执行的延时任务将被取消.
+ *
+ * @author <a href="mailto:serliunx@yeah.net">SerLiunx</a>
+ * @version 1.0.5
+ * @since 2026/10/17
+ */
+public class ScheduledReusableThreadExecutor extends DefaultReusableThreadExecutor implements ScheduledExecutorService {
+
+    /**
+     * 默认的时间轮槽位数量
+     */
+    public static final int DEFAULT_WHEEL_SIZE = 512;
+
+    /**
+     * 计划唤醒时间的特殊值: 工作线程无限期等待
+     */
+    private static final long IDLE = Long.MAX_VALUE;
+    /**
+     * 计划唤醒时间的特殊值: 已有提交线程发出唤醒
+     */
+    private static final long WAKE_PENDING = Long.MIN_VALUE;
+
+    /**
+     * 时间轮; 父类构造时工作线程即已启动, 因此通过 volatile 字段安全发布
+     */
+    private volatile HashedWheel wheel;
+
+    /**
+     * 全参构造器
+     *
+     * @param queue             任务队列
+     * @param threadFactory     线程工厂
+     * @param rejectionHandler  拒绝策略
+     * @param tickDuration      时间轮刻度
+     * @param unit              刻度的时间单位
+     * @param wheelSize         时间轮槽位数量, 将向上取整为 2 的幂
+     */
+    public ScheduledReusableThreadExecutor(BlockingQueue<Runnable> queue,
+                                           ThreadFactory threadFactory,
+                                           TaskRejectionHandler rejectionHandler,
+                                           long tickDuration,
+                                           TimeUnit unit,
+                                           int wheelSize) {
+        super(queue, threadFactory, rejectionHandler);
+        if (tickDuration <= 0)
+            throw new IllegalArgumentException("tickDuration <= 0");
+        if (wheelSize < 1 || wheelSize > 1 << 30)
+            throw new IllegalArgumentException("wheelSize: " + wheelSize);
+        this.wheel = new HashedWheel(unit.toNanos(tickDuration), wheelSize);
+        // 工作线程可能已在无限期等待, 唤醒使其感知时间轮
+        wakeUp();
+    }
+
+    /**
+     * 使用指定容量的 {@link MpscArrayBlockingQueue}, 刻度为 1 毫秒
+     *
+     * @param capacity 队列容量
+     */
+    public ScheduledReusableThreadExecutor(int capacity) {
+        this(new MpscArrayBlockingQueue<>(capacity),
+                new DefaultIndexCountingThreadFactory("scheduled-thread-pool-executor", 1),
+                AbortRejectionHandler.instance(), 1, MILLISECONDS, DEFAULT_WHEEL_SIZE);
+    }
+
+    /**
+     * 使用默认容量的 {@link MpscArrayBlockingQueue}, 刻度为 1 毫秒
+     */
+    public ScheduledReusableThreadExecutor() {
+        this(DEFAULT_QUEUE_CAPACITY);
+    }
+
+    @Override
+    public ScheduledFuture<?> schedule(Runnable command, long delay, TimeUnit unit) {
+        if (command == null)
+            throw new NullPointerException();
+        return schedule(new ScheduledTask<Void>(command, null, triggerTime(delay, unit), 0));
+    }
+
+    @Override
+    public <V> ScheduledFuture<V> schedule(Callable<V> callable, long delay, TimeUnit unit) {
+        if (callable == null)
+            throw new NullPointerException();
+        return schedule(new ScheduledTask<>(callable, triggerTime(delay, unit), 0));
+    }
+
+    @Override
+    public ScheduledFuture<?> scheduleAtFixedRate(Runnable command, long initialDelay, long period, TimeUnit unit) {
+        if (command == null)
+            throw new NullPointerException();
+        if (period <= 0)
+            throw new IllegalArgumentException("period <= 0");
+        return schedule(new ScheduledTask<Void>(command, null, triggerTime(initialDelay, unit), unit.toNanos(period)));
+    }
+
+    @Override
+    public ScheduledFuture<?> scheduleWithFixedDelay(Runnable command, long initialDelay, long delay, TimeUnit unit) {
+        if (command == null)
+            throw new NullPointerException();
+        if (delay <= 0)
+            throw new IllegalArgumentException("delay <= 0");
+        return schedule(new ScheduledTask<Void>(command, null, triggerTime(initialDelay, unit), -unit.toNanos(delay)));
+    }
+
+    /**
+     * 获取尚未执行的延时任务数量(含待登记的任务)
+     *
+     * @return 延时任务数量
+     */
+    public int getScheduledTaskCount() {
+        final HashedWheel wheel = this.wheel;
+        return wheel == null ? 0 : wheel.size + wheel.incoming.size();
+    }
+
+    @Override
+    protected Runnable pollDueTask() {
+        final HashedWheel wheel = this.wheel;
+        if (wheel == null)
+            return null;
+        wheel.advance(System.nanoTime());
+        return wheel.expired.poll();
+    }
+
+    @Override
+    protected long nanosUntilNextDueTask() {
+        final HashedWheel wheel = this.wheel;
+        if (wheel == null)
+            return -1;
+        return wheel.nanosUntilNextTick(System.nanoTime());
+    }
+
+    @Override
+    protected void terminated() {
+        final HashedWheel wheel = this.wheel;
+        if (wheel != null)
+            wheel.cancelAll();
+    }
+
+    /**
+     * 提交延时任务
+     */
+    private <V> ScheduledFuture<V> schedule(ScheduledTask<V> task) {
+        if (isShutdown())
+            throw new RejectedExecutionException("Executor has been shut down");
+        final HashedWheel wheel = this.wheel;
+        wheel.incoming.offer(task);
+        // 检查与登记之间线程池可能已关闭, 终止时的取消也可能已经完成; 仍能撤回时拒绝,
+        // 否则任务已由工作线程登记, 将被执行或由终止时的取消统一处理
+        if (isShutdown() && wheel.incoming.remove(task))
+            throw new RejectedExecutionException("Executor has been shut down");
+        // 新任务早于工作线程计划的唤醒时间时, 唤醒工作线程重新计算
+        final long wakeAt = wheel.wakeAt;
+        if (wakeAt != WAKE_PENDING &&
+                (wakeAt == IDLE || task.deadline - wakeAt < 0)) {
+            // 标记唤醒已发出, 避免并发提交时重复唤醒
+            wheel.wakeAt = WAKE_PENDING;
+            wakeUp();
+        }
+        return task;
+    }
+
+    private static long triggerTime(long delay, TimeUnit unit) {
+        return System.nanoTime() + unit.toNanos(Math.max(delay, 0));
+    }
+
+    /**
+     * 哈希时间轮, 除 {@link #incoming} 与 {@link #wakeAt} 外仅由工作线程访问
+     */
+    private final class HashedWheel {
+
+        /**
+         * 待登记的任务
+         */
+        private final Queue<ScheduledTask<?>> incoming = new ConcurrentLinkedQueue<>();
+        /**
+         * 已到期、等待执行的任务
+         */
+        private final Queue<ScheduledTask<?>> expired = new ArrayDeque<>();
+        /**
+         * 槽位, 每个槽位为单向链表的头部
+         */
+        private final ScheduledTask<?>[] buckets;
+        /**
+         * 槽位掩码
+         */
+        private final int mask;
+        /**
+         * 刻度(纳秒)
+         */
+        private final long tickNanos;
+        /**
+         * 时间轮起始时间
+         */
+        private final long startTime;
+        /**
+         * 下一个待处理的刻度
+         */
+        private long tick;
+        /**
+         * 时间轮中的任务数量
+         */
+        private volatile int size;
+        /**
+         * 工作线程计划的唤醒时间
+         */
+        private volatile long wakeAt = IDLE;
+
+        HashedWheel(long tickNanos, int wheelSize) {
+            final int size = wheelSize == 1 ? 1 : Integer.highestOneBit(wheelSize - 1) << 1;
+            this.buckets = new ScheduledTask<?>[size];
+            this.mask = size - 1;
+            this.tickNanos = tickNanos;
+            this.startTime = System.nanoTime();
+        }
+
+        /**
+         * 登记待登记的任务, 并处理截至当前时间的所有刻度
+         */
+        void advance(long now) {
+            transfer();
+            if (size == 0) {
+                // 时间轮为空时直接跳至当前刻度, 避免空转
+                tick = Math.max(tick, (now - startTime) / tickNanos);
+                return;
+            }
+            while (now - (startTime + (tick + 1) * tickNanos) >= 0) {
+                expire((int) (tick & mask));
+                tick++;
+            }
+        }
+
+        /**
+         * 计算工作线程的等待时间, 并发布计划的唤醒时间
+         */
+        long nanosUntilNextTick(long now) {
+            if (!expired.isEmpty())
+                return 0;
+            if (size == 0) {
+                wakeAt = IDLE;
+                // 发布唤醒时间后再次确认, 与提交线程的登记互相可见
+                return incoming.isEmpty() ? -1 : 0;
+            }
+            final long next = startTime + (tick + 1) * tickNanos;
+            wakeAt = next;
+            if (!incoming.isEmpty())
+                return 0;
+            return Math.max(next - now, 0);
+        }
+
+        /**
+         * 插入任务, 仅由工作线程调用
+         */
+        void insert(ScheduledTask<?> task) {
+            final long calculated = Math.max((task.deadline - startTime) / tickNanos, tick);
+            task.rounds = (calculated - tick) / buckets.length;
+            final int index = (int) (calculated & mask);
+            task.next = buckets[index];
+            buckets[index] = task;
+            size++;
+        }
+
+        /**
+         * 取消所有未执行的任务
+         */
+        void cancelAll() {
+            transfer();
+            for (int i = 0; i < buckets.length; i++) {
+                for (ScheduledTask<?> task = buckets[i]; task != null; task = task.next) {
+                    task.cancel(false);
+                }
+                buckets[i] = null;
+            }
+            ScheduledTask<?> task;
+            while ((task = expired.poll()) != null) {
+                task.cancel(false);
+            }
+            size = 0;
+        }
+
+        private void transfer() {
+            ScheduledTask<?> task;
+            while ((task = incoming.poll()) != null) {
+                if (!task.isCancelled())
+                    insert(task);
+            }
+        }
+
+        /**
+         * 处理一个槽位: 本轮到期的任务移至待执行队列, 其余任务的轮数减一
+         */
+        private void expire(int index) {
+            ScheduledTask<?> remaining = null;
+            ScheduledTask<?> task = buckets[index];
+            while (task != null) {
+                final ScheduledTask<?> next = task.next;
+                task.next = null;
+                if (task.isCancelled()) {
+                    size--;
+                } else if (task.rounds <= 0) {
+                    size--;
+                    expired.offer(task);
+                } else {
+                    task.rounds--;
+                    task.next = remaining;
+                    remaining = task;
+                }
+                task = next;
+            }
+            buckets[index] = remaining;
+        }
+    }
+
+    /**
+     * 延时任务
+     */
+    private final class ScheduledTask<V> extends FutureTask<V> implements RunnableScheduledFuture<V> {
+
+        /**
+         * 到期时间
+         */
+        private long deadline;
+        /**
+         * 周期: 0 为单次任务, 正数为固定频率, 负数为固定延迟
+         */
+        private final long period;
+        /**
+         * 剩余轮数, 仅由工作线程访问
+         */
+        private long rounds;
+        /**
+         * 同一槽位中的下一个任务, 仅由工作线程访问
+         */
+        private ScheduledTask<?> next;
+
+        ScheduledTask(Runnable runnable, V result, long deadline, long period) {
+            super(runnable, result);
+            this.deadline = deadline;
+            this.period = period;
+        }
+
+        ScheduledTask(Callable<V> callable, long deadline, long period) {
+            super(callable);
+            this.deadline = deadline;
+            this.period = period;
+        }
+
+        @Override
+        public boolean isPeriodic() {
+            return period != 0;
+        }
+
+        @Override
+        public long getDelay(TimeUnit unit) {
+            return unit.convert(deadline - System.nanoTime(), NANOSECONDS);
+        }
+
+        @Override
+        public int compareTo(Delayed other) {
+            if (other == this)
+                return 0;
+            return Long.compare(getDelay(NANOSECONDS), other.getDelay(NANOSECONDS));
+        }
+
+        @Override
+        public void run() {
+            if (!isPeriodic()) {
+                super.run();
+                return;
+            }
+            if (!runAndReset())
+                return;
+            if (isShutdown()) {
+                cancel(false);
+                return;
+            }
+            // 在工作线程中直接登记下一次执行
+            deadline = period > 0 ? deadline + period : System.nanoTime() - period;
+            wheel.insert(this);
+        }
+    }
+}
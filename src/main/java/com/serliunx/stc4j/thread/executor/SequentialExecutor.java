@@ -0,0 +1,228 @@
+package com.serliunx.stc4j.thread.executor;
+
+import com.serliunx.stc4j.thread.support.DiscardAwareRunnable;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+
+/**
+ * 顺序执行器
+ * <p>
+ * 将提交的任务放入无锁邮箱, 再借助底层执行器(通常为共享线程池)依次取出执行.
+ * 同一个顺序执行器中的任务严格按照提交顺序(FIFO)、互斥地执行; 多个顺序执行器
+ * 可共享同一个底层执行器并行运行.
+ * <p>
+ * 任务抛出异常时, 剩余的任务会被重新调度, 异常则继续抛给底层执行器.
+ * <p>
+ * 底层执行器拒绝邮箱处理逻辑时:
+ * <ul>
+ *     <li> 提交任务时被拒绝(抛出异常): 撤回本次提交的任务并抛出异常, 不会在之后执行
+ *     <li> 重新调度时被拒绝(抛出异常): 由当前线程继续处理邮箱
+ *     <li> 被丢弃且收到 {@link DiscardAwareRunnable#discarded()} 通知(本框架的丢弃型拒绝策略及溢出策略均会通知):
+ *     重新调度时由当前线程继续处理邮箱; 其余情况下释放调度标记, 邮箱中的任务由下一次提交重新调度.
+ *     提交任务的线程(可能持有调用方的锁)从不处理邮箱
+ * </ul>
+ * 底层执行器静默丢弃任务且不通知(如 {@link java.util.concurrent.ThreadPoolExecutor.DiscardPolicy})时无法感知,
+ * 邮箱将停止处理, 应避免使用此类执行器.
+ *
+ * @author <a href="mailto:serliunx@yeah.net">SerLiunx</a>
+ * @version 1.0.5
+ * @since 2026/10/17
+ */
+public final class SequentialExecutor implements Executor {
+
+    /**
+     * 单次调度最多执行的任务数量, 超出后让出底层执行器的线程, 避免单个邮箱长期占用
+     */
+    private static final int MAX_TASKS_PER_DRAIN = 256;
+
+    private static final AtomicIntegerFieldUpdater<Drain> DRAIN_STATE =
+            AtomicIntegerFieldUpdater.newUpdater(Drain.class, "state");
+
+    /**
+     * 底层执行器
+     */
+    private final Executor delegate;
+    /**
+     * 邮箱
+     */
+    private final Queue<Runnable> mailbox = new ConcurrentLinkedQueue<>();
+    /**
+     * 是否已调度(或正在执行)邮箱
+     */
+    private final AtomicBoolean scheduled = new AtomicBoolean(false);
+
+    /**
+     * @param delegate 底层执行器
+     */
+    public SequentialExecutor(Executor delegate) {
+        if (delegate == null)
+            throw new NullPointerException();
+        this.delegate = delegate;
+    }
+
+    @Override
+    public void execute(Runnable command) {
+        if (command == null)
+            throw new NullPointerException();
+        mailbox.offer(command);
+        if (!scheduled.compareAndSet(false, true))
+            return;
+        final boolean handedOff;
+        try {
+            handedOff = schedule();
+        } catch (Throwable t) {
+            // 底层执行器拒绝时撤回本次任务并释放调度标记, 剩余任务由下一次提交重新尝试
+            mailbox.remove(command);
+            scheduled.set(false);
+            throw t;
+        }
+        if (!handedOff)
+            // 被丢弃: 不在提交线程中处理邮箱, 由下一次提交重新调度
+            scheduled.set(false);
+    }
+
+    /**
+     * 获取底层执行器
+     *
+     * @return 底层执行器
+     */
+    public Executor getDelegate() {
+        return delegate;
+    }
+
+    /**
+     * 获取邮箱中等待执行的任务数量
+     *
+     * @return 任务数量
+     */
+    public int getPendingTasks() {
+        return mailbox.size();
+    }
+
+    /**
+     * 将新的邮箱处理逻辑提交至底层执行器, 调用前需持有调度标记
+     *
+     * @return 调度标记已移交给处理逻辑时返回真; 处理逻辑在提交过程中被丢弃时返回假, 调用方仍持有调度标记
+     */
+    private boolean schedule() {
+        final Drain drain = new Drain();
+        try {
+            delegate.execute(drain);
+        } catch (Throwable t) {
+            DRAIN_STATE.set(drain, Drain.DISCARDED);
+            throw t;
+        }
+        return drain.submitted();
+    }
+
+    /**
+     * 依次执行邮箱中的任务, 调用前需持有调度标记
+     * <p>
+     * 任务抛出的第一个异常在邮箱移交(或处理完毕)后重新抛出, 其余异常作为其抑制异常.
+     */
+    private void drain() {
+        Throwable failure = null;
+        boolean remaining;
+        do {
+            try {
+                remaining = runTasks();
+            } catch (Throwable t) {
+                if (failure == null)
+                    failure = t;
+                else
+                    failure.addSuppressed(t);
+                remaining = true;
+            }
+        } while (remaining && !reschedule());
+        if (failure instanceof Error)
+            throw (Error) failure;
+        if (failure != null)
+            throw (RuntimeException) failure;
+    }
+
+    /**
+     * 执行邮箱中的任务, 至多 {@link #MAX_TASKS_PER_DRAIN} 个
+     *
+     * @return 仍持有调度标记(邮箱可能还有任务)时返回真; 邮箱已空且释放了调度标记时返回假
+     */
+    private boolean runTasks() {
+        for (int i = 0; i < MAX_TASKS_PER_DRAIN; i++) {
+            final Runnable task = mailbox.poll();
+            if (task == null) {
+                scheduled.set(false);
+                // 释放标记与其他线程入队之间存在竞争, 需再次确认
+                if (mailbox.isEmpty() ||
+                        !scheduled.compareAndSet(false, true))
+                    return false;
+                continue;
+            }
+            task.run();
+        }
+        return true;
+    }
+
+    /**
+     * 在仍持有调度标记时, 将剩余任务重新提交至底层执行器
+     *
+     * @return 已移交或释放调度标记时返回真; 底层执行器拒绝或丢弃时返回假, 由当前线程继续处理
+     */
+    private boolean reschedule() {
+        if (mailbox.isEmpty()) {
+            scheduled.set(false);
+            if (mailbox.isEmpty() ||
+                    !scheduled.compareAndSet(false, true))
+                return true;
+        }
+        try {
+            return schedule();
+        } catch (RuntimeException e) {
+            return false;
+        }
+    }
+
+    /**
+     * 一次提交的邮箱处理逻辑
+     * <p>
+     * 提交线程、执行线程与丢弃通知之间通过状态决定由谁持有调度标记: 提交过程中被丢弃时调度标记留给提交线程,
+     * 提交完成后被丢弃时由丢弃通知释放调度标记.
+     */
+    private final class Drain implements DiscardAwareRunnable {
+
+        private static final int NEW = 0;
+        private static final int SUBMITTED = 1;
+        private static final int RUNNING = 2;
+        private static final int DISCARDED = 3;
+
+        // 由外部类的字段更新器访问, 不能为私有
+        volatile int state = NEW;
+
+        /**
+         * 提交完成
+         *
+         * @return 调度标记已移交(已提交或已开始执行)时返回真; 提交过程中已被丢弃时返回假
+         */
+        private boolean submitted() {
+            return DRAIN_STATE.compareAndSet(this, NEW, SUBMITTED) || state == RUNNING;
+        }
+
+        @Override
+        public void run() {
+            if (DRAIN_STATE.compareAndSet(this, NEW, RUNNING) ||
+                    DRAIN_STATE.compareAndSet(this, SUBMITTED, RUNNING))
+                drain();
+        }
+
+        @Override
+        public void discarded() {
+            if (DRAIN_STATE.compareAndSet(this, NEW, DISCARDED))
+                return;
+            if (DRAIN_STATE.compareAndSet(this, SUBMITTED, DISCARDED))
+                // 提交完成后被丢弃, 剩余任务由下一次提交重新调度
+                scheduled.set(false);
+        }
+    }
+}
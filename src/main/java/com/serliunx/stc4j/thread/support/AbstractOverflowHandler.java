@@ -0,0 +1,129 @@
+package com.serliunx.stc4j.thread.support;
+
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 溢出策略的公共计数逻辑
+ *
+ * @author <a href="mailto:serliunx@yeah.net">SerLiunx</a>
+ * @version 1.0.5
+ * @since 2026/10/17
+ */
+public abstract class AbstractOverflowHandler implements OverflowHandler {
+
+    /**
+     * 溢出次数
+     */
+    private final AtomicLong counter = new AtomicLong(0);
+    /**
+     * 丢弃数量
+     */
+    private final AtomicLong dropped = new AtomicLong(0);
+
+    /**
+     * 最后一次被拒绝的任务
+     */
+    private volatile Runnable last = null;
+
+    @Override
+    public long getCount() {
+        return counter.get();
+    }
+
+    @Override
+    public long getDroppedCount() {
+        return dropped.get();
+    }
+
+    @Override
+    public Runnable getLastRejectedTask() {
+        return last;
+    }
+
+    @Override
+    public void rejectedExecution(Runnable r, ThreadPoolExecutor executor) {
+        last = r;
+        counter.incrementAndGet();
+        if (executor.isShutdown()) {
+            drop(r);
+            return;
+        }
+        overflow(r, executor);
+        // 判定溢出与暂存之间工作线程可能已取空队列, 此后不会再有任务完成来归还暂存的任务
+        requeue(executor);
+    }
+
+    @Override
+    public void afterExecute(ThreadPoolExecutor executor) {
+        requeue(executor);
+    }
+
+    /**
+     * 线程池终止时仍暂存的任务, 以及 {@link ThreadPoolExecutor#shutdownNow()} 之后才归还而滞留于工作队列中的任务,
+     * 均不会再被执行, 逐个计入丢弃数量
+     */
+    @Override
+    public void terminated(ThreadPoolExecutor executor) {
+        final BlockingQueue<Runnable> queue = executor.getQueue();
+        Runnable task;
+        while ((task = queue.poll()) != null)
+            drop(task);
+        while ((task = poll()) != null)
+            drop(task);
+    }
+
+    /**
+     * 将暂存的任务按顺序归还给线程池的工作队列, 直至队列已满或没有暂存的任务
+     *
+     * @param executor 线程池
+     */
+    private void requeue(ThreadPoolExecutor executor) {
+        if (getPendingCount() == 0)
+            return;
+        final BlockingQueue<Runnable> queue = executor.getQueue();
+        Runnable task;
+        while (queue.remainingCapacity() > 0 &&
+                (task = poll()) != null) {
+            if (!queue.offer(task)) {
+                pushBack(task);
+                return;
+            }
+        }
+    }
+
+    /**
+     * 取出下一个暂存的任务, 不暂存任务的策略无需实现
+     *
+     * @return 暂存的任务, 没有时返回 null
+     */
+    protected Runnable poll() {
+        return null;
+    }
+
+    /**
+     * 放回未能归还给线程池的任务
+     *
+     * @param task 任务
+     */
+    protected void pushBack(Runnable task) {}
+
+    /**
+     * 记录一个被丢弃的任务, 并通知 {@link DiscardAwareRunnable}
+     *
+     * @param task 被丢弃的任务
+     */
+    protected final void drop(Runnable task) {
+        dropped.incrementAndGet();
+        DiscardAwareRunnable.notifyDiscarded(task);
+    }
+
+    /**
+     * 处理溢出的任务, 此时线程池仍在运行
+     *
+     * @param r         任务
+     * @param executor  线程池
+     */
+    protected abstract void overflow(Runnable r, ThreadPoolExecutor executor);
+}
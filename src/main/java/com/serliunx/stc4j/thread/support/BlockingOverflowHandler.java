@@ -0,0 +1,60 @@
+package com.serliunx.stc4j.thread.support;
+
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 溢出策略: 阻塞提交线程直至队列出现空位
+ * <p>
+ * 超过指定的等待时间(或等待时被中断)后任务将被丢弃, 并计入 {@link #getDroppedCount()}.
+ *
+ * @author <a href="mailto:serliunx@yeah.net">SerLiunx</a>
+ * @version 1.0.5
+ * @since 2026/10/17
+ */
+public final class BlockingOverflowHandler extends AbstractOverflowHandler {
+
+    /**
+     * 最长等待时间(纳秒)
+     */
+    private final long timeoutNanos;
+    /**
+     * 累计阻塞时间(纳秒)
+     */
+    private final AtomicLong blockedNanos = new AtomicLong(0);
+
+    /**
+     * @param timeout   最长等待时间
+     * @param unit      时间单位
+     */
+    public BlockingOverflowHandler(long timeout, TimeUnit unit) {
+        if (timeout < 0)
+            throw new IllegalArgumentException("timeout < 0");
+        this.timeoutNanos = unit.toNanos(timeout);
+    }
+
+    /**
+     * 获取提交线程的累计阻塞时间
+     *
+     * @return 累计阻塞时间(纳秒)
+     */
+    public long getBlockedNanos() {
+        return blockedNanos.get();
+    }
+
+    @Override
+    protected void overflow(Runnable r, ThreadPoolExecutor executor) {
+        final long start = System.nanoTime();
+        boolean accepted = false;
+        try {
+            accepted = executor.getQueue().offer(r, timeoutNanos, TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            blockedNanos.addAndGet(System.nanoTime() - start);
+        }
+        if (!accepted)
+            drop(r);
+    }
+}
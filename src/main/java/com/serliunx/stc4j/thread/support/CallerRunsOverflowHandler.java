@@ -0,0 +1,20 @@
+package com.serliunx.stc4j.thread.support;
+
+import java.util.concurrent.ThreadPoolExecutor;
+
+/**
+ * 溢出策略: 由提交任务的线程直接执行
+ * <p>
+ * {@link #getCount()} 即为调用方代为执行的次数; 线程池关闭后提交的任务将被丢弃.
+ *
+ * @author <a href="mailto:serliunx@yeah.net">SerLiunx</a>
+ * @version 1.0.5
+ * @since 2026/10/17
+ */
+public final class CallerRunsOverflowHandler extends AbstractOverflowHandler {
+
+    @Override
+    protected void overflow(Runnable r, ThreadPoolExecutor executor) {
+        r.run();
+    }
+}
@@ -0,0 +1,87 @@
+package com.serliunx.stc4j.thread.support;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ThreadPoolExecutor;
+
+/**
+ * 溢出策略: 暂存并归并
+ * <p>
+ * 溢出的 {@link KeyedRunnable} 按键暂存, 同一个键仅保留最新提交的任务(位置仍为首次暂存时的位置),
+ * 被覆盖的旧任务计入 {@link #getCoalescedCount()} 并通知 {@link DiscardAwareRunnable}; 非 {@link KeyedRunnable} 的任务不参与归并.
+ * 线程池中的任务执行完毕后以及任务溢出后, 暂存的任务会归还给线程池的工作队列; 线程池终止时仍暂存的任务计入丢弃数量.
+ *
+ * @author <a href="mailto:serliunx@yeah.net">SerLiunx</a>
+ * @version 1.0.5
+ * @since 2026/10/17
+ */
+public class CoalescingOverflowHandler extends AbstractOverflowHandler {
+
+    /**
+     * 暂存的任务
+     */
+    private final Map<Object, Runnable> overflow = new LinkedHashMap<>();
+    /**
+     * 暂存中的任务数量, 用于无锁地快速判断
+     */
+    private volatile int pending = 0;
+    /**
+     * 被归并(覆盖)的任务数量
+     */
+    private long coalesced = 0;
+
+    @Override
+    public int getPendingCount() {
+        return pending;
+    }
+
+    /**
+     * 获取被归并(覆盖)的任务数量
+     *
+     * @return 被归并的任务数量
+     */
+    public synchronized long getCoalescedCount() {
+        return coalesced;
+    }
+
+    @Override
+    protected synchronized void overflow(Runnable r, ThreadPoolExecutor executor) {
+        final Runnable replaced = overflow.put(keyOf(r), r);
+        pending = overflow.size();
+        if (replaced != null) {
+            coalesced++;
+            DiscardAwareRunnable.notifyDiscarded(replaced);
+        }
+    }
+
+    /**
+     * 取出下一个暂存的任务
+     */
+    @Override
+    protected synchronized Runnable poll() {
+        final Iterator<Runnable> iterator = overflow.values().iterator();
+        if (!iterator.hasNext())
+            return null;
+        final Runnable task = iterator.next();
+        iterator.remove();
+        pending = overflow.size();
+        return task;
+    }
+
+    /**
+     * 放回未能归还的任务; 期间若已有同键的新任务则以新任务为准
+     */
+    @Override
+    protected synchronized void pushBack(Runnable task) {
+        if (overflow.putIfAbsent(keyOf(task), task) != null) {
+            coalesced++;
+            DiscardAwareRunnable.notifyDiscarded(task);
+        }
+        pending = overflow.size();
+    }
+
+    private static Object keyOf(Runnable r) {
+        return r instanceof KeyedRunnable ? ((KeyedRunnable) r).getKey() : r;
+    }
+}
@@ -0,0 +1,44 @@
+package com.serliunx.stc4j.thread.support;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * 允许多个线程同时写入的耗时直方图(纳秒)
+ * <p>
+ * 区间划分与 {@link TimeHistogram} 一致. 记录时对所在区间执行一次原子自增, 不加锁;
+ * 不同耗时落在不同区间, 因此多个线程同时记录时的竞争通常较小.
+ *
+ * @author <a href="mailto:serliunx@yeah.net">SerLiunx</a>
+ * @version 1.0.5
+ * @since 2026/10/17
+ */
+public final class ConcurrentTimeHistogram {
+
+    /**
+     * 各区间的计数
+     */
+    private final AtomicLongArray counts = new AtomicLongArray(TimeHistogram.BUCKETS);
+
+    /**
+     * 记录一次耗时
+     *
+     * @param nanos 耗时(纳秒), 负数按 0 记录
+     */
+    public void record(long nanos) {
+        final int bucket = nanos <= 0 ? 0 : TimeHistogram.BUCKETS - Long.numberOfLeadingZeros(nanos);
+        counts.getAndIncrement(bucket);
+    }
+
+    /**
+     * 获取各区间计数的快照
+     *
+     * @return 快照, 下标即区间下标
+     */
+    public long[] snapshot() {
+        final long[] snapshot = new long[TimeHistogram.BUCKETS];
+        for (int i = 0; i < TimeHistogram.BUCKETS; i++) {
+            snapshot[i] = counts.get(i);
+        }
+        return snapshot;
+    }
+}
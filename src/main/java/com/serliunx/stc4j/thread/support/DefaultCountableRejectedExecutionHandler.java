@@ -36,5 +36,6 @@ public final class DefaultCountableRejectedExecutionHandler implements Countable
     public void rejectedExecution(Runnable r, ThreadPoolExecutor executor) {
         last = r;
         counter.incrementAndGet();
+        DiscardAwareRunnable.notifyDiscarded(r);
     }
 }
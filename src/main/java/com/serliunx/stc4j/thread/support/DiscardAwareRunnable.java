@@ -0,0 +1,29 @@
+package com.serliunx.stc4j.thread.support;
+
+/**
+ * 可感知被丢弃的任务
+ * <p>
+ * 本框架中会丢弃任务的拒绝策略及溢出策略在丢弃任务时回调 {@link #discarded()}, 使提交方无需依赖超时推断即可得知
+ * 任务不会再被执行. 回调在丢弃任务的线程中执行, 可能是提交任务的线程, 实现应尽快返回且不得抛出异常.
+ *
+ * @author <a href="mailto:serliunx@yeah.net">SerLiunx</a>
+ * @version 1.0.5
+ * @since 2026/10/17
+ */
+public interface DiscardAwareRunnable extends Runnable {
+
+    /**
+     * 任务被丢弃, 之后不会再被执行
+     */
+    void discarded();
+
+    /**
+     * 通知任务已被丢弃, 任务不是 {@link DiscardAwareRunnable} 时不做处理
+     *
+     * @param task 被丢弃的任务
+     */
+    static void notifyDiscarded(Runnable task) {
+        if (task instanceof DiscardAwareRunnable)
+            ((DiscardAwareRunnable) task).discarded();
+    }
+}
@@ -0,0 +1,324 @@
+package com.serliunx.stc4j.thread.support;
+
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+import java.util.concurrent.atomic.AtomicLongFieldUpdater;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * 哈希时间轮定时器
+ * <p>
+ * 适用于数量巨大、频繁重置且大多不会真正到期的超时(如状态超时). 定时任务 {@link Timeout} 由调用方创建并反复使用:
+ * 设置或重置超时仅更新到期时间, 任务不在时间轮中时才以无锁的方式登记, 均为 O(1) 且不产生新的对象;
+ * 时间轮在对应槽位到期时才检查任务的最新到期时间, 尚未到期的任务被移至新的槽位, 已取消的任务被移出.
+ * <p>
+ * 所有定时任务由同一个后台线程推进, 该线程在首次设置超时时启动. 到期回调 {@link Timeout#expired()} 在该线程中执行,
+ * 不应阻塞; 需要执行耗时逻辑时应转交给其他执行器. 到期精度为一个刻度.
+ *
+ * @author <a href="mailto:serliunx@yeah.net">SerLiunx</a>
+ * @version 1.0.5
+ * @since 2026/10/17
+ */
+public final class HashedWheelTimer implements AutoCloseable {
+
+    /**
+     * 默认的刻度(毫秒)
+     */
+    public static final long DEFAULT_TICK_MILLIS = 10;
+    /**
+     * 默认的槽位数量
+     */
+    public static final int DEFAULT_WHEEL_SIZE = 1024;
+
+    /**
+     * 到期时间的特殊值: 未设置超时
+     */
+    private static final long DISARMED = Long.MIN_VALUE;
+
+    /**
+     * 刻度(纳秒)
+     */
+    private final long tickNanos;
+    /**
+     * 槽位, 每个槽位为单向链表的头部, 仅由定时器线程访问
+     */
+    private final Timeout[] buckets;
+    /**
+     * 槽位掩码
+     */
+    private final int mask;
+    /**
+     * 定时器线程
+     */
+    private final Thread thread;
+    /**
+     * 待登记的定时任务(无锁栈)
+     */
+    private final AtomicReference<Timeout> incoming = new AtomicReference<>();
+    /**
+     * 定时器线程是否已启动
+     */
+    private volatile boolean started;
+    /**
+     * 定时器是否已停止
+     */
+    private volatile boolean stopped;
+    /**
+     * 时间轮起始时间
+     */
+    private long startTime;
+    /**
+     * 下一个待处理的刻度, 仅由定时器线程访问
+     */
+    private long tick;
+
+    /**
+     * @param threadFactory 线程工厂
+     * @param tickDuration  刻度
+     * @param unit          刻度的时间单位
+     * @param wheelSize     槽位数量, 将向上取整为 2 的幂
+     */
+    public HashedWheelTimer(ThreadFactory threadFactory, long tickDuration, TimeUnit unit, int wheelSize) {
+        if (threadFactory == null || unit == null)
+            throw new NullPointerException();
+        if (tickDuration <= 0)
+            throw new IllegalArgumentException("tickDuration <= 0");
+        if (wheelSize < 1 || wheelSize > 1 << 30)
+            throw new IllegalArgumentException("wheelSize: " + wheelSize);
+        final int size = wheelSize == 1 ? 1 : Integer.highestOneBit(wheelSize - 1) << 1;
+        this.tickNanos = unit.toNanos(tickDuration);
+        this.buckets = new Timeout[size];
+        this.mask = size - 1;
+        this.thread = threadFactory.newThread(this::run);
+    }
+
+    /**
+     * 使用默认的刻度与槽位数量, 定时器线程为守护线程
+     *
+     * @param name 定时器线程名称
+     */
+    public HashedWheelTimer(String name) {
+        this(r -> {
+            final Thread t = new Thread(r, name);
+            t.setDaemon(true);
+            return t;
+        }, DEFAULT_TICK_MILLIS, TimeUnit.MILLISECONDS, DEFAULT_WHEEL_SIZE);
+    }
+
+    /**
+     * 获取默认的共享定时器
+     * <p>
+     * 刻度为 {@value #DEFAULT_TICK_MILLIS} 毫秒, 定时器线程为守护线程, 随首次使用启动.
+     *
+     * @return 默认的共享定时器
+     */
+    public static HashedWheelTimer getDefault() {
+        return DefaultHolder.INSTANCE;
+    }
+
+    /**
+     * 设置(或重置)超时, 超时已设置时以本次的到期时间为准; 定时器停止后不做处理
+     *
+     * @param timeout 定时任务
+     * @param delay   延迟
+     * @param unit    延迟的时间单位
+     */
+    public void schedule(Timeout timeout, long delay, TimeUnit unit) {
+        if (stopped)
+            return;
+        long deadline = System.nanoTime() + unit.toNanos(Math.max(delay, 0));
+        if (deadline == DISARMED)
+            deadline++;
+        Timeout.DEADLINE.set(timeout, deadline);
+        if (Timeout.QUEUED.compareAndSet(timeout, 0, 1))
+            push(timeout);
+        if (!started)
+            start();
+    }
+
+    /**
+     * 取消超时, 定时任务仍会在原槽位到期时才移出时间轮
+     *
+     * @param timeout 定时任务
+     */
+    public void cancel(Timeout timeout) {
+        Timeout.DEADLINE.set(timeout, DISARMED);
+    }
+
+    /**
+     * 停止定时器, 未到期的超时不再触发
+     */
+    @Override
+    public void close() {
+        stopped = true;
+        LockSupport.unpark(thread);
+    }
+
+    /**
+     * 获取刻度
+     *
+     * @param unit 时间单位
+     * @return 刻度
+     */
+    public long getTickDuration(TimeUnit unit) {
+        return unit.convert(tickNanos, TimeUnit.NANOSECONDS);
+    }
+
+    private synchronized void start() {
+        if (started)
+            return;
+        startTime = System.nanoTime();
+        started = true;
+        thread.start();
+    }
+
+    /**
+     * 将定时任务压入待登记栈
+     */
+    private void push(Timeout timeout) {
+        Timeout head;
+        do {
+            head = incoming.get();
+            timeout.nextIncoming = head;
+        } while (!incoming.compareAndSet(head, timeout));
+    }
+
+    /**
+     * 定时器线程的主循环
+     */
+    private void run() {
+        while (!stopped) {
+            final long deadline = startTime + (tick + 1) * tickNanos;
+            long wait;
+            while ((wait = deadline - System.nanoTime()) > 0) {
+                LockSupport.parkNanos(this, wait);
+                if (stopped)
+                    return;
+            }
+            transfer();
+            // 先推进刻度, 处理过程中重新放置的定时任务不会落入正在处理的槽位
+            final long current = tick++;
+            expire(current);
+        }
+    }
+
+    /**
+     * 登记待登记栈中的定时任务
+     */
+    private void transfer() {
+        Timeout timeout = incoming.getAndSet(null);
+        while (timeout != null) {
+            final Timeout next = timeout.nextIncoming;
+            timeout.nextIncoming = null;
+            place(timeout);
+            timeout = next;
+        }
+    }
+
+    /**
+     * 按最新的到期时间放入对应的槽位, 已取消的定时任务被移出时间轮
+     */
+    private void place(Timeout timeout) {
+        final long deadline = timeout.deadline;
+        if (deadline == DISARMED) {
+            release(timeout);
+            return;
+        }
+        final int index = (int) (Math.max((deadline - startTime) / tickNanos, tick) & mask);
+        timeout.next = buckets[index];
+        buckets[index] = timeout;
+    }
+
+    /**
+     * 处理一个槽位: 触发已到期的定时任务, 其余任务按最新的到期时间重新放置
+     */
+    private void expire(long current) {
+        final int index = (int) (current & mask);
+        Timeout timeout = buckets[index];
+        buckets[index] = null;
+        while (timeout != null) {
+            final Timeout next = timeout.next;
+            timeout.next = null;
+            final long deadline = timeout.deadline;
+            if (deadline == DISARMED) {
+                release(timeout);
+            } else if ((deadline - startTime) / tickNanos > current) {
+                // 尚未到期(未到轮次或已被重置), 放回时间轮
+                place(timeout);
+            } else if (Timeout.DEADLINE.compareAndSet(timeout, deadline, DISARMED)) {
+                release(timeout);
+                try {
+                    timeout.expired();
+                } catch (Throwable t) {
+                    final Thread thread = Thread.currentThread();
+                    thread.getUncaughtExceptionHandler().uncaughtException(thread, t);
+                }
+            } else {
+                // 到期的同时被重置
+                place(timeout);
+            }
+            timeout = next;
+        }
+    }
+
+    /**
+     * 将定时任务移出时间轮; 与此同时被重新设置的超时由定时器线程直接登记
+     */
+    private void release(Timeout timeout) {
+        Timeout.QUEUED.set(timeout, 0);
+        if (timeout.deadline != DISARMED &&
+                Timeout.QUEUED.compareAndSet(timeout, 0, 1))
+            place(timeout);
+    }
+
+    /**
+     * 可重复使用的定时任务
+     * <p>
+     * 同一个定时任务同一时刻至多有一个有效的超时, 重复设置时以最后一次为准.
+     */
+    public abstract static class Timeout {
+
+        private static final AtomicLongFieldUpdater<Timeout> DEADLINE =
+                AtomicLongFieldUpdater.newUpdater(Timeout.class, "deadline");
+        private static final AtomicIntegerFieldUpdater<Timeout> QUEUED =
+                AtomicIntegerFieldUpdater.newUpdater(Timeout.class, "queued");
+
+        /**
+         * 到期时间
+         */
+        private volatile long deadline = DISARMED;
+        /**
+         * 是否位于时间轮或待登记栈中
+         */
+        private volatile int queued;
+        /**
+         * 同一槽位中的下一个定时任务, 仅由定时器线程访问
+         */
+        private Timeout next;
+        /**
+         * 待登记栈中的下一个定时任务
+         */
+        private Timeout nextIncoming;
+
+        /**
+         * 超时是否已设置且尚未到期或取消
+         *
+         * @return 已设置时返回真
+         */
+        public final boolean isArmed() {
+            return deadline != DISARMED;
+        }
+
+        /**
+         * 到期回调, 在定时器线程中执行
+         */
+        protected abstract void expired();
+    }
+
+    private static final class DefaultHolder {
+
+        private static final HashedWheelTimer INSTANCE = new HashedWheelTimer("state-timer");
+    }
+}
@@ -0,0 +1,20 @@
+package com.serliunx.stc4j.thread.support;
+
+/**
+ * 带有归并键的任务
+ * <p>
+ * 用于 {@link CoalescingOverflowHandler}: 溢出时键相同的任务仅保留最新提交的一个.
+ *
+ * @author <a href="mailto:serliunx@yeah.net">SerLiunx</a>
+ * @version 1.0.5
+ * @since 2026/10/17
+ */
+public interface KeyedRunnable extends Runnable {
+
+    /**
+     * 获取归并键
+     *
+     * @return 归并键
+     */
+    Object getKey();
+}
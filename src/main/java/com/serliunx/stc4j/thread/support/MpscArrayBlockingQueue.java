@@ -0,0 +1,344 @@
+package com.serliunx.stc4j.thread.support;
+
+import java.util.AbstractQueue;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.LockSupport;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 基于数组的多生产者单消费者有界阻塞队列
+ * <p>
+ * 生产者之间仅通过 CAS 竞争下标, 入队不加锁、不分配节点; 消费者仅在队列为空时挂起,
+ * 生产者只在消费者挂起时才执行唤醒.
+ * <p>
+ * 为单消费者场景(如 {@link com.serliunx.stc4j.thread.executor.ReusableThreadExecutor} 的工作线程)设计:
+ * 出队操作之间通过内部锁互斥, 多个消费者可以安全使用但无法获得性能收益. 阻塞的出队操作在内部锁之外挂起,
+ * 不影响其他线程的非阻塞出队与 {@link #peek()}; 同一时刻仅一个阻塞的消费者登记等待, 其余阻塞的消费者排队于另一把锁.
+ * 两把锁均为 {@link ReentrantLock}, 在虚拟线程中挂起时不会固定其载体线程.
+ * 队列已满时 {@link #put(Object)} 与限时 {@link #offer(Object, long, TimeUnit)} 以退避的方式等待空位.
+ * 迭代器为弱一致的快照, 不支持删除.
+ *
+ * @author <a href="mailto:serliunx@yeah.net">SerLiunx</a>
+ * @version 1.0.5
+ * @since 2026/10/17
+ */
+public final class MpscArrayBlockingQueue<E> extends AbstractQueue<E> implements BlockingQueue<E> {
+
+    /**
+     * 消费者挂起前自旋检查的次数
+     */
+    private static final int SPIN_TRIES = 128;
+    /**
+     * 队列已满时生产者的最长退避时间(纳秒)
+     */
+    private static final long MAX_BACKOFF_NANOS = TimeUnit.MICROSECONDS.toNanos(100);
+
+    /**
+     * 元素
+     */
+    private final AtomicReferenceArray<E> buffer;
+    /**
+     * 容量(2 的幂)
+     */
+    private final int capacity;
+    /**
+     * 下标掩码
+     */
+    private final int mask;
+    /**
+     * 生产者下标: 下一个可写入的位置
+     */
+    private final AtomicLong producerIndex = new AtomicLong(0);
+    /**
+     * 消费者下标: 下一个可读取的位置, 仅由持有消费者锁的线程写入
+     */
+    private final AtomicLong consumerIndex = new AtomicLong(0);
+    /**
+     * 生产者下标上限的缓存, 减少对消费者下标的读取
+     */
+    private volatile long producerLimit;
+    /**
+     * 挂起中的消费者, 由唤醒它的生产者清除, 保证每次挂起仅唤醒一次
+     */
+    private final AtomicReference<Thread> waiter = new AtomicReference<>();
+    /**
+     * 消费者锁, 保护出队操作, 持有期间不挂起
+     */
+    private final ReentrantLock consumerLock = new ReentrantLock();
+    /**
+     * 阻塞消费者锁, 保证同一时刻仅一个消费者登记为 {@link #waiter}
+     */
+    private final ReentrantLock takeLock = new ReentrantLock();
+
+    /**
+     * @param capacity 容量, 将向上取整为 2 的幂
+     */
+    public MpscArrayBlockingQueue(int capacity) {
+        if (capacity < 1 || capacity > 1 << 30)
+            throw new IllegalArgumentException("capacity: " + capacity);
+        this.capacity = capacity == 1 ? 1 : Integer.highestOneBit(capacity - 1) << 1;
+        this.mask = this.capacity - 1;
+        this.buffer = new AtomicReferenceArray<>(this.capacity);
+        this.producerLimit = this.capacity;
+    }
+
+    /**
+     * 获取队列容量
+     *
+     * @return 容量
+     */
+    public int capacity() {
+        return capacity;
+    }
+
+    @Override
+    public boolean offer(E e) {
+        if (e == null)
+            throw new NullPointerException();
+        long limit = producerLimit;
+        long index;
+        do {
+            index = producerIndex.get();
+            if (index >= limit) {
+                limit = consumerIndex.get() + capacity;
+                if (index >= limit)
+                    return false;
+                producerLimit = limit;
+            }
+        } while (!producerIndex.compareAndSet(index, index + 1));
+        buffer.lazySet((int) index & mask, e);
+
+        final Thread w = waiter.get();
+        if (w != null &&
+                waiter.compareAndSet(w, null))
+            LockSupport.unpark(w);
+        return true;
+    }
+
+    @Override
+    public void put(E e) throws InterruptedException {
+        long backoff = 1;
+        while (!offer(e)) {
+            backoff = await(backoff);
+        }
+    }
+
+    @Override
+    public boolean offer(E e, long timeout, TimeUnit unit) throws InterruptedException {
+        final long deadline = System.nanoTime() + unit.toNanos(timeout);
+        long backoff = 1;
+        while (!offer(e)) {
+            if (deadline - System.nanoTime() <= 0)
+                return false;
+            backoff = await(backoff);
+        }
+        return true;
+    }
+
+    @Override
+    public E poll() {
+        consumerLock.lock();
+        try {
+            return doPoll();
+        } finally {
+            consumerLock.unlock();
+        }
+    }
+
+    @Override
+    public E take() throws InterruptedException {
+        takeLock.lockInterruptibly();
+        try {
+            final Thread current = Thread.currentThread();
+            for (;;) {
+                E e = spinPoll();
+                if (e != null)
+                    return e;
+                if (Thread.interrupted())
+                    throw new InterruptedException();
+                waiter.set(current);
+                // 登记后再次确认, 避免与生产者的唤醒错过
+                e = poll();
+                if (e != null) {
+                    waiter.set(null);
+                    return e;
+                }
+                LockSupport.park(this);
+                waiter.set(null);
+            }
+        } finally {
+            takeLock.unlock();
+        }
+    }
+
+    @Override
+    public E poll(long timeout, TimeUnit unit) throws InterruptedException {
+        final long deadline = System.nanoTime() + unit.toNanos(timeout);
+        if (!takeLock.tryLock(timeout, unit))
+            return null;
+        try {
+            final Thread current = Thread.currentThread();
+            for (;;) {
+                E e = spinPoll();
+                if (e != null)
+                    return e;
+                if (Thread.interrupted())
+                    throw new InterruptedException();
+                final long nanos = deadline - System.nanoTime();
+                if (nanos <= 0)
+                    return null;
+                waiter.set(current);
+                e = poll();
+                if (e != null) {
+                    waiter.set(null);
+                    return e;
+                }
+                LockSupport.parkNanos(this, nanos);
+                waiter.set(null);
+            }
+        } finally {
+            takeLock.unlock();
+        }
+    }
+
+    @Override
+    public E peek() {
+        for (;;) {
+            consumerLock.lock();
+            try {
+                final long index = consumerIndex.get();
+                final E e = buffer.get((int) index & mask);
+                if (e != null || index == producerIndex.get())
+                    return e;
+            } finally {
+                consumerLock.unlock();
+            }
+            // 生产者已占位但尚未写入, 在锁外等待写入完成
+            Thread.yield();
+        }
+    }
+
+    @Override
+    public int drainTo(Collection<? super E> c) {
+        return drainTo(c, Integer.MAX_VALUE);
+    }
+
+    @Override
+    public int drainTo(Collection<? super E> c, int maxElements) {
+        if (c == null)
+            throw new NullPointerException();
+        if (c == this)
+            throw new IllegalArgumentException();
+        consumerLock.lock();
+        try {
+            int n = 0;
+            E e;
+            while (n < maxElements &&
+                    (e = doPoll()) != null) {
+                c.add(e);
+                n++;
+            }
+            return n;
+        } finally {
+            consumerLock.unlock();
+        }
+    }
+
+    @Override
+    public int size() {
+        for (;;) {
+            final long before = consumerIndex.get();
+            final long producer = producerIndex.get();
+            if (before == consumerIndex.get())
+                return (int) Math.min(producer - before, capacity);
+        }
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return consumerIndex.get() == producerIndex.get();
+    }
+
+    @Override
+    public int remainingCapacity() {
+        return capacity - size();
+    }
+
+    @Override
+    public Iterator<E> iterator() {
+        final long consumer = consumerIndex.get();
+        final long producer = producerIndex.get();
+        final List<E> snapshot = new ArrayList<>((int) Math.min(producer - consumer, capacity));
+        for (long i = consumer; i < producer; i++) {
+            final E e = buffer.get((int) i & mask);
+            if (e != null)
+                snapshot.add(e);
+        }
+        final Iterator<E> iterator = snapshot.iterator();
+        return new Iterator<E>() {
+            @Override
+            public boolean hasNext() {
+                return iterator.hasNext();
+            }
+
+            @Override
+            public E next() {
+                return iterator.next();
+            }
+        };
+    }
+
+    /**
+     * 出队, 调用前需持有消费者锁
+     */
+    private E doPoll() {
+        final long index = consumerIndex.get();
+        final int offset = (int) index & mask;
+        E e = buffer.get(offset);
+        if (e == null) {
+            if (index == producerIndex.get())
+                return null;
+            // 生产者已占位但尚未写入, 写入即将完成
+            while ((e = buffer.get(offset)) == null)
+                Thread.yield();
+        }
+        buffer.lazySet(offset, null);
+        consumerIndex.lazySet(index + 1);
+        return e;
+    }
+
+    /**
+     * 挂起前短暂自旋出队, 减少持续负载下的挂起与唤醒
+     */
+    private E spinPoll() {
+        consumerLock.lock();
+        try {
+            E e;
+            for (int i = 0; i < SPIN_TRIES; i++) {
+                if ((e = doPoll()) != null)
+                    return e;
+            }
+            return null;
+        } finally {
+            consumerLock.unlock();
+        }
+    }
+
+    /**
+     * 队列已满时的退避等待
+     */
+    private static long await(long backoff) throws InterruptedException {
+        if (Thread.interrupted())
+            throw new InterruptedException();
+        LockSupport.parkNanos(backoff);
+        return Math.min(backoff << 1, MAX_BACKOFF_NANOS);
+    }
+}
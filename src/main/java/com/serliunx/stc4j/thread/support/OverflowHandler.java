@@ -0,0 +1,50 @@
+package com.serliunx.stc4j.thread.support;
+
+import java.util.concurrent.ThreadPoolExecutor;
+
+/**
+ * 线程池溢出策略
+ * <p>
+ * 在 {@link CountableRejectedExecutionHandler} 的基础上额外统计最终被丢弃的任务数量以及暂存中的任务数量,
+ * 使任务的丢失可被观测.
+ * <p>
+ * 通过 {@link com.serliunx.stc4j.state.support.ExecutorUtils#adaptiveThreadPool} 创建的线程池会在每个任务
+ * 执行完毕后回调 {@link #afterExecute(ThreadPoolExecutor)}, 供暂存型策略将任务归还给线程池;
+ * 终止时回调 {@link #terminated(ThreadPoolExecutor)}.
+ *
+ * @author <a href="mailto:serliunx@yeah.net">SerLiunx</a>
+ * @version 1.0.5
+ * @since 2026/10/17
+ */
+public interface OverflowHandler extends CountableRejectedExecutionHandler {
+
+    /**
+     * 获取最终被丢弃(未执行)的任务数量
+     *
+     * @return 被丢弃的任务数量
+     */
+    long getDroppedCount();
+
+    /**
+     * 获取当前暂存中等待归还给线程池的任务数量
+     *
+     * @return 暂存中的任务数量
+     */
+    default int getPendingCount() {
+        return 0;
+    }
+
+    /**
+     * 线程池中的任务执行完毕后的回调
+     *
+     * @param executor 线程池
+     */
+    default void afterExecute(ThreadPoolExecutor executor) {}
+
+    /**
+     * 线程池终止时的回调, 供暂存型策略处理不会再被执行的任务
+     *
+     * @param executor 线程池
+     */
+    default void terminated(ThreadPoolExecutor executor) {}
+}
@@ -0,0 +1,72 @@
+package com.serliunx.stc4j.thread.support;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.ThreadPoolExecutor;
+
+/**
+ * 溢出策略: 暂存至无界的溢出队列
+ * <p>
+ * 线程池中的任务执行完毕后以及任务溢出后, 溢出队列中的任务会按提交顺序归还给线程池的工作队列.
+ * 线程池终止时仍暂存的任务不会再被执行, 计入丢弃数量.
+ *
+ * @author <a href="mailto:serliunx@yeah.net">SerLiunx</a>
+ * @version 1.0.5
+ * @since 2026/10/17
+ */
+public class SpillingOverflowHandler extends AbstractOverflowHandler {
+
+    /**
+     * 溢出队列
+     */
+    private final Deque<Runnable> overflow = new ArrayDeque<>();
+    /**
+     * 暂存中的任务数量, 用于无锁地快速判断
+     */
+    private volatile int pending = 0;
+    /**
+     * 暂存任务数量的峰值
+     */
+    private int maxPending = 0;
+
+    @Override
+    public int getPendingCount() {
+        return pending;
+    }
+
+    /**
+     * 获取暂存任务数量的峰值
+     *
+     * @return 峰值
+     */
+    public synchronized int getMaxPendingCount() {
+        return maxPending;
+    }
+
+    @Override
+    protected synchronized void overflow(Runnable r, ThreadPoolExecutor executor) {
+        overflow.addLast(r);
+        pending = overflow.size();
+        if (pending > maxPending)
+            maxPending = pending;
+    }
+
+    /**
+     * 取出下一个暂存的任务
+     */
+    @Override
+    protected synchronized Runnable poll() {
+        final Runnable task = overflow.pollFirst();
+        pending = overflow.size();
+        return task;
+    }
+
+    /**
+     * 将未能归还的任务放回暂存队列头部
+     */
+    @Override
+    protected synchronized void pushBack(Runnable task) {
+        overflow.addFirst(task);
+        pending = overflow.size();
+    }
+}
@@ -0,0 +1,59 @@
+package com.serliunx.stc4j.thread.support;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * 以 2 的幂划分区间的耗时直方图(纳秒)
+ * <p>
+ * 第 i 个区间统计耗时位于 [2^(i-1), 2^i) 纳秒的次数(第 0 个区间仅统计 0), 记录与读取均无锁;
+ * 设计为单线程写入、任意线程读取.
+ *
+ * @author <a href="mailto:serliunx@yeah.net">SerLiunx</a>
+ * @version 1.0.5
+ * @since 2026/10/17
+ */
+public final class TimeHistogram {
+
+    /**
+     * 区间数量
+     */
+    public static final int BUCKETS = 64;
+
+    /**
+     * 各区间的计数
+     */
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+
+    /**
+     * 记录一次耗时, 仅允许单个线程调用
+     *
+     * @param nanos 耗时(纳秒), 负数按 0 记录
+     */
+    public void record(long nanos) {
+        final int bucket = nanos <= 0 ? 0 : BUCKETS - Long.numberOfLeadingZeros(nanos);
+        counts.lazySet(bucket, counts.get(bucket) + 1);
+    }
+
+    /**
+     * 获取各区间计数的快照
+     *
+     * @return 快照, 下标即区间下标
+     */
+    public long[] snapshot() {
+        final long[] snapshot = new long[BUCKETS];
+        for (int i = 0; i < BUCKETS; i++) {
+            snapshot[i] = counts.get(i);
+        }
+        return snapshot;
+    }
+
+    /**
+     * 获取区间的上限(不含)
+     *
+     * @param bucket 区间下标
+     * @return 区间上限(纳秒)
+     */
+    public static long upperBound(int bucket) {
+        return bucket >= BUCKETS - 1 ? Long.MAX_VALUE : 1L << bucket;
+    }
+}
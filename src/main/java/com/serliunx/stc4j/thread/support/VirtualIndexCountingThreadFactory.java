@@ -0,0 +1,52 @@
+package com.serliunx.stc4j.thread.support;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 下标计数的虚拟线程工厂, 需要 JDK 21 及以上版本的运行时
+ *
+ * @author <a href="mailto:serliunx@yeah.net">SerLiunx</a>
+ * @version 1.0.5
+ * @since 2026/10/17
+ * @see VirtualThreads
+ */
+public final class VirtualIndexCountingThreadFactory implements IndexCountingThreadFactory {
+
+    /**
+     * 名称模板, 如: common-task-%s
+     */
+    private final String namePattern;
+    /**
+     * 线程序号
+     */
+    private final AtomicInteger index;
+
+    /**
+     * 全参构造器
+     *
+     * @param namePattern   名称模板
+     * @param startIndex    下标起始值
+     * @throws UnsupportedOperationException 当前运行时不支持虚拟线程
+     */
+    public VirtualIndexCountingThreadFactory(String namePattern, int startIndex) {
+        if (!VirtualThreads.isSupported())
+            throw new UnsupportedOperationException("当前运行时不支持虚拟线程(需要 JDK 21 及以上版本)");
+        this.namePattern = namePattern;
+        this.index = new AtomicInteger(startIndex);
+    }
+
+    @Override
+    public String getPattern() {
+        return namePattern;
+    }
+
+    @Override
+    public int getNextIndex() {
+        return index.get();
+    }
+
+    @Override
+    public Thread newThread(Runnable r) {
+        return VirtualThreads.newThread(String.format(namePattern, index.getAndIncrement()), r);
+    }
+}
@@ -0,0 +1,137 @@
+package com.serliunx.stc4j.thread.support;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * 虚拟线程支持
+ * <p>
+ * 通过反射探测运行时是否支持虚拟线程(JDK 21+), 使本框架在 Java 8 下编译的同时可在新版本 JDK 中使用虚拟线程.
+ *
+ * @author <a href="mailto:serliunx@yeah.net">SerLiunx</a>
+ * @version 1.0.5
+ * @since 2026/10/17
+ */
+public final class VirtualThreads {
+
+    private VirtualThreads() {throw new UnsupportedOperationException();}
+
+    /**
+     * Thread.ofVirtual()
+     */
+    private static final MethodHandle OF_VIRTUAL;
+    /**
+     * Thread.Builder#name(String)
+     */
+    private static final MethodHandle NAME;
+    /**
+     * Thread.Builder#unstarted(Runnable)
+     */
+    private static final MethodHandle UNSTARTED;
+    /**
+     * Thread#isVirtual()
+     */
+    private static final MethodHandle IS_VIRTUAL;
+    /**
+     * Executors.newThreadPerTaskExecutor(ThreadFactory)
+     */
+    private static final MethodHandle THREAD_PER_TASK_EXECUTOR;
+
+    static {
+        MethodHandle ofVirtual = null, name = null, unstarted = null, isVirtual = null, perTask = null;
+        try {
+            final MethodHandles.Lookup lookup = MethodHandles.publicLookup();
+            final Class<?> builder = Class.forName("java.lang.Thread$Builder");
+            final Class<?> ofVirtualBuilder = Class.forName("java.lang.Thread$Builder$OfVirtual");
+            ofVirtual = lookup.findStatic(Thread.class, "ofVirtual", MethodType.methodType(ofVirtualBuilder));
+            name = lookup.findVirtual(builder, "name", MethodType.methodType(builder, String.class));
+            unstarted = lookup.findVirtual(builder, "unstarted", MethodType.methodType(Thread.class, Runnable.class));
+            isVirtual = lookup.findVirtual(Thread.class, "isVirtual", MethodType.methodType(boolean.class));
+            perTask = lookup.findStatic(java.util.concurrent.Executors.class, "newThreadPerTaskExecutor",
+                    MethodType.methodType(ExecutorService.class, ThreadFactory.class));
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            // 当前运行时不支持虚拟线程
+            ofVirtual = null;
+        }
+        OF_VIRTUAL = ofVirtual;
+        NAME = name;
+        UNSTARTED = unstarted;
+        IS_VIRTUAL = isVirtual;
+        THREAD_PER_TASK_EXECUTOR = perTask;
+    }
+
+    /**
+     * 当前运行时是否支持虚拟线程
+     *
+     * @return 支持时返回真, 否则返回假
+     */
+    public static boolean isSupported() {
+        return OF_VIRTUAL != null;
+    }
+
+    /**
+     * 判断指定线程是否为虚拟线程
+     *
+     * @param thread 线程
+     * @return 为虚拟线程时返回真; 不支持虚拟线程的运行时始终返回假
+     */
+    public static boolean isVirtual(Thread thread) {
+        if (!isSupported())
+            return false;
+        try {
+            return (boolean) IS_VIRTUAL.invoke(thread);
+        } catch (Throwable t) {
+            throw rethrow(t);
+        }
+    }
+
+    /**
+     * 创建一个未启动的虚拟线程
+     *
+     * @param name  线程名称
+     * @param task  任务
+     * @return 虚拟线程
+     * @throws UnsupportedOperationException 当前运行时不支持虚拟线程
+     */
+    public static Thread newThread(String name, Runnable task) {
+        checkSupported();
+        try {
+            final Object builder = NAME.invoke(OF_VIRTUAL.invoke(), name);
+            return (Thread) UNSTARTED.invoke(builder, task);
+        } catch (Throwable t) {
+            throw rethrow(t);
+        }
+    }
+
+    /**
+     * 创建为每个任务启动一个新线程的执行器, 配合虚拟线程工厂使用
+     *
+     * @param threadFactory 线程工厂
+     * @return 执行器
+     * @throws UnsupportedOperationException 当前运行时不支持虚拟线程
+     */
+    public static ExecutorService newThreadPerTaskExecutor(ThreadFactory threadFactory) {
+        checkSupported();
+        try {
+            return (ExecutorService) THREAD_PER_TASK_EXECUTOR.invoke(threadFactory);
+        } catch (Throwable t) {
+            throw rethrow(t);
+        }
+    }
+
+    private static void checkSupported() {
+        if (!isSupported())
+            throw new UnsupportedOperationException("当前运行时不支持虚拟线程(需要 JDK 21 及以上版本)");
+    }
+
+    private static RuntimeException rethrow(Throwable t) {
+        if (t instanceof RuntimeException)
+            return (RuntimeException) t;
+        if (t instanceof Error)
+            throw (Error) t;
+        return new IllegalStateException(t);
+    }
+}
@@ -0,0 +1,112 @@
+package com.serliunx.stc4j.collection;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertThrows;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * {@link AliasWeightedRandomObjectPool} 单元测试
+ *
+ * @author <a href="mailto:serliunx@yeah.net">SerLiunx</a>
+ * @since 2026/10/17
+ */
+public class AliasWeightedRandomObjectPoolTest {
+
+    @Test
+    public void testRandomDistributionReflectsWeights() {
+        WeightedRandomObjectPool<String> pool = new AliasWeightedRandomObjectPool<>();
+        pool.add("A", 1);
+        pool.add("B", 3);
+        pool.add("C", 6);
+
+        Map<String, Integer> counts = draw(pool, new Random(67890L), 20000);
+
+        assertTrue(counts.get("A") > 1400 && counts.get("A") < 2600);
+        assertTrue(counts.get("B") > 4800 && counts.get("B") < 7200);
+        assertTrue(counts.get("C") > 9800 && counts.get("C") < 12200);
+
+        counts.clear();
+        for (int i = 0; i < 20000; i++) {
+            counts.merge(pool.get(), 1, Integer::sum);
+        }
+        assertTrue(counts.get("A") > 1400 && counts.get("A") < 2600);
+        assertTrue(counts.get("C") > 9800 && counts.get("C") < 12200);
+    }
+
+    @Test
+    public void testRebuildsAfterMutation() {
+        WeightedRandomObjectPool<String> pool = new AliasWeightedRandomObjectPool<>();
+        pool.add("A", 5);
+        pool.add("B", 5);
+        Random random = new Random(1L);
+        assertEquals(2, draw(pool, random, 1000).size());
+
+        pool.remove("A");
+        assertEquals(Collections.singleton("B"), draw(pool, random, 1000).keySet());
+
+        for (int i = 0; i < 100; i++) {
+            pool.add("C" + i, 1);
+        }
+        pool.add("D", 900);
+        Map<String, Integer> counts = draw(pool, random, 20000);
+        assertTrue(counts.get("D") > 17000 && counts.get("D") < 19000);
+        assertFalse(counts.containsKey("A"));
+    }
+
+    @Test
+    public void testGetRejectsInvalidInputAndEmptyPool() {
+        WeightedRandomObjectPool<String> pool = new AliasWeightedRandomObjectPool<>();
+
+        assertThrows(IllegalArgumentException.class, () -> pool.add("A", 0));
+        assertThrows(IllegalArgumentException.class, () -> pool.get(null));
+        assertThrows(IllegalArgumentException.class, () -> pool.get(new Random(1)));
+    }
+
+    @Test
+    public void testCollectionOperationsSynchronizeWeights() {
+        WeightedRandomObjectPool<String> pool = new AliasWeightedRandomObjectPool<>();
+        pool.add("A", 1);
+        pool.add("B", 2);
+        pool.add("C", 3);
+        pool.add("A", 4);
+
+        assertEquals(5, pool.getWeight("A"));
+        assertArrayEquals(new Object[]{"A", "B", "C", "A"}, pool.toArray());
+
+        assertTrue(pool.remove("B"));
+        assertEquals(8, pool.totalWeight());
+
+        assertTrue(pool.addAll(Arrays.asList("D", "E")));
+        assertTrue(pool.retainAll(Arrays.asList("A", "D")));
+        assertEquals(6, pool.totalWeight());
+        assertEquals(Arrays.asList("A", "A", "D"), Arrays.asList(pool.toArray(new String[0])));
+
+        assertTrue(pool.removeAll(Collections.singleton("A")));
+        assertEquals(1, pool.totalWeight());
+
+        Iterator<String> iterator = pool.iterator();
+        assertEquals("D", iterator.next());
+        iterator.remove();
+        assertTrue(pool.isEmpty());
+        assertEquals(0, pool.totalWeight());
+    }
+
+    private static Map<String, Integer> draw(WeightedRandomObjectPool<String> pool, Random random, int iterations) {
+        Map<String, Integer> counts = new HashMap<>();
+        for (int i = 0; i < iterations; i++) {
+            counts.merge(pool.get(random), 1, Integer::sum);
+        }
+        return counts;
+    }
+}
@@ -0,0 +1,118 @@
+package com.serliunx.stc4j.collection;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertThrows;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * {@link ConcurrentWeightedRandomObjectPool} 单元测试
+ *
+ * @author <a href="mailto:serliunx@yeah.net">SerLiunx</a>
+ * @since 2026/10/17
+ */
+public class ConcurrentWeightedRandomObjectPoolTest {
+
+    @Test
+    public void testUpdateWeightMergesEntriesAndRedistributes() {
+        ConcurrentWeightedRandomObjectPool<String> pool = new ConcurrentWeightedRandomObjectPool<>();
+        pool.add("A", 1);
+        pool.add("B", 1);
+        pool.add("A", 2);
+
+        assertEquals(3, pool.updateWeight("A", 9));
+        assertEquals(0, pool.updateWeight("C", 10));
+        assertArrayEquals(new Object[]{"A", "B", "C"}, pool.toArray());
+        assertEquals(20, pool.totalWeight());
+
+        Map<String, Integer> counts = new HashMap<>();
+        for (int i = 0; i < 20000; i++) {
+            counts.merge(pool.get(), 1, Integer::sum);
+        }
+        assertTrue(counts.get("A") > 8000 && counts.get("A") < 10000);
+        assertTrue(counts.get("B") > 600 && counts.get("B") < 1400);
+    }
+
+    @Test
+    public void testCollectionOperationsAndSnapshotIterator() {
+        ConcurrentWeightedRandomObjectPool<String> pool = new ConcurrentWeightedRandomObjectPool<>();
+        assertThrows(IllegalArgumentException.class, () -> pool.get(1L));
+
+        pool.add("A", 1);
+        pool.add("B", 2);
+        pool.add("C", 3);
+        Iterator<String> iterator = pool.iterator();
+
+        assertTrue(pool.remove("B"));
+        assertTrue(pool.addAll(Arrays.asList("D", "E")));
+        assertTrue(pool.retainAll(Arrays.asList("A", "C", "D")));
+        assertTrue(pool.removeAll(Collections.singleton("A")));
+        assertEquals(Arrays.asList("C", "D"), Arrays.asList(pool.toArray(new String[0])));
+        assertEquals(4, pool.totalWeight());
+
+        // 迭代器仍遍历创建时的快照
+        assertEquals("A", iterator.next());
+        assertEquals("B", iterator.next());
+        assertEquals("C", iterator.next());
+        assertThrows(UnsupportedOperationException.class, iterator::remove);
+
+        pool.clear();
+        assertTrue(pool.isEmpty());
+        assertEquals(0, pool.totalWeight());
+    }
+
+    @Test
+    public void testReadersNeverObserveHalfUpdatedPool() throws Exception {
+        ConcurrentWeightedRandomObjectPool<Integer> pool = new ConcurrentWeightedRandomObjectPool<>();
+        for (int i = 0; i < 64; i++) {
+            pool.add(i, 1 + i);
+        }
+        int readers = 4;
+        ExecutorService executor = Executors.newFixedThreadPool(readers);
+        AtomicBoolean running = new AtomicBoolean(true);
+        CountDownLatch started = new CountDownLatch(readers);
+        try {
+            Future<?>[] futures = new Future<?>[readers];
+            for (int r = 0; r < readers; r++) {
+                futures[r] = executor.submit(() -> {
+                    started.countDown();
+                    while (running.get()) {
+                        int value = pool.get();
+                        if (value < 0 || value >= 64)
+                            throw new AssertionError(value);
+                    }
+                });
+            }
+            assertTrue(started.await(3, TimeUnit.SECONDS));
+            for (int i = 0; i < 2000; i++) {
+                int object = i % 64;
+                pool.updateWeight(object, 1 + (i % 7));
+                if (i % 3 == 0) {
+                    pool.remove(object);
+                    pool.add(object, 5);
+                }
+            }
+            running.set(false);
+            for (Future<?> future : futures) {
+                future.get(3, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        assertEquals(64, pool.size());
+    }
+}
@@ -2,9 +2,14 @@ package com.serliunx.stc4j.collection;
 
 import org.junit.Test;
 
+import java.util.AbstractCollection;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
 import java.util.Random;
 
@@ -31,6 +36,44 @@ public class DefaultRandomObjectPoolTest {
         assertEquals("A", pool.get(new FixedRandom(0)));
     }
 
+    @Test
+    public void testGetMapsPrimitiveRandomAcrossWholeRange() {
+        RandomObjectPool<String> pool = new DefaultRandomObjectPool<>();
+        pool.addAll(Arrays.asList("A", "B", "C"));
+
+        assertEquals("A", pool.get(0L));
+        assertEquals("B", pool.get(Long.MIN_VALUE));
+        assertEquals("C", pool.get(-1L));
+        assertThrows(IllegalArgumentException.class, () -> new DefaultRandomObjectPool<String>().get(1L));
+    }
+
+    @Test
+    public void testDefaultGetMethodsDelegateToGetWithRandom() {
+        RandomObjectPool<String> pool = new MinimalPool<>(Arrays.asList("A", "B", "C"));
+
+        assertEquals(pool.get(new Random(7L)), pool.get(7L));
+        assertTrue(pool.contains(pool.get()));
+    }
+
+    @Test
+    public void testSampleDrawsDistinctElementsInPoolOrder() {
+        RandomObjectPool<String> pool = new DefaultRandomObjectPool<>();
+        pool.addAll(Arrays.asList("A", "B", "C", "D", "E"));
+        String[] out = new String[6];
+        Random random = new Random(5L);
+
+        assertEquals(3, pool.sample(3, false, random, out));
+        List<String> picked = Arrays.asList(out).subList(0, 3);
+        assertEquals(3, new HashSet<>(picked).size());
+        List<String> sorted = new ArrayList<>(picked);
+        Collections.sort(sorted);
+        assertEquals(sorted, picked);
+
+        assertEquals(5, pool.sample(6, false, random, out));
+        assertEquals(Arrays.asList("A", "B", "C", "D", "E"), Arrays.asList(out).subList(0, 5));
+        assertEquals(6, pool.sample(6, true, random, out));
+    }
+
     @Test
     public void testGetWithoutRandomReturnsExistingElement() {
         RandomObjectPool<String> pool = new DefaultRandomObjectPool<>();
@@ -111,6 +154,33 @@ public class DefaultRandomObjectPoolTest {
         assertEquals(0, pool.size());
     }
 
+    /**
+     * 仅实现必需方法的随机对象池
+     */
+    private static final class MinimalPool<E> extends AbstractCollection<E> implements RandomObjectPool<E> {
+
+        private final List<E> objects;
+
+        private MinimalPool(List<E> objects) {
+            this.objects = objects;
+        }
+
+        @Override
+        public E get(Random random) {
+            return objects.get(random.nextInt(objects.size()));
+        }
+
+        @Override
+        public Iterator<E> iterator() {
+            return objects.iterator();
+        }
+
+        @Override
+        public int size() {
+            return objects.size();
+        }
+    }
+
     private static final class FixedRandom extends Random {
 
         private final int value;
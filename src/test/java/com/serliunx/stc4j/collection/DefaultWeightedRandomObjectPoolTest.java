@@ -37,6 +37,24 @@ public class DefaultWeightedRandomObjectPoolTest {
         assertEquals("C", pool.get(new FixedRandom(5)));
     }
 
+    @Test
+    public void testGetWithPrimitiveRandomFollowsWeights() {
+        WeightedRandomObjectPool<String> pool = new DefaultWeightedRandomObjectPool<>();
+        pool.add("A", 1);
+        pool.add("B", 3);
+        pool.add("C", 6);
+
+        assertEquals("A", pool.get(0L));
+        assertEquals("C", pool.get(-1L));
+
+        Map<String, Integer> counts = new HashMap<>();
+        for (int i = 0; i < 20000; i++) {
+            counts.merge(pool.get(), 1, Integer::sum);
+        }
+        assertTrue(counts.get("A") > 1400 && counts.get("A") < 2600);
+        assertTrue(counts.get("C") > 9800 && counts.get("C") < 12200);
+    }
+
     @Test
     public void testDefaultAddUsesWeightOneAndTracksTotalWeight() {
         WeightedRandomObjectPool<String> pool = new DefaultWeightedRandomObjectPool<>();
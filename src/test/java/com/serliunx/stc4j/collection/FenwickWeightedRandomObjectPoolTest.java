@@ -0,0 +1,121 @@
+package com.serliunx.stc4j.collection;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertThrows;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * {@link FenwickWeightedRandomObjectPool} 单元测试
+ *
+ * @author <a href="mailto:serliunx@yeah.net">SerLiunx</a>
+ * @since 2026/10/17
+ */
+public class FenwickWeightedRandomObjectPoolTest {
+
+    @Test
+    public void testGetReturnsObjectByWeightRange() {
+        FenwickWeightedRandomObjectPool<String> pool = new FenwickWeightedRandomObjectPool<>();
+        pool.add("A", 1);
+        pool.add("B", 3);
+        pool.add("C", 2);
+
+        assertEquals("A", pool.get(new FixedRandom(0)));
+        assertEquals("B", pool.get(new FixedRandom(1)));
+        assertEquals("B", pool.get(new FixedRandom(3)));
+        assertEquals("C", pool.get(new FixedRandom(4)));
+        assertEquals("C", pool.get(new FixedRandom(5)));
+    }
+
+    @Test
+    public void testUpdateWeightAndRemoveKeepPrefixSums() {
+        FenwickWeightedRandomObjectPool<String> pool = new FenwickWeightedRandomObjectPool<>();
+        for (int i = 0; i < 40; i++) {
+            pool.add("N" + i, 1);
+        }
+        assertEquals(1, pool.updateWeight("N7", 100));
+        assertEquals(0, pool.updateWeight("X", 5));
+        pool.add("N7", 10);
+        assertTrue(pool.remove("N0"));
+
+        assertEquals(40, pool.size());
+        assertEquals(110, pool.getWeight("N7"));
+        assertEquals(0, pool.getWeight("N0"));
+        assertEquals(38 + 110 + 5, pool.totalWeight());
+
+        Map<String, Integer> counts = new HashMap<>();
+        Random random = new Random(12345L);
+        for (int i = 0; i < 20000; i++) {
+            counts.merge(pool.get(random), 1, Integer::sum);
+        }
+        assertFalse(counts.containsKey("N0"));
+        // N7 的期望次数约为 20000 * 110 / 153
+        assertTrue(counts.get("N7") > 13500 && counts.get("N7") < 15000);
+    }
+
+    @Test
+    public void testLongWeights() {
+        FenwickWeightedRandomObjectPool<String> pool = new FenwickWeightedRandomObjectPool<>();
+        pool.add("A", 1L);
+        pool.add("B", 3L << 40);
+
+        assertEquals((3L << 40) + 1, pool.totalWeightAsLong());
+        assertThrows(ArithmeticException.class, pool::totalWeight);
+        assertThrows(ArithmeticException.class, () -> pool.add("C", Long.MAX_VALUE));
+        assertEquals("B", pool.get(new Random(1L)));
+        assertEquals("A", pool.get(0L));
+        assertEquals("B", pool.get(-1L));
+    }
+
+    @Test
+    public void testCollectionOperationsSynchronizeWeights() {
+        FenwickWeightedRandomObjectPool<String> pool = new FenwickWeightedRandomObjectPool<>();
+        assertThrows(IllegalArgumentException.class, () -> pool.add("A", 0));
+        assertThrows(IllegalArgumentException.class, () -> pool.get(new Random(1)));
+
+        pool.add("A", 1);
+        pool.add("B", 2);
+        pool.add("C", 3);
+        assertTrue(pool.containsAll(Arrays.asList("A", "C")));
+
+        assertTrue(pool.addAll(Arrays.asList("D", "E")));
+        assertTrue(pool.retainAll(Arrays.asList("A", "C", "D")));
+        assertEquals(5, pool.totalWeight());
+        assertEquals(3, pool.size());
+
+        assertTrue(pool.removeAll(Collections.singleton("A")));
+        assertEquals(4, pool.totalWeight());
+        assertEquals("C", pool.get(new FixedRandom(2)));
+
+        Iterator<String> iterator = pool.iterator();
+        while (iterator.hasNext()) {
+            iterator.next();
+            iterator.remove();
+        }
+        assertTrue(pool.isEmpty());
+        assertEquals(0, pool.totalWeight());
+    }
+
+    private static final class FixedRandom extends Random {
+
+        private final int value;
+
+        private FixedRandom(int value) {
+            this.value = value;
+        }
+
+        @Override
+        public int nextInt(int bound) {
+            return value;
+        }
+    }
+}
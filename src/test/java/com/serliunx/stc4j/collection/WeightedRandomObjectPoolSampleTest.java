@@ -0,0 +1,168 @@
+package com.serliunx.stc4j.collection;
+
+import org.junit.Test;
+
+import java.util.AbstractCollection;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.function.Supplier;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertThrows;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * {@link WeightedRandomObjectPool#sample(int, boolean, Random, Object[])} 单元测试, 覆盖全部实现
+ *
+ * @author <a href="mailto:serliunx@yeah.net">SerLiunx</a>
+ * @since 2026/10/17
+ */
+public class WeightedRandomObjectPoolSampleTest {
+
+    private static final List<Supplier<WeightedRandomObjectPool<String>>> POOLS = Arrays.asList(
+            DefaultWeightedRandomObjectPool::new,
+            AliasWeightedRandomObjectPool::new,
+            FenwickWeightedRandomObjectPool::new,
+            ConcurrentWeightedRandomObjectPool::new,
+            MinimalWeightedPool::new
+    );
+
+    @Test
+    public void testSampleWithoutReplacementReturnsDistinctEntries() {
+        for (Supplier<WeightedRandomObjectPool<String>> supplier : POOLS) {
+            WeightedRandomObjectPool<String> pool = supplier.get();
+            for (int i = 0; i < 50; i++) {
+                pool.add("N" + i, 1 + i % 5);
+            }
+            String[] out = new String[60];
+            Random random = new Random(3L);
+
+            assertEquals(20, pool.sample(20, false, random, out));
+            assertEquals(20, new HashSet<>(Arrays.asList(out).subList(0, 20)).size());
+            // 超出池大小时返回全部条目
+            assertEquals(50, pool.sample(60, false, random, out));
+            assertEquals(new HashSet<>(pool), new HashSet<>(Arrays.asList(out).subList(0, 50)));
+            assertEquals(0, pool.sample(0, false, random, out));
+        }
+    }
+
+    @Test
+    public void testSampleWithoutReplacementFollowsWeights() {
+        for (Supplier<WeightedRandomObjectPool<String>> supplier : POOLS) {
+            WeightedRandomObjectPool<String> pool = supplier.get();
+            pool.add("A", 1);
+            pool.add("B", 1);
+            pool.add("C", 98);
+            pool.add("D", 100);
+            String[] out = new String[2];
+            Map<String, Integer> counts = new HashMap<>();
+            Random random = new Random(11L);
+            for (int i = 0; i < 10000; i++) {
+                assertEquals(2, pool.sample(2, false, random, out));
+                counts.merge(out[0], 1, Integer::sum);
+                counts.merge(out[1], 1, Integer::sum);
+            }
+            // C、D 几乎总被同时抽中
+            assertTrue(counts.get("C") > 9500);
+            assertTrue(counts.get("D") > 9500);
+
+            // 抽取一个时与按权重抽取一致, 跳跃后的条目同样按权重进入
+            counts.clear();
+            for (int i = 0; i < 20000; i++) {
+                pool.sample(1, false, random, out);
+                counts.merge(out[0], 1, Integer::sum);
+            }
+            assertTrue(counts.get("C") > 9300 && counts.get("C") < 10300);
+            assertTrue(counts.get("D") > 9500 && counts.get("D") < 10500);
+            assertTrue(counts.getOrDefault("A", 0) < 400);
+        }
+    }
+
+    @Test
+    public void testSampleWithoutReplacementMergesDuplicateObjects() {
+        for (Supplier<WeightedRandomObjectPool<String>> supplier : POOLS) {
+            WeightedRandomObjectPool<String> pool = supplier.get();
+            pool.add("A", 1);
+            pool.add("B", 2);
+            pool.add("A", 1);
+            pool.add("C", 4);
+            String[] out = new String[4];
+            Random random = new Random(7L);
+
+            assertEquals(3, pool.sample(4, false, random, out));
+            assertEquals(new HashSet<>(Arrays.asList("A", "B", "C")), new HashSet<>(Arrays.asList(out).subList(0, 3)));
+
+            // 合并后以总权重参与抽取: A、B 各占 1/4
+            Map<String, Integer> counts = new HashMap<>();
+            for (int i = 0; i < 20000; i++) {
+                assertEquals(2, pool.sample(2, false, random, out));
+                assertTrue(!out[0].equals(out[1]));
+                pool.sample(1, false, random, out);
+                counts.merge(out[0], 1, Integer::sum);
+            }
+            assertTrue(counts.get("A") > 4500 && counts.get("A") < 5500);
+            assertTrue(counts.get("B") > 4500 && counts.get("B") < 5500);
+        }
+    }
+
+    @Test
+    public void testSampleWithReplacementAndValidation() {
+        for (Supplier<WeightedRandomObjectPool<String>> supplier : POOLS) {
+            WeightedRandomObjectPool<String> pool = supplier.get();
+            String[] out = new String[4];
+            assertThrows(IllegalArgumentException.class, () -> pool.sample(1, true, new Random(1L), out));
+            pool.add("A", 1);
+            pool.add("B", 1);
+
+            assertEquals(4, pool.sample(4, true, new Random(1L), out));
+            for (String value : out) {
+                assertTrue(pool.contains(value));
+            }
+            assertThrows(IllegalArgumentException.class, () -> pool.sample(5, true, new Random(1L), out));
+            assertThrows(IllegalArgumentException.class, () -> pool.sample(-1, false, new Random(1L), out));
+        }
+    }
+
+    /**
+     * 仅实现必需方法的带权重随机对象池, 用于覆盖默认的批量抽取
+     */
+    private static final class MinimalWeightedPool<E> extends AbstractCollection<E> implements WeightedRandomObjectPool<E> {
+
+        private final WeightedRandomObjectPool<E> delegate = new DefaultWeightedRandomObjectPool<>();
+
+        @Override
+        public E get(Random random) {
+            return delegate.get(random);
+        }
+
+        @Override
+        public boolean add(E object, int weight) {
+            return delegate.add(object, weight);
+        }
+
+        @Override
+        public int getWeight(E object) {
+            return delegate.getWeight(object);
+        }
+
+        @Override
+        public int totalWeight() {
+            return delegate.totalWeight();
+        }
+
+        @Override
+        public Iterator<E> iterator() {
+            return delegate.iterator();
+        }
+
+        @Override
+        public int size() {
+            return delegate.size();
+        }
+    }
+}
@@ -0,0 +1,169 @@
+package com.serliunx.stc4j.state.machine;
+
+import com.serliunx.stc4j.state.handler.GuardedStateHandler;
+import com.serliunx.stc4j.state.handler.SlowHandlerPolicy;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * 慢处理器策略单元测试
+ *
+ * @author <a href="mailto:serliunx@yeah.net">SerLiunx</a>
+ * @since 2026/10/17
+ */
+public class SlowHandlerPolicyTest {
+
+    @Test
+    public void testOffloadsAfterRepeatedViolations() throws Exception {
+        StateMachineMetrics<String> metrics = new StateMachineMetrics<>();
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        CountDownLatch entered = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch done = new CountDownLatch(2);
+        AtomicInteger calls = new AtomicInteger();
+        List<Integer> order = Collections.synchronizedList(new ArrayList<>());
+        try (StateMachine<String> machine = StateMachineBuilder.from(new String[]{"A", "B"})
+                .executor(executor)
+                .async(false)
+                .sequentialAsync(true)
+                .metrics(metrics)
+                .slowHandlerPolicy(SlowHandlerPolicy.offload(50, TimeUnit.MILLISECONDS, 2))
+                .whenEntry("B", params -> {
+                    final int n = calls.incrementAndGet();
+                    if (n <= 2) {
+                        sleep(60);
+                        return;
+                    }
+                    order.add(n);
+                    if (n == 3) {
+                        entered.countDown();
+                        await(release);
+                    }
+                    done.countDown();
+                })
+                .build()) {
+            machine.switchTo("B");
+            machine.switchTo("A");
+            machine.switchTo("B");
+            machine.switchTo("A");
+
+            GuardedStateHandler<String> guard = metrics.getHandlerGuards().get("entry[B]#0");
+            assertTrue(guard.isOffloaded());
+            assertEquals(2, guard.getViolations());
+
+            // 转为异步后切换不再等待处理器执行: 处理器阻塞期间切换仍可返回
+            machine.switchTo("B");
+            machine.switchTo("A");
+            machine.switchTo("B");
+            assertTrue(entered.await(3, TimeUnit.SECONDS));
+            // 顺序执行: 前一次执行完成前不会开始下一次
+            assertEquals(3, calls.get());
+            release.countDown();
+
+            assertTrue(done.await(3, TimeUnit.SECONDS));
+            assertEquals(Arrays.asList(3, 4), order);
+            assertEquals(2, guard.getOffloadedCount());
+            // 与其他异步处理器一样统计排队时间及执行耗时, 执行耗时在处理器返回后记录
+            executor.shutdown();
+            assertTrue(executor.awaitTermination(3, TimeUnit.SECONDS));
+            assertEquals(2, metrics.getQueueDelay().getCount());
+            assertEquals(4, metrics.getHandlerLatencies().get("entry[B]#0").getCount());
+        } finally {
+            release.countDown();
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testCircuitBreakSkipsHandlerWhileOpen() throws Exception {
+        StateMachineMetrics<String> metrics = new StateMachineMetrics<>();
+        AtomicInteger calls = new AtomicInteger();
+        try (StateMachine<String> machine = StateMachineBuilder.from(new String[]{"A", "B"})
+                .async(false)
+                .metrics(metrics)
+                .slowHandlerPolicy(SlowHandlerPolicy.circuitBreak(50, TimeUnit.MILLISECONDS, 1,
+                        1, TimeUnit.HOURS))
+                .whenEntry("B", params -> {
+                    calls.incrementAndGet();
+                    sleep(60);
+                })
+                .whenEntry("A", params -> {})
+                .build()) {
+            machine.switchTo("B");
+            GuardedStateHandler<String> guard = metrics.getHandlerGuards().get("entry[B]#0");
+            assertTrue(guard.isOpen());
+
+            machine.switchTo("A");
+            machine.switchTo("B");
+            machine.switchTo("A");
+            machine.switchTo("B");
+            assertEquals(1, calls.get());
+            assertEquals(2, guard.getSkippedCount());
+
+            Map<String, GuardedStateHandler<String>> guards = metrics.getHandlerGuards();
+            assertEquals(2, guards.size());
+        }
+    }
+
+    @Test
+    public void testCircuitRecoversAfterProbe() throws Exception {
+        StateMachineMetrics<String> metrics = new StateMachineMetrics<>();
+        AtomicBoolean slow = new AtomicBoolean(true);
+        AtomicInteger calls = new AtomicInteger();
+        try (StateMachine<String> machine = StateMachineBuilder.from(new String[]{"A", "B"})
+                .async(false)
+                .metrics(metrics)
+                .slowHandlerPolicy(SlowHandlerPolicy.circuitBreak(50, TimeUnit.MILLISECONDS, 1,
+                        1, TimeUnit.MILLISECONDS))
+                .whenEntry("B", params -> {
+                    calls.incrementAndGet();
+                    if (slow.get())
+                        sleep(60);
+                })
+                .build()) {
+            machine.switchTo("B");
+            GuardedStateHandler<String> guard = metrics.getHandlerGuards().get("entry[B]#0");
+            assertTrue(guard.isOpen());
+
+            // 熔断结束后试探执行, 未超出预算则恢复
+            slow.set(false);
+            sleep(5);
+            machine.switchTo("A");
+            machine.switchTo("B");
+            assertEquals(2, calls.get());
+            assertFalse(guard.isOpen());
+            assertEquals(1, guard.getViolations());
+        }
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(3, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,111 @@
+package com.serliunx.stc4j.state.machine;
+
+import org.junit.Assume;
+import org.junit.Test;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * 同步处理器分发路径的内存分配测试
+ * <p>
+ * 不依赖 JIT 的逃逸分析: 即使在解释执行下, 预热后的状态切换也不应产生任何新对象.
+ * 对应的吞吐量及 {@code gc.alloc.rate.norm} 见 JMH 基准测试 {@code HandlerDispatchBenchmark}.
+ *
+ * @author <a href="mailto:serliunx@yeah.net">SerLiunx</a>
+ * @since 2026/10/17
+ */
+public class StateMachineAllocationTest {
+
+    private static final int WARMUP = 1_000;
+    private static final int ITERATIONS = 100_000;
+
+    @Test
+    public void testStandardMachineSynchronousDispatchDoesNotAllocate() throws Exception {
+        assertDispatchDoesNotAllocate(StateMachineType.STANDARD);
+    }
+
+    @Test
+    public void testConcurrentMachineSynchronousDispatchDoesNotAllocate() throws Exception {
+        assertDispatchDoesNotAllocate(StateMachineType.CONCURRENT);
+    }
+
+    @Test
+    public void testStandardMachineWithManyStatesDoesNotAllocate() throws Exception {
+        assertManyStatesDispatchDoesNotAllocate(StateMachineType.STANDARD);
+    }
+
+    @Test
+    public void testConcurrentMachineWithManyStatesDoesNotAllocate() throws Exception {
+        assertManyStatesDispatchDoesNotAllocate(StateMachineType.CONCURRENT);
+    }
+
+    private static void assertDispatchDoesNotAllocate(StateMachineType type) throws Exception {
+        final AtomicLong invocations = new AtomicLong();
+        try (StateMachine<String> machine = StateMachineBuilder.from(new String[]{"A", "B", "C"})
+                .async(false)
+                .type(type)
+                .whenLeave("A", params -> invocations.incrementAndGet())
+                .whenEntry("B", params -> invocations.incrementAndGet())
+                .exchange("C", "A", params -> invocations.incrementAndGet())
+                .build()) {
+            assertCycleDoesNotAllocate(() -> {
+                machine.switchNext();
+                machine.switchTo("C");
+                machine.switchNext();
+            });
+            assertEquals((WARMUP + ITERATIONS) * 3L, invocations.get());
+        }
+    }
+
+    /**
+     * 状态数量超过 {@link IndexPairCache#DENSE_SIZE} 时, 缓存改为稀疏行, 仍不应产生新的对象
+     */
+    private static void assertManyStatesDispatchDoesNotAllocate(StateMachineType type) throws Exception {
+        final String[] states = new String[IndexPairCache.DENSE_SIZE * 2];
+        for (int i = 0; i < states.length; i++)
+            states[i] = "S" + i;
+        final String first = states[5];
+        final String second = states[70];
+        final String third = states[states.length - 1];
+        final AtomicLong invocations = new AtomicLong();
+        try (StateMachine<String> machine = StateMachineBuilder.from(states)
+                .async(false)
+                .type(type)
+                .whenLeave(first, params -> invocations.incrementAndGet())
+                .whenEntry(second, params -> invocations.incrementAndGet())
+                .exchange(third, first, params -> invocations.incrementAndGet())
+                .build()) {
+            assertCycleDoesNotAllocate(() -> {
+                machine.switchTo(first);
+                machine.switchTo(second);
+                machine.switchTo(third);
+            });
+            // 首次进入 first 时源状态为默认状态, 不触发交换事件处理器
+            assertEquals((WARMUP + ITERATIONS) * 3L - 1, invocations.get());
+        }
+    }
+
+    private static void assertCycleDoesNotAllocate(Runnable cycle) {
+        final ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+        Assume.assumeTrue(bean instanceof com.sun.management.ThreadMXBean);
+        final com.sun.management.ThreadMXBean threadBean = (com.sun.management.ThreadMXBean) bean;
+        Assume.assumeTrue(threadBean.isThreadAllocatedMemorySupported());
+
+        for (int i = 0; i < WARMUP; i++)
+            cycle.run();
+
+        final long threadId = Thread.currentThread().getId();
+        final long before = threadBean.getThreadAllocatedBytes(threadId);
+        for (int i = 0; i < ITERATIONS; i++)
+            cycle.run();
+        final long allocated = threadBean.getThreadAllocatedBytes(threadId) - before;
+
+        // 允许测量本身带来的少量分配, 远小于每次切换 1 字节
+        assertTrue("allocated " + allocated + " bytes", allocated < ITERATIONS / 10);
+    }
+}
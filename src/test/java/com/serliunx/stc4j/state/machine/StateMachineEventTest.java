@@ -3,12 +3,14 @@ package com.serliunx.stc4j.state.machine;
 import org.junit.Test;
 
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
@@ -40,6 +42,30 @@ public class StateMachineEventTest {
         }
     }
 
+    @Test
+    public void testHandlersStayBoundToStatesAfterReserve() throws Exception {
+        List<String> invocations = new CopyOnWriteArrayList<>();
+        StateMachine<String> machine = StateMachineBuilder.from(new String[]{"A", "B", "C"})
+                .async(false)
+                .whenLeave("A", params -> invocations.add("leave:" + params.getFrom() + "->" + params.getTo()))
+                .whenEntry("C", params -> invocations.add("entry:" + params.getFrom() + "->" + params.getTo()))
+                .exchange("A", "C", params -> invocations.add("exchange:" + params.getFrom() + "->" + params.getTo()))
+                .build();
+
+        try {
+            machine.reserve();
+            machine.switchNext();
+            assertEquals("C", machine.current());
+            assertEquals(Arrays.asList("leave:A->C", "entry:A->C", "exchange:A->C"), invocations);
+
+            invocations.clear();
+            assertTrue(machine.switchTo("B"));
+            assertEquals(Collections.emptyList(), invocations);
+        } finally {
+            machine.close();
+        }
+    }
+
     @Test
     public void testPublishRunsRegisteredConsumerSynchronouslyWhenAsyncDisabled() throws Exception {
         StateMachine<String> machine = StateMachineBuilder.from(new String[]{"A", "B"})
@@ -150,6 +176,111 @@ public class StateMachineEventTest {
         }
     }
 
+    @Test
+    public void testEnumStateMachineSwitchesAndDispatchesByOrdinal() throws Exception {
+        List<String> invocations = new CopyOnWriteArrayList<>();
+        ConcurrentStateMachine<Phase> machine = StateMachineBuilder.fromEnum(Phase.class)
+                .withInitial(Phase.RUNNING)
+                .async(false)
+                .concurrent()
+                .exchange(Phase.RUNNING, Phase.DONE, params -> invocations.add(params.getFrom() + "->" + params.getTo()))
+                .build();
+
+        try {
+            assertFalse(machine.compareAndSet(Phase.INIT, Phase.DONE));
+            assertTrue(machine.compareAndSet(Phase.RUNNING, Phase.DONE));
+            assertEquals(Phase.DONE, machine.current());
+
+            machine.reset(false);
+
+            assertEquals(Phase.RUNNING, machine.current());
+            assertEquals(Collections.singletonList("RUNNING->DONE"), invocations);
+        } finally {
+            machine.close();
+        }
+    }
+
+    @Test
+    public void testConcurrentStateMachineReserveFlipsSwitchDirection() throws Exception {
+        List<String> invocations = new CopyOnWriteArrayList<>();
+        ConcurrentStateMachine<String> machine = StateMachineBuilder.from(new String[]{"A", "B", "C"})
+                .async(false)
+                .concurrent()
+                .exchange("A", "C", params -> invocations.add(params.getFrom() + "->" + params.getTo()))
+                .build();
+
+        try {
+            machine.reserve();
+
+            assertEquals("A", machine.current());
+            assertEquals("C", machine.switchNextAndGet());
+            assertEquals("B", machine.switchNextAndGet());
+            assertEquals("C", machine.switchPrevAndGet());
+
+            machine.reserve();
+
+            assertEquals("A", machine.switchNextAndGet());
+            assertEquals(Collections.singletonList("A->C"), invocations);
+        } finally {
+            machine.close();
+        }
+    }
+
+    @Test
+    public void testBatchAsyncSubmitsHandlersOfOneTransitionAsSingleTask() throws Exception {
+        List<String> invocations = new CopyOnWriteArrayList<>();
+        List<Runnable> tasks = new CopyOnWriteArrayList<>();
+        StateMachine<String> machine = StateMachineBuilder.from(new String[]{"A", "B"})
+                .executor(tasks::add)
+                .async(true)
+                .batchAsync()
+                .whenLeave("A", params -> invocations.add("leave"))
+                .whenEntry("B", params -> invocations.add("entry"))
+                .exchange("A", "B", params -> invocations.add("exchange"))
+                .build();
+
+        try {
+            assertTrue(machine.switchTo("B"));
+            assertEquals(1, tasks.size());
+            assertTrue(invocations.isEmpty());
+
+            tasks.get(0).run();
+
+            assertEquals(Arrays.asList("leave", "entry", "exchange"), invocations);
+        } finally {
+            machine.close();
+        }
+    }
+
+    @Test
+    public void testSequentialAsyncDeliversHandlersInTransitionOrder() throws Exception {
+        final int transitions = 2000;
+        List<String> observed = new CopyOnWriteArrayList<>();
+        CountDownLatch done = new CountDownLatch(transitions);
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger overlaps = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        StateMachine<String> machine = StateMachineBuilder.from(new String[]{"A", "B"})
+                .executor(executor)
+                .async(true)
+                .sequentialAsync()
+                .whenEntry("A", params -> record(params.getTo(), observed, running, overlaps, done))
+                .whenEntry("B", params -> record(params.getTo(), observed, running, overlaps, done))
+                .build();
+
+        try {
+            for (int i = 0; i < transitions; i++)
+                machine.switchNext();
+
+            assertTrue(done.await(10, TimeUnit.SECONDS));
+            for (int i = 0; i < transitions; i++)
+                assertEquals(i % 2 == 0 ? "B" : "A", observed.get(i));
+            assertEquals(0, overlaps.get());
+        } finally {
+            machine.close();
+        }
+    }
+
     @Test
     public void testCloseShutsDownProvidedExecutorService() throws Exception {
         ExecutorService executor = Executors.newSingleThreadExecutor();
@@ -162,4 +293,17 @@ public class StateMachineEventTest {
 
         assertTrue(executor.isShutdown());
     }
+
+    private static void record(String state, List<String> observed,
+                               AtomicInteger running, AtomicInteger overlaps, CountDownLatch done) {
+        if (running.incrementAndGet() != 1)
+            overlaps.incrementAndGet();
+        observed.add(state);
+        running.decrementAndGet();
+        done.countDown();
+    }
+
+    private enum Phase {
+        INIT, RUNNING, DONE
+    }
 }
@@ -0,0 +1,122 @@
+package com.serliunx.stc4j.state.machine;
+
+import com.serliunx.stc4j.thread.executor.ReusableThreadExecutorMetrics.Histogram;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * 状态机指标单元测试
+ *
+ * @author <a href="mailto:serliunx@yeah.net">SerLiunx</a>
+ * @since 2026/10/17
+ */
+public class StateMachineMetricsTest {
+
+    @Test
+    public void testRecordsTransitionsDwellTimesAndHandlerLatencies() throws Exception {
+        StateMachineMetrics<String> metrics = new StateMachineMetrics<>();
+        try (StateMachine<String> machine = StateMachineBuilder.from(new String[]{"A", "B", "C"})
+                .async(false)
+                .metrics(metrics)
+                .whenEntry("B", params -> sleep(2))
+                .whenLeave("B", params -> {})
+                .build()) {
+            machine.switchTo("B");
+            machine.switchTo("A");
+            machine.switchTo("B");
+            machine.switchTo("C");
+            // 反转后状态序号改变, 指标仍按构建时的状态编号统计
+            machine.reserve();
+            machine.switchTo("A");
+        }
+
+        assertEquals(Arrays.asList("A", "B", "C"), metrics.getStates());
+        assertEquals(2, metrics.getEntryCount("B"));
+        assertEquals(2, metrics.getTransitionCount("A", "B"));
+        assertEquals(1, metrics.getTransitionCount("B", "A"));
+        assertEquals(1, metrics.getTransitionCount("C", "A"));
+        assertArrayEquals(new long[]{0, 2, 0}, metrics.getTransitionMatrix()[0]);
+        assertEquals(2, metrics.getDwellTime("B").getCount());
+        assertEquals(2, metrics.getDwellTime("A").getCount());
+
+        Map<String, Histogram> latencies = metrics.getHandlerLatencies();
+        assertEquals(Arrays.asList("leave[B]#0", "entry[B]#0"), new ArrayList<>(latencies.keySet()));
+        assertEquals(2, latencies.get("entry[B]#0").getCount());
+        assertTrue(latencies.get("entry[B]#0").getPercentile(50) >= TimeUnit.MILLISECONDS.toNanos(1));
+    }
+
+    @Test
+    public void testResetInDefaultStateIsNotRecorded() throws Exception {
+        for (StateMachineType type : StateMachineType.values()) {
+            StateMachineMetrics<String> metrics = new StateMachineMetrics<>();
+            try (StateMachine<String> machine = StateMachineBuilder.from(new String[]{"A", "B"})
+                    .async(false)
+                    .type(type)
+                    .metrics(metrics)
+                    .build()) {
+                machine.reset();
+                machine.switchTo("B");
+                machine.reset();
+                machine.reset();
+            }
+
+            assertEquals(type.name(), 0, metrics.getTransitionCount("A", "A"));
+            assertEquals(type.name(), 1, metrics.getTransitionCount("B", "A"));
+            assertEquals(type.name(), 1, metrics.getEntryCount("A"));
+        }
+    }
+
+    @Test
+    public void testRecordsQueueDelayOfAsyncHandlersAndExports() throws Exception {
+        StateMachineMetrics<String> metrics = new StateMachineMetrics<>();
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        CountDownLatch done = new CountDownLatch(3);
+        try (StateMachine<String> machine = StateMachineBuilder.from(new String[]{"A", "B"})
+                .executor(executor)
+                .async()
+                .metrics(metrics)
+                .whenEntry("A", params -> done.countDown())
+                .whenEntry("B", params -> done.countDown())
+                .build()) {
+            machine.switchTo("B");
+            machine.switchTo("A");
+            machine.switchTo("B");
+            assertTrue(done.await(3, TimeUnit.SECONDS));
+        }
+
+        assertEquals(3, metrics.getQueueDelay().getCount());
+        List<String> exported = new ArrayList<>();
+        metrics.export(new StateMachineMetricsExporter<String>() {
+            @Override
+            public void transitionCount(String from, String to, long count) {
+                exported.add(from + "->" + to + "=" + count);
+            }
+
+            @Override
+            public void handlerLatency(String handler, Histogram latency) {
+                exported.add(handler + "=" + latency.getCount());
+            }
+        });
+        assertEquals(Arrays.asList("A->B=2", "B->A=1", "entry[A]#0=1", "entry[B]#0=2"), exported);
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,140 @@
+package com.serliunx.stc4j.state.machine;
+
+import com.serliunx.stc4j.thread.support.HashedWheelTimer;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * 状态超时单元测试
+ *
+ * @author <a href="mailto:serliunx@yeah.net">SerLiunx</a>
+ * @since 2026/10/17
+ */
+public class StateMachineTimeoutTest {
+
+    private HashedWheelTimer timer;
+
+    @Before
+    public void setUp() {
+        timer = new HashedWheelTimer(r -> {
+            Thread t = new Thread(r, "timeout-test");
+            t.setDaemon(true);
+            return t;
+        }, 1, TimeUnit.MILLISECONDS, 64);
+    }
+
+    @After
+    public void tearDown() {
+        timer.close();
+    }
+
+    @Test
+    public void testTimeoutSwitchesToTargetAndInvokesHandlers() throws Exception {
+        List<String> invocations = new CopyOnWriteArrayList<>();
+        CountDownLatch timedOut = new CountDownLatch(1);
+        try (StateMachine<String> machine = StateMachineBuilder.from(new String[]{"A", "B", "C"})
+                .async(false)
+                .timer(timer)
+                .timeout("B", 50, TimeUnit.MILLISECONDS, "C")
+                .whenEntry("C", params -> {
+                    invocations.add(params.getFrom() + "->" + params.getTo());
+                    timedOut.countDown();
+                })
+                .build()) {
+            final long start = System.nanoTime();
+            assertTrue(machine.switchTo("B"));
+
+            assertTrue(timedOut.await(3, TimeUnit.SECONDS));
+            assertTrue(System.nanoTime() - start >= TimeUnit.MILLISECONDS.toNanos(50));
+            assertEquals("C", machine.current());
+            assertEquals(1, invocations.size());
+            assertEquals("B->C", invocations.get(0));
+        }
+    }
+
+    @Test
+    public void testTimeoutFiresWhenSaturatedExecutorDiscardsIt() throws Exception {
+        // 单线程且无队列, 线程忙碌时静默丢弃任务
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(1, 1, 0, TimeUnit.MILLISECONDS,
+                new SynchronousQueue<>(), new ThreadPoolExecutor.DiscardPolicy());
+        CountDownLatch busy = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch timedOut = new CountDownLatch(1);
+        try (StateMachine<String> machine = StateMachineBuilder.from(new String[]{"A", "B", "C"})
+                .executor(executor)
+                .async(false)
+                .timer(timer)
+                .timeout("B", 10, TimeUnit.MILLISECONDS, "C")
+                .whenEntry("C", params -> timedOut.countDown())
+                .build()) {
+            executor.execute(() -> {
+                busy.countDown();
+                try {
+                    release.await(3, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            });
+            assertTrue(busy.await(3, TimeUnit.SECONDS));
+            machine.switchTo("B");
+            // 到期时执行器饱和, 首次提交被丢弃
+            assertFalse(timedOut.await(100, TimeUnit.MILLISECONDS));
+            assertEquals("B", machine.current());
+
+            release.countDown();
+            assertTrue(timedOut.await(3, TimeUnit.SECONDS));
+            assertEquals("C", machine.current());
+        } finally {
+            release.countDown();
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testLeavingStateCancelsTimeout() throws Exception {
+        try (StateMachine<String> machine = StateMachineBuilder.from(new String[]{"A", "B", "C"})
+                .async(false)
+                .timer(timer)
+                .timeout("B", 50, TimeUnit.MILLISECONDS, "C")
+                .build()) {
+            // 每次重新进入都重新计时, 累计停留时间超过超时时间也不会触发
+            for (int i = 0; i < 4; i++) {
+                machine.switchTo("B");
+                Thread.sleep(20);
+                machine.switchTo("A");
+            }
+            Thread.sleep(100);
+
+            assertEquals("A", machine.current());
+        }
+    }
+
+    @Test
+    public void testConcurrentMachineTimesOutOfInitialStateAndChains() throws Exception {
+        CountDownLatch reachedC = new CountDownLatch(1);
+        try (StateMachine<String> machine = StateMachineBuilder.from(new String[]{"A", "B", "C"})
+                .concurrent()
+                .async(false)
+                .timer(timer)
+                .timeout("A", 20, TimeUnit.MILLISECONDS, "B")
+                .timeout("B", 20, TimeUnit.MILLISECONDS, "C")
+                .whenEntry("C", params -> reachedC.countDown())
+                .build()) {
+
+            assertTrue(reachedC.await(3, TimeUnit.SECONDS));
+            assertEquals("C", machine.current());
+        }
+    }
+}
@@ -3,6 +3,10 @@ package com.serliunx.stc4j.state.manager;
 import com.serliunx.stc4j.state.exception.StateException;
 import org.junit.Test;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
 import java.util.concurrent.atomic.AtomicInteger;
 
 import static org.junit.Assert.assertEquals;
@@ -137,4 +141,58 @@ public class StateManagerTest {
         assertFalse(manager.switchTo("A"));
         assertEquals("B", manager.current());
     }
+
+    @Test
+    public void testEnumStatesResolveIndexesAcrossReserve() {
+        StandardStateManager<Phase> manager = new StandardStateManager<>(Phase.values());
+
+        assertTrue(manager.switchTo(Phase.RUNNING));
+        assertFalse(manager.switchTo(Phase.RUNNING));
+
+        manager.reserve();
+
+        assertEquals(Phase.RUNNING, manager.current());
+        assertTrue(manager.switchTo(Phase.DONE));
+        assertEquals(Phase.DONE, manager.current());
+
+        manager.reset();
+
+        assertEquals(Phase.INIT, manager.current());
+    }
+
+    @Test
+    public void testEnumStateIndexRequiresOrdinalAlignedStates() {
+        assertTrue(EnumStateIndex.isOrdinalAligned(Arrays.asList(Phase.INIT, Phase.RUNNING)));
+        assertFalse(EnumStateIndex.isOrdinalAligned(Arrays.asList(Phase.RUNNING, Phase.INIT)));
+
+        StateIndex<Phase> index = StateIndex.of(Arrays.asList(Phase.INIT, Phase.RUNNING));
+        assertEquals(1, index.indexOf(Phase.RUNNING));
+        assertEquals(-1, index.indexOf(Phase.DONE));
+        assertEquals(-1, index.indexOf("RUNNING"));
+        assertEquals(0, index.reversed().indexOf(Phase.RUNNING));
+    }
+
+    @Test
+    public void testHashStateIndexMatchesListIndexOfAcrossReserve() {
+        List<String> states = new ArrayList<>();
+        for (int i = 0; i < 300; i++) {
+            states.add("S" + i);
+        }
+        states.add("S1");
+
+        StateIndex<String> index = StateIndex.of(states);
+        assertEquals(1, index.indexOf("S1"));
+        assertEquals(299, index.indexOf("S299"));
+        assertEquals(-1, index.indexOf("S300"));
+
+        Collections.reverse(states);
+        StateIndex<String> reversed = index.reversed();
+        for (String state : states) {
+            assertEquals(states.indexOf(state), reversed.indexOf(state));
+        }
+    }
+
+    private enum Phase {
+        INIT, RUNNING, DONE
+    }
 }
@@ -0,0 +1,92 @@
+package com.serliunx.stc4j.state.support;
+
+import com.serliunx.stc4j.state.machine.StateMachine;
+import com.serliunx.stc4j.state.machine.StateMachineBuilder;
+import org.junit.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * 单元测试 {@link SharedExecutorProvider}.
+ *
+ * @author <a href="mailto:serliunx@yeah.net">SerLiunx</a>
+ * @since 2026/10/17
+ */
+public class SharedExecutorProviderTest {
+
+    @Test
+    public void testExecutorIsSharedUntilLastRelease() {
+        SharedExecutorProvider provider = new SharedExecutorProvider(Executors::newCachedThreadPool);
+
+        ExecutorService first = (ExecutorService) provider.acquire();
+        ExecutorService second = (ExecutorService) provider.acquire();
+        assertSame(first, second);
+        assertEquals(2, provider.getReferences());
+
+        provider.release(first);
+        assertFalse(first.isShutdown());
+
+        provider.release(second);
+        assertTrue(first.isShutdown());
+        assertEquals(0, provider.getReferences());
+
+        ExecutorService third = (ExecutorService) provider.acquire();
+        assertNotSame(first, third);
+        provider.release(third);
+    }
+
+    @Test
+    public void testDefaultExecutorQueuesBurstsInsteadOfDropping() throws Exception {
+        SharedExecutorProvider provider = SharedExecutorProvider.getDefault();
+        Executor executor = provider.acquire();
+        CountDownLatch release = new CountDownLatch(1);
+        int tasks = Runtime.getRuntime().availableProcessors() * 64;
+        CountDownLatch done = new CountDownLatch(tasks);
+        try {
+            for (int i = 0; i < tasks; i++) {
+                executor.execute(() -> {
+                    try {
+                        release.await(3, TimeUnit.SECONDS);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                    done.countDown();
+                });
+            }
+            release.countDown();
+            assertTrue(done.await(3, TimeUnit.SECONDS));
+        } finally {
+            release.countDown();
+            provider.release(executor);
+        }
+    }
+
+    @Test
+    public void testMachinesReleaseProvidedExecutorOnceOnClose() throws Exception {
+        SharedExecutorProvider provider = new SharedExecutorProvider(Executors::newCachedThreadPool);
+        StateMachine<String> first = StateMachineBuilder.from(new String[]{"A", "B"})
+                .executorProvider(provider)
+                .build();
+        StateMachine<String> second = StateMachineBuilder.from(new String[]{"A", "B"})
+                .executorProvider(provider)
+                .build();
+        assertEquals(2, provider.getReferences());
+
+        first.close();
+        first.close();
+        assertEquals(1, provider.getReferences());
+
+        second.close();
+        assertEquals(0, provider.getReferences());
+    }
+}
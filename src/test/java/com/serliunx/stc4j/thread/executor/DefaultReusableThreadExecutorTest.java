@@ -0,0 +1,264 @@
+package com.serliunx.stc4j.thread.executor;
+
+import com.serliunx.stc4j.thread.support.DefaultIndexCountingThreadFactory;
+import com.serliunx.stc4j.thread.support.MpscArrayBlockingQueue;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * 单元测试 {@link DefaultReusableThreadExecutor}.
+ *
+ * @author <a href="mailto:serliunx@yeah.net">SerLiunx</a>
+ * @since 2026/10/17
+ */
+public class DefaultReusableThreadExecutorTest {
+
+    @Test
+    public void testBatchModeRunsTasksInOrderWithOneCallbackPairPerBatch() throws Exception {
+        AtomicInteger batches = new AtomicInteger();
+        List<Integer> executed = new CopyOnWriteArrayList<>();
+        CountDownLatch gate = new CountDownLatch(1);
+        CountDownLatch done = new CountDownLatch(1);
+        DefaultReusableThreadExecutor executor = new DefaultReusableThreadExecutor(
+                new MpscArrayBlockingQueue<>(64),
+                new DefaultIndexCountingThreadFactory("batch-test-%s", 0),
+                AbortRejectionHandler.instance(), 16) {
+            @Override
+            protected void beforeBatch(Thread t, int size) {
+                batches.incrementAndGet();
+            }
+        };
+
+        try {
+            executor.execute(() -> await(gate));
+            for (int i = 0; i < 32; i++) {
+                final int id = i;
+                executor.execute(() -> executed.add(id));
+            }
+            executor.execute(done::countDown);
+            gate.countDown();
+
+            assertTrue(done.await(3, TimeUnit.SECONDS));
+            List<Integer> expected = new ArrayList<>();
+            for (int i = 0; i < 32; i++)
+                expected.add(i);
+            assertEquals(expected, executed);
+            // 首个批次仅包含阻塞任务, 其余 33 个任务至多分为 3 批
+            assertTrue(batches.get() <= 4);
+            // 计数在任务返回后才更新, 终止后再断言
+            executor.shutdown();
+            assertTrue(executor.awaitTermination(3, TimeUnit.SECONDS));
+            assertEquals(34, executor.getTasksExecuted());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testBatchModeKeepsRemainingTasksWhenOneFails() throws Exception {
+        List<Integer> executed = new CopyOnWriteArrayList<>();
+        CountDownLatch gate = new CountDownLatch(1);
+        CountDownLatch done = new CountDownLatch(1);
+        DefaultReusableThreadExecutor executor = new DefaultReusableThreadExecutor(
+                new MpscArrayBlockingQueue<>(64),
+                runnable -> {
+                    Thread thread = new Thread(runnable);
+                    thread.setUncaughtExceptionHandler((t, e) -> {});
+                    return thread;
+                },
+                AbortRejectionHandler.instance(), 16);
+
+        try {
+            executor.execute(() -> await(gate));
+            executor.execute(() -> executed.add(1));
+            executor.execute(() -> {
+                throw new IllegalStateException("expected");
+            });
+            executor.execute(() -> executed.add(2));
+            executor.execute(done::countDown);
+            gate.countDown();
+
+            assertTrue(done.await(3, TimeUnit.SECONDS));
+            assertEquals(Arrays.asList(1, 2), executed);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testShutdownWakesIdleWorkerAndSignalsTermination() throws Exception {
+        DefaultReusableThreadExecutor executor = new DefaultReusableThreadExecutor();
+        CountDownLatch started = new CountDownLatch(1);
+        executor.execute(started::countDown);
+        assertTrue(started.await(3, TimeUnit.SECONDS));
+
+        long begin = System.nanoTime();
+        executor.shutdown();
+
+        assertTrue(executor.awaitTermination(3, TimeUnit.SECONDS));
+        assertTrue(executor.isTerminated());
+        assertTrue(TimeUnit.NANOSECONDS.toSeconds(System.nanoTime() - begin) < 1);
+        assertEquals(1, executor.getTasksExecuted());
+    }
+
+    @Test
+    public void testShutdownRunsQueuedTasksBeforeTerminating() throws Exception {
+        DefaultReusableThreadExecutor executor = new DefaultReusableThreadExecutor(16);
+        CountDownLatch gate = new CountDownLatch(1);
+        AtomicInteger executed = new AtomicInteger();
+        executor.execute(() -> await(gate));
+        for (int i = 0; i < 5; i++)
+            executor.execute(executed::incrementAndGet);
+
+        executor.shutdown();
+        assertFalse(executor.awaitTermination(10, TimeUnit.MILLISECONDS));
+        gate.countDown();
+
+        assertTrue(executor.awaitTermination(3, TimeUnit.SECONDS));
+        assertEquals(5, executed.get());
+    }
+
+    @Test
+    public void testShutdownNowReturnsPendingTasksAndTerminates() throws Exception {
+        DefaultReusableThreadExecutor executor = new DefaultReusableThreadExecutor(16);
+        CountDownLatch running = new CountDownLatch(1);
+        executor.execute(() -> {
+            running.countDown();
+            try {
+                TimeUnit.SECONDS.sleep(10);
+            } catch (InterruptedException ignored) {
+                // 被 shutdownNow 中断
+            }
+        });
+        assertTrue(running.await(3, TimeUnit.SECONDS));
+        executor.execute(() -> {});
+        executor.execute(() -> {});
+
+        List<Runnable> pending = executor.shutdownNow();
+
+        assertEquals(2, pending.size());
+        assertTrue(executor.awaitTermination(3, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void testShutdownNowReturnsUnexecutedTasksOfCurrentBatch() throws Exception {
+        DefaultReusableThreadExecutor executor = new DefaultReusableThreadExecutor(
+                new MpscArrayBlockingQueue<>(64),
+                new DefaultIndexCountingThreadFactory("batch-test-%s", 0),
+                AbortRejectionHandler.instance(), 16);
+        CountDownLatch gate = new CountDownLatch(1);
+        CountDownLatch running = new CountDownLatch(1);
+        AtomicInteger executed = new AtomicInteger();
+        executor.execute(() -> await(gate));
+        executor.execute(() -> {
+            running.countDown();
+            try {
+                TimeUnit.SECONDS.sleep(10);
+            } catch (InterruptedException ignored) {
+                // 被 shutdownNow 中断
+            }
+        });
+        for (int i = 0; i < 3; i++)
+            executor.execute(executed::incrementAndGet);
+        // 放行后阻塞任务与其后的任务已全部进入同一批次
+        gate.countDown();
+        assertTrue(running.await(3, TimeUnit.SECONDS));
+
+        List<Runnable> pending = executor.shutdownNow();
+
+        assertEquals(3, pending.size());
+        assertTrue(executor.awaitTermination(3, TimeUnit.SECONDS));
+        assertEquals(0, executed.get());
+        assertEquals(2, executor.getTasksExecuted());
+    }
+
+    @Test
+    public void testWakeUpSentinelsAreNotReportedAsTasks() throws Exception {
+        DefaultReusableThreadExecutor executor = new DefaultReusableThreadExecutor(16);
+        CountDownLatch running = new CountDownLatch(1);
+        executor.execute(() -> {
+            running.countDown();
+            try {
+                TimeUnit.SECONDS.sleep(10);
+            } catch (InterruptedException ignored) {
+                // 被 shutdownNow 中断
+            }
+        });
+        assertTrue(running.await(3, TimeUnit.SECONDS));
+        executor.execute(() -> {});
+        executor.wakeUp();
+        executor.wakeUp();
+        executor.shutdown();
+
+        assertEquals(1, executor.getQueueSize());
+        assertEquals(1, executor.metrics().getQueueSize());
+
+        List<Runnable> pending = executor.shutdownNow();
+
+        assertEquals(1, pending.size());
+        assertEquals(0, executor.getQueueSize());
+        assertTrue(executor.awaitTermination(3, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void testMetricsCountSubmittedExecutedFailedAndRejectedTasks() throws Exception {
+        DefaultReusableThreadExecutor executor = new DefaultReusableThreadExecutor(
+                new MpscArrayBlockingQueue<>(2),
+                runnable -> {
+                    Thread thread = new Thread(runnable);
+                    thread.setUncaughtExceptionHandler((t, e) -> {});
+                    return thread;
+                },
+                DiscardRejectionHandler.instance());
+        executor.setTiming(true);
+        CountDownLatch gate = new CountDownLatch(1);
+        CountDownLatch running = new CountDownLatch(1);
+        CountDownLatch done = new CountDownLatch(1);
+
+        try {
+            executor.execute(() -> {
+                running.countDown();
+                await(gate);
+            });
+            assertTrue(running.await(3, TimeUnit.SECONDS));
+            executor.execute(() -> {
+                throw new IllegalStateException("expected");
+            });
+            executor.execute(done::countDown);
+            executor.execute(() -> {});
+            gate.countDown();
+            assertTrue(done.await(3, TimeUnit.SECONDS));
+
+            ReusableThreadExecutorMetrics metrics = executor.metrics();
+            assertEquals(3, metrics.getTasksSubmitted());
+            assertEquals(1, metrics.getTasksRejected());
+            assertEquals(1, metrics.getTasksFailed());
+            assertTrue(metrics.getTasksExecuted() >= 2);
+            assertEquals(3, metrics.getQueueTime().getCount());
+            assertTrue(metrics.getRunTime().getCount() >= 2);
+            assertTrue(metrics.getQueueTime().getPercentile(99) > 0);
+            assertTrue(metrics.getIdleRatio() >= 0 && metrics.getIdleRatio() <= 1);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(3, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
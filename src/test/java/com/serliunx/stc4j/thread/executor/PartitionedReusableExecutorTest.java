@@ -0,0 +1,91 @@
+package com.serliunx.stc4j.thread.executor;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * 单元测试 {@link PartitionedReusableExecutor}.
+ *
+ * @author <a href="mailto:serliunx@yeah.net">SerLiunx</a>
+ * @since 2026/10/17
+ */
+public class PartitionedReusableExecutorTest {
+
+    @Test
+    public void testTasksOfSameKeyRunInOrderOnOneThread() throws Exception {
+        final int keys = 32;
+        final int perKey = 500;
+        Map<Integer, List<Integer>> sequences = new ConcurrentHashMap<>();
+        Map<Integer, Thread> threads = new ConcurrentHashMap<>();
+        Map<Integer, Boolean> sameThread = new ConcurrentHashMap<>();
+        CountDownLatch done = new CountDownLatch(keys * perKey);
+
+        try (PartitionedReusableExecutor executor = new PartitionedReusableExecutor(4)) {
+            for (int i = 0; i < perKey; i++) {
+                for (int key = 0; key < keys; key++) {
+                    final int k = key;
+                    final int value = i;
+                    executor.execute(k, () -> {
+                        sequences.computeIfAbsent(k, x -> new ArrayList<>()).add(value);
+                        Thread previous = threads.putIfAbsent(k, Thread.currentThread());
+                        if (previous != null && previous != Thread.currentThread())
+                            sameThread.put(k, false);
+                        done.countDown();
+                    });
+                }
+            }
+            assertTrue(done.await(10, TimeUnit.SECONDS));
+        }
+
+        assertTrue(sameThread.isEmpty());
+        for (int key = 0; key < keys; key++) {
+            List<Integer> sequence = sequences.get(key);
+            assertEquals(perKey, sequence.size());
+            for (int i = 0; i < perKey; i++)
+                assertEquals(Integer.valueOf(i), sequence.get(i));
+        }
+    }
+
+    @Test
+    public void testQueueSizesReportPerLaneDepth() throws Exception {
+        PartitionedReusableExecutor executor = new PartitionedReusableExecutor(2);
+        CountDownLatch gate = new CountDownLatch(1);
+        CountDownLatch running = new CountDownLatch(1);
+
+        try {
+            Object key = "key";
+            int lane = executor.laneOf(key);
+            executor.execute(key, () -> {
+                running.countDown();
+                try {
+                    gate.await(3, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            });
+            assertTrue(running.await(3, TimeUnit.SECONDS));
+            executor.execute(key, () -> {});
+            executor.execute(key, () -> {});
+
+            int[] expected = new int[2];
+            expected[lane] = 2;
+            assertArrayEquals(expected, executor.getQueueSizes());
+            assertEquals(2, executor.getQueueSize(lane));
+        } finally {
+            gate.countDown();
+            executor.shutdown();
+            assertTrue(executor.awaitTermination(3, TimeUnit.SECONDS));
+            assertTrue(executor.isTerminated());
+        }
+    }
+}
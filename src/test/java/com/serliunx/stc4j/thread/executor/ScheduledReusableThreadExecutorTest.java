@@ -0,0 +1,127 @@
+package com.serliunx.stc4j.thread.executor;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * 单元测试 {@link ScheduledReusableThreadExecutor}.
+ *
+ * @author <a href="mailto:serliunx@yeah.net">SerLiunx</a>
+ * @since 2026/10/17
+ */
+public class ScheduledReusableThreadExecutorTest {
+
+    @Test
+    public void testDelayedTaskRunsOnWorkerThreadAfterDelay() throws Exception {
+        ScheduledReusableThreadExecutor executor = new ScheduledReusableThreadExecutor();
+        try {
+            AtomicReference<Thread> worker = new AtomicReference<>();
+            executor.submit(() -> worker.set(Thread.currentThread())).get(3, TimeUnit.SECONDS);
+
+            AtomicReference<Thread> runner = new AtomicReference<>();
+            final long start = System.nanoTime();
+            ScheduledFuture<String> future = executor.schedule(() -> {
+                runner.set(Thread.currentThread());
+                return "done";
+            }, 50, TimeUnit.MILLISECONDS);
+
+            assertEquals("done", future.get(3, TimeUnit.SECONDS));
+            assertTrue(System.nanoTime() - start >= TimeUnit.MILLISECONDS.toNanos(50));
+            assertSame(worker.get(), runner.get());
+            assertEquals(0, executor.getScheduledTaskCount());
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    public void testEarlierTaskWakesWorkerWaitingForLaterOne() throws Exception {
+        ScheduledReusableThreadExecutor executor = new ScheduledReusableThreadExecutor();
+        try {
+            ScheduledFuture<?> late = executor.schedule(() -> {}, 10, TimeUnit.SECONDS);
+            CountDownLatch early = new CountDownLatch(1);
+            executor.schedule(early::countDown, 20, TimeUnit.MILLISECONDS);
+
+            assertTrue(early.await(1, TimeUnit.SECONDS));
+            assertFalse(late.isDone());
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    public void testFixedRateTaskRepeatsUntilCancelled() throws Exception {
+        ScheduledReusableThreadExecutor executor = new ScheduledReusableThreadExecutor();
+        try {
+            AtomicInteger runs = new AtomicInteger();
+            CountDownLatch repeated = new CountDownLatch(5);
+            ScheduledFuture<?> future = executor.scheduleAtFixedRate(() -> {
+                runs.incrementAndGet();
+                repeated.countDown();
+            }, 0, 5, TimeUnit.MILLISECONDS);
+
+            assertTrue(repeated.await(3, TimeUnit.SECONDS));
+            assertTrue(future.cancel(false));
+            final int cancelledAt = runs.get();
+            Thread.sleep(50);
+            // 取消时可能恰好有一次执行正在进行
+            assertTrue(runs.get() <= cancelledAt + 1);
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    public void testShutdownTerminatesAndCancelsPendingTasks() throws Exception {
+        ScheduledReusableThreadExecutor executor = new ScheduledReusableThreadExecutor();
+        ScheduledFuture<?> pending = executor.schedule(() -> {}, 1, TimeUnit.HOURS);
+        ScheduledFuture<?> periodic = executor.scheduleWithFixedDelay(() -> {}, 0, 1, TimeUnit.MILLISECONDS);
+
+        executor.shutdown();
+
+        assertTrue(executor.awaitTermination(3, TimeUnit.SECONDS));
+        assertTrue(pending.isCancelled());
+        assertTrue(periodic.isDone());
+    }
+
+    @Test
+    public void testTaskScheduledConcurrentlyWithShutdownIsRejectedOrCancelled() throws Exception {
+        for (int round = 0; round < 200; round++) {
+            ScheduledReusableThreadExecutor executor = new ScheduledReusableThreadExecutor();
+            List<ScheduledFuture<?>> accepted = new ArrayList<>();
+            CountDownLatch started = new CountDownLatch(1);
+            Thread submitter = new Thread(() -> {
+                started.countDown();
+                try {
+                    for (;;)
+                        accepted.add(executor.schedule(() -> {}, 1, TimeUnit.HOURS));
+                } catch (RejectedExecutionException expected) {
+                    // 线程池已关闭
+                }
+            });
+            submitter.start();
+            assertTrue(started.await(3, TimeUnit.SECONDS));
+
+            executor.shutdown();
+
+            submitter.join(3000);
+            assertFalse(submitter.isAlive());
+            assertTrue(executor.awaitTermination(3, TimeUnit.SECONDS));
+            for (ScheduledFuture<?> future : accepted)
+                assertTrue(future.isCancelled());
+        }
+    }
+}
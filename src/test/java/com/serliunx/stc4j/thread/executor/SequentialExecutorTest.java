@@ -0,0 +1,166 @@
+package com.serliunx.stc4j.thread.executor;
+
+import com.serliunx.stc4j.thread.support.DiscardAwareRunnable;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertThrows;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * 单元测试 {@link SequentialExecutor}.
+ *
+ * @author <a href="mailto:serliunx@yeah.net">SerLiunx</a>
+ * @since 2026/10/17
+ */
+public class SequentialExecutorTest {
+
+    @Test
+    public void testRecoversWhenDelegateDiscardsDrainer() throws Exception {
+        ExecutorService pool = Executors.newSingleThreadExecutor();
+        // 丢弃第 1 次及第 3 次提交(即处理满 256 个任务后的重新调度), 并通知被丢弃
+        AtomicInteger submissions = new AtomicInteger();
+        SequentialExecutor executor = new SequentialExecutor(r -> {
+            int n = submissions.incrementAndGet();
+            if (n == 1 || n == 3)
+                DiscardAwareRunnable.notifyDiscarded(r);
+            else
+                pool.execute(r);
+        });
+        List<Integer> order = Collections.synchronizedList(new ArrayList<>());
+        Thread caller = Thread.currentThread();
+        List<Thread> runners = Collections.synchronizedList(new ArrayList<>());
+        try {
+            executor.execute(() -> order.add(0));
+            // 提交线程不处理邮箱, 任务留待下一次提交
+            assertEquals(1, executor.getPendingTasks());
+            assertTrue(order.isEmpty());
+
+            CountDownLatch release = new CountDownLatch(1);
+            executor.execute(() -> await(release));
+            for (int i = 1; i < 301; i++) {
+                final int value = i;
+                executor.execute(() -> {
+                    runners.add(Thread.currentThread());
+                    order.add(value);
+                });
+            }
+            // 重新调度被丢弃时由处理中的线程继续处理
+            CountDownLatch done = new CountDownLatch(1);
+            executor.execute(done::countDown);
+            release.countDown();
+            assertTrue(done.await(3, TimeUnit.SECONDS));
+
+            assertEquals(301, order.size());
+            for (int i = 0; i < order.size(); i++) {
+                assertEquals(i, (int) order.get(i));
+            }
+            assertFalse(runners.contains(caller));
+            assertEquals(0, executor.getPendingTasks());
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testDiscardAfterSubmissionReleasesMailbox() throws Exception {
+        ExecutorService pool = Executors.newSingleThreadExecutor();
+        // 第 1 次提交暂存, 之后由其他线程通知被丢弃
+        AtomicReference<Runnable> held = new AtomicReference<>();
+        SequentialExecutor executor = new SequentialExecutor(r -> {
+            if (!held.compareAndSet(null, r))
+                pool.execute(r);
+        });
+        AtomicInteger count = new AtomicInteger();
+        try {
+            executor.execute(count::incrementAndGet);
+            executor.execute(count::incrementAndGet);
+            assertEquals(2, executor.getPendingTasks());
+
+            Thread discarder = new Thread(() -> DiscardAwareRunnable.notifyDiscarded(held.get()));
+            discarder.start();
+            discarder.join();
+            // 被丢弃的处理逻辑之后即使执行也不再处理邮箱
+            held.get().run();
+            assertEquals(0, count.get());
+
+            CountDownLatch done = new CountDownLatch(1);
+            executor.execute(done::countDown);
+            assertTrue(done.await(3, TimeUnit.SECONDS));
+            assertEquals(2, count.get());
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testRejectedTaskIsWithdrawn() throws Exception {
+        ExecutorService pool = Executors.newSingleThreadExecutor();
+        AtomicInteger submissions = new AtomicInteger();
+        SequentialExecutor executor = new SequentialExecutor(r -> {
+            if (submissions.incrementAndGet() == 1)
+                throw new RejectedExecutionException();
+            pool.execute(r);
+        });
+        AtomicInteger rejectedRuns = new AtomicInteger();
+        try {
+            assertThrows(RejectedExecutionException.class, () -> executor.execute(rejectedRuns::incrementAndGet));
+            assertEquals(0, executor.getPendingTasks());
+
+            CountDownLatch done = new CountDownLatch(1);
+            executor.execute(done::countDown);
+            assertTrue(done.await(3, TimeUnit.SECONDS));
+            assertEquals(0, rejectedRuns.get());
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testKeepsDrainingWhenRescheduleIsRejected() throws Exception {
+        ExecutorService pool = Executors.newSingleThreadExecutor();
+        AtomicInteger submissions = new AtomicInteger();
+        SequentialExecutor executor = new SequentialExecutor(r -> {
+            if (submissions.incrementAndGet() > 1)
+                throw new RejectedExecutionException();
+            pool.execute(r);
+        });
+        AtomicInteger count = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch done = new CountDownLatch(1);
+        try {
+            executor.execute(() -> await(release));
+            for (int i = 0; i < 600; i++) {
+                executor.execute(count::incrementAndGet);
+            }
+            executor.execute(done::countDown);
+            release.countDown();
+
+            assertTrue(done.await(3, TimeUnit.SECONDS));
+            assertEquals(600, count.get());
+            assertTrue(submissions.get() > 1);
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(3, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
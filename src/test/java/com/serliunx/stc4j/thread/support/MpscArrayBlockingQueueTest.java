@@ -0,0 +1,129 @@
+package com.serliunx.stc4j.thread.support;
+
+import com.serliunx.stc4j.thread.executor.DefaultReusableThreadExecutor;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * 单元测试 {@link MpscArrayBlockingQueue}.
+ *
+ * @author <a href="mailto:serliunx@yeah.net">SerLiunx</a>
+ * @since 2026/10/17
+ */
+public class MpscArrayBlockingQueueTest {
+
+    @Test
+    public void testBoundedFifo() throws Exception {
+        MpscArrayBlockingQueue<Integer> queue = new MpscArrayBlockingQueue<>(3);
+
+        assertEquals(4, queue.capacity());
+        for (int i = 0; i < 4; i++)
+            assertTrue(queue.offer(i));
+        assertFalse(queue.offer(4));
+        assertFalse(queue.offer(4, 1, TimeUnit.MILLISECONDS));
+        assertEquals(4, queue.size());
+        assertEquals(0, queue.remainingCapacity());
+
+        assertEquals(Integer.valueOf(0), queue.peek());
+        assertEquals(Integer.valueOf(0), queue.poll());
+        assertTrue(queue.offer(4));
+
+        List<Integer> drained = new ArrayList<>();
+        assertEquals(4, queue.drainTo(drained));
+        assertEquals(Arrays.asList(1, 2, 3, 4), drained);
+        assertTrue(queue.isEmpty());
+        assertNull(queue.poll(1, TimeUnit.MILLISECONDS));
+    }
+
+    @Test
+    public void testBlockedConsumersDoNotBlockNonBlockingOperations() throws Exception {
+        MpscArrayBlockingQueue<Integer> queue = new MpscArrayBlockingQueue<>(4);
+        ExecutorService consumers = Executors.newFixedThreadPool(3);
+        try {
+            Future<Integer> first = consumers.submit(() -> queue.take());
+            Future<Integer> second = consumers.submit(() -> queue.poll(3, TimeUnit.SECONDS));
+            Thread.sleep(20);
+
+            // 其他线程的非阻塞操作立即返回
+            Future<Integer> peeked = consumers.submit(() -> {
+                assertNull(queue.poll());
+                return queue.peek();
+            });
+            assertNull(peeked.get(1, TimeUnit.SECONDS));
+
+            assertTrue(queue.offer(1));
+            assertTrue(queue.offer(2));
+            assertEquals(3, first.get(3, TimeUnit.SECONDS) + second.get(3, TimeUnit.SECONDS));
+        } finally {
+            consumers.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testConcurrentProducersDeliverEveryElementInPerProducerOrder() throws Exception {
+        final int producers = 4;
+        final int perProducer = 100_000;
+        MpscArrayBlockingQueue<Long> queue = new MpscArrayBlockingQueue<>(1024);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Thread> threads = new ArrayList<>();
+        for (int p = 0; p < producers; p++) {
+            final long id = p;
+            Thread thread = new Thread(() -> {
+                try {
+                    start.await();
+                    for (long i = 0; i < perProducer; i++)
+                        queue.put(id << 32 | i);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            });
+            thread.start();
+            threads.add(thread);
+        }
+
+        long[] next = new long[producers];
+        start.countDown();
+        for (int i = 0; i < producers * perProducer; i++) {
+            long value = queue.take();
+            int id = (int) (value >>> 32);
+            assertEquals(next[id]++, value & 0xFFFFFFFFL);
+        }
+        for (Thread thread : threads)
+            thread.join();
+        assertTrue(queue.isEmpty());
+    }
+
+    @Test
+    public void testDefaultReusableThreadExecutorUsesMpscQueue() throws Exception {
+        DefaultReusableThreadExecutor executor = new DefaultReusableThreadExecutor();
+        AtomicLong sum = new AtomicLong();
+        CountDownLatch done = new CountDownLatch(1);
+
+        try {
+            for (int i = 1; i <= 1000; i++) {
+                final int value = i;
+                executor.execute(() -> sum.addAndGet(value));
+            }
+            executor.execute(done::countDown);
+
+            assertTrue(done.await(3, TimeUnit.SECONDS));
+            assertEquals(500500, sum.get());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,198 @@
+package com.serliunx.stc4j.thread.support;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * 溢出策略测试
+ *
+ * @author <a href="mailto:serliunx@yeah.net">SerLiunx</a>
+ * @since 2026/10/17
+ */
+public class OverflowHandlerTest {
+
+    @Test
+    public void testCallerRunsExecutesOverflowOnSubmitter() throws Exception {
+        CallerRunsOverflowHandler handler = new CallerRunsOverflowHandler();
+        CountDownLatch release = new CountDownLatch(1);
+        ThreadPoolExecutor executor = singleThreadPool(handler);
+        List<Thread> threads = Collections.synchronizedList(new ArrayList<>());
+
+        try {
+            executor.execute(() -> await(release));
+            executor.execute(() -> {});
+            executor.execute(() -> threads.add(Thread.currentThread()));
+
+            assertEquals(Collections.singletonList(Thread.currentThread()), threads);
+            assertEquals(1, handler.getCount());
+            assertEquals(0, handler.getDroppedCount());
+        } finally {
+            release.countDown();
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testBlockingDropsAfterTimeout() throws Exception {
+        BlockingOverflowHandler handler = new BlockingOverflowHandler(20, TimeUnit.MILLISECONDS);
+        CountDownLatch release = new CountDownLatch(1);
+        ThreadPoolExecutor executor = singleThreadPool(handler);
+
+        try {
+            executor.execute(() -> await(release));
+            executor.execute(() -> {});
+            executor.execute(() -> {});
+
+            assertEquals(1, handler.getCount());
+            assertEquals(1, handler.getDroppedCount());
+            assertTrue(handler.getBlockedNanos() >= TimeUnit.MILLISECONDS.toNanos(20));
+        } finally {
+            release.countDown();
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testSpillingRunsEveryOverflowedTaskInOrder() throws Exception {
+        SpillingOverflowHandler handler = new SpillingOverflowHandler();
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch done = new CountDownLatch(5);
+        ThreadPoolExecutor executor = singleThreadPool(handler);
+        List<Integer> order = Collections.synchronizedList(new ArrayList<>());
+
+        try {
+            executor.execute(() -> await(release));
+            for (int i = 0; i < 5; i++) {
+                final int id = i;
+                executor.execute(() -> {
+                    order.add(id);
+                    done.countDown();
+                });
+            }
+            assertEquals(4, handler.getPendingCount());
+
+            release.countDown();
+
+            assertTrue(done.await(3, TimeUnit.SECONDS));
+            assertEquals(Arrays.asList(0, 1, 2, 3, 4), order);
+            assertEquals(4, handler.getCount());
+            assertEquals(4, handler.getMaxPendingCount());
+            assertEquals(0, handler.getDroppedCount());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testCoalescingKeepsLatestTaskPerKey() throws Exception {
+        CoalescingOverflowHandler handler = new CoalescingOverflowHandler();
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch done = new CountDownLatch(3);
+        ThreadPoolExecutor executor = singleThreadPool(handler);
+        List<String> executed = Collections.synchronizedList(new ArrayList<>());
+
+        try {
+            executor.execute(() -> await(release));
+            executor.execute(keyed("a", "a1", executed, done));
+            executor.execute(keyed("a", "a2", executed, done));
+            executor.execute(keyed("b", "b1", executed, done));
+            executor.execute(keyed("a", "a3", executed, done));
+
+            assertEquals(2, handler.getPendingCount());
+            assertEquals(1, handler.getCoalescedCount());
+
+            release.countDown();
+
+            assertTrue(done.await(3, TimeUnit.SECONDS));
+            assertEquals(Arrays.asList("a1", "a3", "b1"), executed);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testSpilledTaskIsRequeuedWhenNoTaskCompletesAfterward() throws Exception {
+        SpillingOverflowHandler handler = new SpillingOverflowHandler();
+        CountDownLatch done = new CountDownLatch(1);
+        ThreadPoolExecutor executor = singleThreadPool(handler);
+        executor.prestartAllCoreThreads();
+
+        try {
+            // 模拟判定溢出时队列已满, 暂存前工作线程已取空队列并执行完全部任务
+            handler.rejectedExecution(done::countDown, executor);
+
+            assertTrue(done.await(3, TimeUnit.SECONDS));
+            assertEquals(0, handler.getPendingCount());
+            assertEquals(0, handler.getDroppedCount());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testSpilledTasksPendingAtShutdownAreDropped() throws Exception {
+        SpillingOverflowHandler handler = new SpillingOverflowHandler();
+        CountDownLatch release = new CountDownLatch(1);
+        ThreadPoolExecutor executor = singleThreadPool(handler);
+
+        executor.execute(() -> await(release));
+        executor.execute(() -> {});
+        executor.execute(() -> {});
+        executor.execute(() -> {});
+        assertEquals(2, handler.getPendingCount());
+
+        assertEquals(1, executor.shutdownNow().size());
+
+        assertTrue(executor.awaitTermination(3, TimeUnit.SECONDS));
+        assertEquals(0, handler.getPendingCount());
+        assertEquals(2, handler.getDroppedCount());
+    }
+
+    private static ThreadPoolExecutor singleThreadPool(OverflowHandler handler) {
+        return new ThreadPoolExecutor(1, 1, 0, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(1), handler) {
+            @Override
+            protected void afterExecute(Runnable r, Throwable t) {
+                handler.afterExecute(this);
+            }
+
+            @Override
+            protected void terminated() {
+                handler.terminated(this);
+            }
+        };
+    }
+
+    private static KeyedRunnable keyed(Object key, String name, List<String> executed, CountDownLatch done) {
+        return new KeyedRunnable() {
+            @Override
+            public Object getKey() {
+                return key;
+            }
+
+            @Override
+            public void run() {
+                executed.add(name);
+                done.countDown();
+            }
+        };
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(3, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package com.serliunx.stc4j.thread.support;
+
+import com.serliunx.stc4j.state.machine.StateMachine;
+import com.serliunx.stc4j.state.machine.StateMachineBuilder;
+import org.junit.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * 虚拟线程支持测试, 覆盖支持与不支持虚拟线程的运行时
+ *
+ * @author <a href="mailto:serliunx@yeah.net">SerLiunx</a>
+ * @since 2026/10/17
+ */
+public class VirtualThreadsTest {
+
+    @Test
+    public void testVirtualThreadFactoryCreatesNamedVirtualThreads() {
+        if (!VirtualThreads.isSupported()) {
+            assertUnsupported(() -> new VirtualIndexCountingThreadFactory("virtual-%s", 0));
+            return;
+        }
+        IndexCountingThreadFactory factory = new VirtualIndexCountingThreadFactory("virtual-%s", 3);
+        Thread thread = factory.newThread(() -> {});
+
+        assertTrue(VirtualThreads.isVirtual(thread));
+        assertEquals("virtual-3", thread.getName());
+        assertEquals(4, factory.getNextIndex());
+    }
+
+    @Test
+    public void testStateMachineRunsAsyncHandlersOnVirtualThreads() throws Exception {
+        if (!VirtualThreads.isSupported()) {
+            assertUnsupported(() -> StateMachineBuilder.from(new String[]{"A", "B"}).virtualThreads().build());
+            return;
+        }
+        AtomicReference<Thread> handlerThread = new AtomicReference<>();
+        CountDownLatch done = new CountDownLatch(1);
+        try (StateMachine<String> machine = StateMachineBuilder.from(new String[]{"A", "B"})
+                .virtualThreads()
+                .async()
+                .whenEntry("B", params -> {
+                    handlerThread.set(Thread.currentThread());
+                    done.countDown();
+                })
+                .build()) {
+            machine.switchNext();
+
+            assertTrue(done.await(3, TimeUnit.SECONDS));
+            assertTrue(VirtualThreads.isVirtual(handlerThread.get()));
+        }
+    }
+
+    @Test
+    public void testPlatformThreadIsNotVirtual() {
+        assertFalse(VirtualThreads.isVirtual(Thread.currentThread()));
+    }
+
+    private static void assertUnsupported(Runnable action) {
+        try {
+            action.run();
+        } catch (UnsupportedOperationException expected) {
+            return;
+        }
+        throw new AssertionError("expected UnsupportedOperationException");
+    }
+}